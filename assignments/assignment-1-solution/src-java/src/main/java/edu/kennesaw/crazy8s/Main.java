@@ -34,7 +34,15 @@ public final class Main {
             }
         }
 
-        ProgramContext programContext = new ProgramContext(randomSeed, cardsInHand, showAllHands);
+        int spectatorPort = ProgramContext.DEFAULT_SPECTATOR_PORT;
+        if (args.length > 3) {
+            Integer parsedSpectatorPort = tryParseInt(args[3]);
+            if (parsedSpectatorPort != null && parsedSpectatorPort > 0 && parsedSpectatorPort <= 65535) {
+                spectatorPort = parsedSpectatorPort;
+            }
+        }
+
+        ProgramContext programContext = new ProgramContext(randomSeed, cardsInHand, showAllHands, spectatorPort);
 
         GameController gameController = new GameController(programContext);
         gameController.start();
@@ -1,5 +1,6 @@
 package edu.kennesaw.crazy8s;
 
+import edu.kennesaw.crazy8s.spectator.SpectatorBroadcaster;
 import java.util.Random;
 
 /**
@@ -9,15 +10,24 @@ public class ProgramContext {
     public static final int DEFAULT_RANDOM_SEED = 0;
     public static final int DEFAULT_HAND_SIZE = 5;
     public static final boolean DEFAULT_SHOW_ALL_HANDS = false;
+    public static final int DEFAULT_SPECTATOR_PORT = 0;
 
     private final boolean showAllHands;
     private final int handSize;
     private final Random randomNumberGenerator;
+    private final int spectatorPort;
+    private final SpectatorBroadcaster spectatorBroadcaster;
 
     public ProgramContext(int randomSeed, int handSize, boolean showAllHands) {
+        this(randomSeed, handSize, showAllHands, DEFAULT_SPECTATOR_PORT);
+    }
+
+    public ProgramContext(int randomSeed, int handSize, boolean showAllHands, int spectatorPort) {
         this.showAllHands = showAllHands;
         this.handSize = handSize;
         this.randomNumberGenerator = randomSeed == 0 ? new Random() : new Random(randomSeed);
+        this.spectatorPort = spectatorPort;
+        this.spectatorBroadcaster = spectatorPort > 0 ? new SpectatorBroadcaster() : null;
     }
 
     public boolean isShowAllHands() {
@@ -31,4 +41,15 @@ public class ProgramContext {
     public Random getRandomNumberGenerator() {
         return randomNumberGenerator;
     }
+
+    public int getSpectatorPort() {
+        return spectatorPort;
+    }
+
+    /**
+     * Gets the broadcaster for spectator frames, or null when spectating is disabled.
+     */
+    public SpectatorBroadcaster getSpectatorBroadcaster() {
+        return spectatorBroadcaster;
+    }
 }
@@ -4,6 +4,7 @@ import edu.kennesaw.crazy8s.ProgramContext;
 import edu.kennesaw.crazy8s.carddeck.Deck;
 import edu.kennesaw.crazy8s.carddeck.DiscardPile;
 import edu.kennesaw.crazy8s.player.Players;
+import edu.kennesaw.crazy8s.spectator.SpectatorBroadcaster;
 import java.util.Random;
 
 /**
@@ -33,6 +34,10 @@ public class GameContext {
         return showAllHands;
     }
 
+    public SpectatorBroadcaster getSpectatorBroadcaster() {
+        return programContext.getSpectatorBroadcaster();
+    }
+
     public String getGameTitle() {
         return "Crazy Eights (Simplified)";
     }
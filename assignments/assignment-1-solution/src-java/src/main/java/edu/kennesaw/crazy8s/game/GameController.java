@@ -1,6 +1,7 @@
 package edu.kennesaw.crazy8s.game;
 
 import edu.kennesaw.crazy8s.ProgramContext;
+import edu.kennesaw.crazy8s.spectator.SpectatorServer;
 
 /**
  * Coordinates the overall game session loop and restarts.
@@ -13,19 +14,34 @@ public class GameController {
     }
 
     public void start() {
-        showIntroduction();
-        boolean continuePlaying = true;
-        while (continuePlaying) {
-            GameConsole.clear();
-            GameEngine gameEngine = new GameEngine(programContext);
-            gameEngine.startGame();
-
-            GameConsole.writeSeparator(50, 1);
-            continuePlaying = GameConsole.promptYesNo("Do you want to play again? (Y/N): ");
+        SpectatorServer spectatorServer = startSpectatorServer();
+        try {
+            showIntroduction(spectatorServer);
+            boolean continuePlaying = true;
+            while (continuePlaying) {
+                GameConsole.clear();
+                GameEngine gameEngine = new GameEngine(programContext);
+                gameEngine.startGame();
+
+                GameConsole.writeSeparator(50, 1);
+                continuePlaying = GameConsole.promptYesNo("Do you want to play again? (Y/N): ");
+            }
+        } finally {
+            if (spectatorServer != null) {
+                spectatorServer.close();
+            }
+        }
+    }
+
+    private SpectatorServer startSpectatorServer() {
+        if (programContext.getSpectatorBroadcaster() == null) {
+            return null;
         }
+
+        return SpectatorServer.start(programContext.getSpectatorPort(), programContext.getSpectatorBroadcaster());
     }
 
-    private static void showIntroduction() {
+    private static void showIntroduction(SpectatorServer spectatorServer) {
         GameConsole.clear();
         GameConsole.writeSeparator();
         GameConsole.writeLine("Welcome to *Simplified* Crazy Eights!");
@@ -43,6 +59,11 @@ public class GameController {
         GameConsole.writeLine("- The CPU's gameplay is random. You are likely to win.");
         GameConsole.writeLine();
         GameConsole.writeLine("Good luck and have fun!");
+        if (spectatorServer != null) {
+            GameConsole.writeLine();
+            GameConsole.writeLine("Spectators can follow this table at http://localhost:"
+                    + spectatorServer.getPort() + SpectatorServer.EVENTS_PATH);
+        }
         GameConsole.writeSeparator();
         GameConsole.readLine("Press Enter to start the game...");
     }
@@ -9,6 +9,7 @@ import edu.kennesaw.crazy8s.domain.SuitType;
 import edu.kennesaw.crazy8s.player.Player;
 import edu.kennesaw.crazy8s.player.PlayerRegistration;
 import edu.kennesaw.crazy8s.player.Players;
+import edu.kennesaw.crazy8s.spectator.SpectatorBroadcaster;
 import java.util.List;
 import java.util.Random;
 
@@ -42,13 +43,18 @@ public class GameEngine {
 
         executeGameLoop(deck, discardPile, currentPlayer, players);
 
-        showWinners(players);
+        showWinners(gameContext, players);
     }
 
-    private static void showWinners(Players players) {
+    private static void showWinners(GameContext gameContext, Players players) {
         GameConsole.writeLine();
 
         List<Player> winners = players.getPlayersWithLeastCards();
+        SpectatorBroadcaster spectatorBroadcaster = gameContext.getSpectatorBroadcaster();
+        if (spectatorBroadcaster != null) {
+            spectatorBroadcaster.publishGameOver(gameContext, winners);
+        }
+
         if (winners.size() == 1) {
             Player winner = winners.get(0);
             GameConsole.writeLine("***** " + winner.getName() + " wins the game! *****");
@@ -11,6 +11,7 @@ import edu.kennesaw.crazy8s.domain.Rank;
 import edu.kennesaw.crazy8s.domain.SuitType;
 import edu.kennesaw.crazy8s.player.Player;
 import edu.kennesaw.crazy8s.player.Players;
+import edu.kennesaw.crazy8s.spectator.SpectatorBroadcaster;
 import java.util.List;
 
 /**
@@ -30,6 +31,11 @@ public final class TurnAction {
         showCardCounts(players);
 
         showMessage(turnContext.getCurrentPlayer().getName().toUpperCase() + "'s turn", true);
+
+        SpectatorBroadcaster spectatorBroadcaster = gameContext.getSpectatorBroadcaster();
+        if (spectatorBroadcaster != null) {
+            spectatorBroadcaster.publishTurn(gameContext, turnContext);
+        }
     }
 
     public static void startTurn(GameContext gameContext, TurnContext turnContext) {
@@ -0,0 +1,68 @@
+package edu.kennesaw.crazy8s.perft;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Counts the leaf positions reachable in exactly {@code depth} turns using {@link BitboardPosition}.
+ * Each first-level move is searched as its own fork-join task.
+ */
+public final class BitboardPerft {
+    private BitboardPerft() {
+    }
+
+    public static PerftResult run(PerftDeal deal, int depth, ForkJoinPool pool) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1.");
+        }
+
+        BitboardPosition root = BitboardPosition.from(deal);
+        long start = System.nanoTime();
+
+        List<PerftResult.DivideEntry> divide = new ArrayList<>();
+        if (!root.isGameOver()) {
+            int[] moves = new int[BitboardPosition.MAX_MOVES];
+            int moveCount = root.generateMoves(moves);
+
+            List<ForkJoinTask<Long>> tasks = new ArrayList<>(moveCount);
+            for (int i = 0; i < moveCount; i++) {
+                BitboardPosition child = root.apply(moves[i]);
+                tasks.add(pool.submit(() -> count(child, depth - 1)));
+            }
+
+            for (int i = 0; i < moveCount; i++) {
+                divide.add(new PerftResult.DivideEntry(root.describeMove(moves[i]), tasks.get(i).join()));
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        return new PerftResult(depth, elapsedNanos, Collections.unmodifiableList(divide));
+    }
+
+    /**
+     * Counts leaf positions sequentially; games that end before {@code depth} contribute no leaves.
+     */
+    public static long count(BitboardPosition position, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (position.isGameOver()) {
+            return 0;
+        }
+
+        int[] moves = new int[BitboardPosition.MAX_MOVES];
+        int moveCount = position.generateMoves(moves);
+        if (depth == 1) {
+            return moveCount;
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moveCount; i++) {
+            nodes += count(position.apply(moves[i]), depth - 1);
+        }
+        return nodes;
+    }
+}
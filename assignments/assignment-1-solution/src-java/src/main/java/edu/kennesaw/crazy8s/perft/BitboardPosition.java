@@ -0,0 +1,242 @@
+package edu.kennesaw.crazy8s.perft;
+
+import edu.kennesaw.crazy8s.cards.Card;
+import edu.kennesaw.crazy8s.cards.StandardCard;
+import edu.kennesaw.crazy8s.domain.Rank;
+import edu.kennesaw.crazy8s.domain.RankType;
+import edu.kennesaw.crazy8s.domain.Suit;
+import edu.kennesaw.crazy8s.domain.SuitType;
+import java.util.List;
+
+/**
+ * Compact, immutable two-player game position where each hand is a 52-bit card set.
+ * Cards are numbered {@code suitIndex * 13 + rankIndex}, so a suit is a run of 13 bits
+ * and a rank is every 13th bit, which turns the playable-card test into a single mask.
+ *
+ * <p>A move is encoded in an int: bits 0-5 hold the card, bits 6-8 hold the chosen suit plus one
+ * after an eight (0 when no suit is chosen), and {@link #DRAWN_FLAG} marks a card drawn this turn.
+ */
+public final class BitboardPosition {
+    public static final int MAX_MOVES = 64;
+    public static final int DRAWN_FLAG = 1 << 9;
+    public static final int DRAW_AND_KEEP = DRAWN_FLAG | 63;
+
+    private static final int CARD_MASK = 63;
+    private static final int SUIT_SHIFT = 6;
+    private static final int RANKS_PER_SUIT = 13;
+    private static final int SUIT_COUNT = 4;
+    private static final int WILDCARD_RANK_INDEX = toRankIndex(RankType.EIGHT);
+    private static final long[] SUIT_MASKS = new long[SUIT_COUNT];
+    private static final long[] RANK_MASKS = new long[RANKS_PER_SUIT];
+
+    static {
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            SUIT_MASKS[suit] = ((1L << RANKS_PER_SUIT) - 1) << (suit * RANKS_PER_SUIT);
+        }
+        for (int rank = 0; rank < RANKS_PER_SUIT; rank++) {
+            for (int suit = 0; suit < SUIT_COUNT; suit++) {
+                RANK_MASKS[rank] |= 1L << (suit * RANKS_PER_SUIT + rank);
+            }
+        }
+    }
+
+    private final int[] drawOrder;
+    private final long firstHand;
+    private final long secondHand;
+    private final int drawIndex;
+    private final int topCard;
+    private final int activeSuit;
+    private final int currentPlayer;
+
+    private BitboardPosition(
+            int[] drawOrder,
+            long firstHand,
+            long secondHand,
+            int drawIndex,
+            int topCard,
+            int activeSuit,
+            int currentPlayer) {
+        this.drawOrder = drawOrder;
+        this.firstHand = firstHand;
+        this.secondHand = secondHand;
+        this.drawIndex = drawIndex;
+        this.topCard = topCard;
+        this.activeSuit = activeSuit;
+        this.currentPlayer = currentPlayer;
+    }
+
+    public static BitboardPosition from(PerftDeal deal) {
+        List<Card> drawOrderCards = deal.getDrawOrder();
+        int[] drawOrder = new int[drawOrderCards.size()];
+        for (int i = 0; i < drawOrder.length; i++) {
+            drawOrder[i] = toCardIndex(drawOrderCards.get(i));
+        }
+
+        int topCard = toCardIndex(deal.getStartingDiscard());
+        return new BitboardPosition(
+                drawOrder,
+                toHandBits(deal.getHands().get(0)),
+                toHandBits(deal.getHands().get(1)),
+                0,
+                topCard,
+                suitOf(topCard),
+                0);
+    }
+
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public int getCardCount(int player) {
+        return Long.bitCount(player == 0 ? firstHand : secondHand);
+    }
+
+    public int getDeckCount() {
+        return drawOrder.length - drawIndex;
+    }
+
+    /**
+     * Gets a value indicating whether the game loop would stop before the next turn.
+     */
+    public boolean isGameOver() {
+        return drawIndex >= drawOrder.length || firstHand == 0 || secondHand == 0;
+    }
+
+    /**
+     * Writes every legal move for the current player into {@code moves} and returns how many were written.
+     * A player with a playable card must play one; otherwise the player draws and may play the drawn card.
+     */
+    public int generateMoves(int[] moves) {
+        long hand = currentPlayer == 0 ? firstHand : secondHand;
+        long playable = hand & getPlayableMask();
+        int count = 0;
+
+        if (playable != 0) {
+            while (playable != 0) {
+                int card = Long.numberOfTrailingZeros(playable);
+                playable &= playable - 1;
+                count = addPlayMoves(moves, count, card, 0);
+            }
+            return count;
+        }
+
+        int drawnCard = drawOrder[drawIndex];
+        moves[count++] = DRAW_AND_KEEP;
+        if ((getPlayableMask() & (1L << drawnCard)) != 0) {
+            count = addPlayMoves(moves, count, drawnCard, DRAWN_FLAG);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the position after the current player makes the given move.
+     */
+    public BitboardPosition apply(int move) {
+        long hand = currentPlayer == 0 ? firstHand : secondHand;
+        int newDrawIndex = drawIndex;
+        if ((move & DRAWN_FLAG) != 0) {
+            hand |= 1L << drawOrder[drawIndex];
+            newDrawIndex++;
+        }
+
+        int newTopCard = topCard;
+        int newActiveSuit = activeSuit;
+        int card = move & CARD_MASK;
+        if (move != DRAW_AND_KEEP) {
+            hand &= ~(1L << card);
+            newTopCard = card;
+            int chosenSuit = (move >>> SUIT_SHIFT) & 7;
+            newActiveSuit = chosenSuit == 0 ? suitOf(card) : chosenSuit - 1;
+        }
+
+        return new BitboardPosition(
+                drawOrder,
+                currentPlayer == 0 ? hand : firstHand,
+                currentPlayer == 1 ? hand : secondHand,
+                newDrawIndex,
+                newTopCard,
+                newActiveSuit,
+                1 - currentPlayer);
+    }
+
+    /**
+     * Gets the card played by a move, or -1 when the move draws and keeps the card.
+     */
+    public static int getPlayedCard(int move) {
+        return move == DRAW_AND_KEEP ? -1 : move & CARD_MASK;
+    }
+
+    /**
+     * Gets a value indicating whether a move starts by drawing from the deck.
+     */
+    public static boolean isDrawMove(int move) {
+        return (move & DRAWN_FLAG) != 0;
+    }
+
+    /**
+     * Returns a human-readable description of a move generated for this position.
+     */
+    public String describeMove(int move) {
+        if (move == DRAW_AND_KEEP) {
+            return "Draw and keep";
+        }
+
+        String prefix = (move & DRAWN_FLAG) != 0 ? "Draw and play " : "Play ";
+        String description = prefix + toCard(move & CARD_MASK).getDescription();
+        int chosenSuit = (move >>> SUIT_SHIFT) & 7;
+        if (chosenSuit != 0) {
+            description += ", choose " + Suit.getSuits().get(chosenSuit - 1);
+        }
+        return description;
+    }
+
+    private long getPlayableMask() {
+        return SUIT_MASKS[activeSuit] | RANK_MASKS[rankOf(topCard)] | RANK_MASKS[WILDCARD_RANK_INDEX];
+    }
+
+    private static int addPlayMoves(int[] moves, int count, int card, int flags) {
+        if (rankOf(card) != WILDCARD_RANK_INDEX) {
+            moves[count++] = card | flags;
+            return count;
+        }
+
+        for (int suit = 0; suit < SUIT_COUNT; suit++) {
+            moves[count++] = card | flags | ((suit + 1) << SUIT_SHIFT);
+        }
+        return count;
+    }
+
+    private static long toHandBits(List<Card> cards) {
+        long bits = 0;
+        for (Card card : cards) {
+            bits |= 1L << toCardIndex(card);
+        }
+        return bits;
+    }
+
+    private static int toCardIndex(Card card) {
+        return toSuitIndex(card.getSuit()) * RANKS_PER_SUIT + toRankIndex(card.getRank());
+    }
+
+    private static int toSuitIndex(SuitType suit) {
+        return suit.getValue() - SuitType.HEARTS.getValue();
+    }
+
+    private static int toRankIndex(RankType rank) {
+        return rank.getValue() - RankType.TWO.getValue();
+    }
+
+    private static int suitOf(int card) {
+        return card / RANKS_PER_SUIT;
+    }
+
+    private static int rankOf(int card) {
+        return card % RANKS_PER_SUIT;
+    }
+
+    private static Card toCard(int card) {
+        SuitType suit = Suit.getSuits().get(suitOf(card));
+        RankType rank = Rank.getRanks().get(rankOf(card));
+        return new StandardCard(rank, suit);
+    }
+}
@@ -0,0 +1,66 @@
+package edu.kennesaw.crazy8s.perft;
+
+import java.util.List;
+
+/**
+ * Leaf counts recorded for fixed deals. Any change to the move rules or to either
+ * enumerator that alters these counts is a behavior change and must be explained.
+ */
+public final class KnownPerftValues {
+    private static final List<KnownValue> VALUES = List.of(
+            new KnownValue(42, 5, 1, 5),
+            new KnownValue(42, 5, 2, 7),
+            new KnownValue(42, 5, 3, 19),
+            new KnownValue(42, 5, 4, 28),
+            new KnownValue(42, 5, 5, 55),
+            new KnownValue(42, 5, 10, 505),
+            new KnownValue(42, 5, 15, 2528),
+            new KnownValue(42, 5, 20, 6167),
+            new KnownValue(42, 5, 25, 82480),
+            new KnownValue(42, 5, 30, 1060248));
+
+    private KnownPerftValues() {
+    }
+
+    /**
+     * Gets the recorded values for a deal, in increasing depth order.
+     */
+    public static List<KnownValue> get(int seed, int handSize) {
+        return VALUES.stream()
+                .filter(value -> value.getSeed() == seed && value.getHandSize() == handSize)
+                .toList();
+    }
+
+    /**
+     * A recorded leaf count for one deal and depth.
+     */
+    public static class KnownValue {
+        private final int seed;
+        private final int handSize;
+        private final int depth;
+        private final long nodes;
+
+        public KnownValue(int seed, int handSize, int depth, long nodes) {
+            this.seed = seed;
+            this.handSize = handSize;
+            this.depth = depth;
+            this.nodes = nodes;
+        }
+
+        public int getSeed() {
+            return seed;
+        }
+
+        public int getHandSize() {
+            return handSize;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package edu.kennesaw.crazy8s.perft;
+
+import edu.kennesaw.crazy8s.ProgramContext;
+import edu.kennesaw.crazy8s.carddeck.Deck;
+import edu.kennesaw.crazy8s.carddeck.DeckInitializer;
+import edu.kennesaw.crazy8s.carddeck.DiscardPile;
+import edu.kennesaw.crazy8s.cards.Card;
+import edu.kennesaw.crazy8s.game.GameContext;
+import edu.kennesaw.crazy8s.player.Hand;
+import edu.kennesaw.crazy8s.player.HandDealer;
+import edu.kennesaw.crazy8s.player.Players;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Captures the opening position of a seeded two-player game, dealt exactly as {@code GameEngine} deals it.
+ */
+public final class PerftDeal {
+    public static final int NUMBER_OF_PLAYERS = 2;
+
+    private final int seed;
+    private final int handSize;
+    private final List<List<Card>> hands;
+    private final List<Card> drawOrder;
+    private final Card startingDiscard;
+
+    private PerftDeal(int seed, int handSize, List<List<Card>> hands, List<Card> drawOrder, Card startingDiscard) {
+        this.seed = seed;
+        this.handSize = handSize;
+        this.hands = hands;
+        this.drawOrder = drawOrder;
+        this.startingDiscard = startingDiscard;
+    }
+
+    public static PerftDeal create(int seed, int handSize) {
+        if (seed == 0) {
+            throw new IllegalArgumentException("Seed cannot be 0; a seed of 0 produces an unseeded shuffle.");
+        }
+        if (handSize < 1) {
+            throw new IllegalArgumentException("Hand size must be at least 1.");
+        }
+
+        ProgramContext programContext = new ProgramContext(seed, handSize, false);
+        Deck deck = DeckInitializer.createCardDeck(programContext);
+        GameContext gameContext = new GameContext(programContext, deck, new DiscardPile(), new Players());
+
+        Hand[] dealtHands = HandDealer.deal(gameContext, NUMBER_OF_PLAYERS);
+        List<List<Card>> hands = new ArrayList<>();
+        for (Hand hand : dealtHands) {
+            hands.add(List.copyOf(hand.getCardList()));
+        }
+
+        Card startingDiscard = deck.drawCard();
+
+        List<Card> drawOrder = new ArrayList<>();
+        while (!deck.isEmpty()) {
+            drawOrder.add(deck.drawCard());
+        }
+
+        return new PerftDeal(
+                seed,
+                handSize,
+                Collections.unmodifiableList(hands),
+                Collections.unmodifiableList(drawOrder),
+                startingDiscard);
+    }
+
+    public int getSeed() {
+        return seed;
+    }
+
+    public int getHandSize() {
+        return handSize;
+    }
+
+    /**
+     * Gets the dealt hands; index 0 moves first.
+     */
+    public List<List<Card>> getHands() {
+        return hands;
+    }
+
+    /**
+     * Gets the remaining deck in the order cards will be drawn.
+     */
+    public List<Card> getDrawOrder() {
+        return drawOrder;
+    }
+
+    public Card getStartingDiscard() {
+        return startingDiscard;
+    }
+}
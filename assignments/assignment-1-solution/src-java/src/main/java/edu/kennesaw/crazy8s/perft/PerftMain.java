@@ -0,0 +1,75 @@
+package edu.kennesaw.crazy8s.perft;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command-line entry point for the move-generation enumerator and benchmark.
+ */
+public final class PerftMain {
+    private static final int DEFAULT_SEED = 42;
+    private static final int DEFAULT_DEPTH = 20;
+    private static final int DEFAULT_HAND_SIZE = 5;
+    private static final String VERIFY_FLAG = "--verify";
+
+    private PerftMain() {
+    }
+
+    public static void main(String[] args) {
+        int seed = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SEED;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_DEPTH;
+        int handSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_HAND_SIZE;
+        boolean verify = List.of(args).contains(VERIFY_FLAG);
+
+        PerftDeal deal = PerftDeal.create(seed, handSize);
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        if (verify && !verify(deal, depth, pool)) {
+            System.exit(1);
+        }
+
+        PerftResult result = BitboardPerft.run(deal, depth, pool);
+        System.out.println(String.format("Perft seed=%d handSize=%d depth=%d", seed, handSize, depth));
+        for (PerftResult.DivideEntry entry : result.getDivide()) {
+            System.out.println(String.format("  %-40s %,d", entry.getMove(), entry.getNodes()));
+        }
+        System.out.println(String.format("Nodes: %,d", result.getNodes()));
+        System.out.println(String.format("Time: %.3f s", result.getElapsedNanos() / 1_000_000_000.0));
+        System.out.println(String.format("Nodes per second: %,d", result.getNodesPerSecond()));
+    }
+
+    private static boolean verify(PerftDeal deal, int maxDepth, ForkJoinPool pool) {
+        List<KnownPerftValues.KnownValue> knownValues = KnownPerftValues.get(deal.getSeed(), deal.getHandSize());
+        if (knownValues.isEmpty()) {
+            System.out.println("No known values are recorded for this deal; comparing enumerators only.");
+        }
+
+        boolean allPassed = true;
+        for (KnownPerftValues.KnownValue knownValue : knownValues) {
+            if (knownValue.getDepth() > maxDepth) {
+                break;
+            }
+            allPassed &= check(deal, knownValue.getDepth(), knownValue.getNodes(), pool);
+        }
+
+        if (knownValues.isEmpty()) {
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                allPassed &= check(deal, depth, ReferencePerft.count(deal, depth), pool);
+            }
+        }
+
+        System.out.println(allPassed ? "Verification passed." : "Verification FAILED.");
+        System.out.println();
+        return allPassed;
+    }
+
+    private static boolean check(PerftDeal deal, int depth, long expected, ForkJoinPool pool) {
+        long reference = ReferencePerft.count(deal, depth);
+        long bitboard = BitboardPerft.run(deal, depth, pool).getNodes();
+        boolean passed = reference == expected && bitboard == expected;
+
+        System.out.println(String.format("  depth %2d: expected %,d, reference %,d, bitboard %,d %s",
+                depth, expected, reference, bitboard, passed ? "OK" : "MISMATCH"));
+        return passed;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.kennesaw.crazy8s.perft;
+
+import java.util.List;
+
+/**
+ * Holds the leaf count, timing and per-move breakdown of a perft run.
+ */
+public class PerftResult {
+    private final int depth;
+    private final long elapsedNanos;
+    private final List<DivideEntry> divide;
+
+    public PerftResult(int depth, long elapsedNanos, List<DivideEntry> divide) {
+        this.depth = depth;
+        this.elapsedNanos = elapsedNanos;
+        this.divide = divide;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the leaf count below each first-level move.
+     */
+    public List<DivideEntry> getDivide() {
+        return divide;
+    }
+
+    public long getNodes() {
+        long nodes = 0;
+        for (DivideEntry entry : divide) {
+            nodes += entry.getNodes();
+        }
+        return nodes;
+    }
+
+    public long getNodesPerSecond() {
+        if (elapsedNanos <= 0) {
+            return 0;
+        }
+        return (long) (getNodes() / (elapsedNanos / 1_000_000_000.0));
+    }
+
+    /**
+     * Leaf count below a single first-level move.
+     */
+    public static class DivideEntry {
+        private final String move;
+        private final long nodes;
+
+        public DivideEntry(String move, long nodes) {
+            this.move = move;
+            this.nodes = nodes;
+        }
+
+        public String getMove() {
+            return move;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+    }
+}
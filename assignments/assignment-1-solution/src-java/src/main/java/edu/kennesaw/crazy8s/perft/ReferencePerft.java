@@ -0,0 +1,149 @@
+package edu.kennesaw.crazy8s.perft;
+
+import edu.kennesaw.crazy8s.carddeck.DiscardPile;
+import edu.kennesaw.crazy8s.cards.Card;
+import edu.kennesaw.crazy8s.domain.IsPlayable;
+import edu.kennesaw.crazy8s.domain.PlayableCard;
+import edu.kennesaw.crazy8s.domain.PlayableCardsSelector;
+import edu.kennesaw.crazy8s.domain.Rank;
+import edu.kennesaw.crazy8s.domain.Suit;
+import edu.kennesaw.crazy8s.domain.SuitType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Straightforward move enumerator built on the game's own domain classes.
+ * It mirrors the turn rules of {@code TurnAction.selectCard} one card object at a time
+ * and serves as the correctness oracle for {@link BitboardPerft}.
+ */
+public final class ReferencePerft {
+    private ReferencePerft() {
+    }
+
+    public static long count(PerftDeal deal, int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Depth cannot be negative.");
+        }
+
+        Card top = deal.getStartingDiscard();
+        Position start = new Position(deal.getHands(), deal.getDrawOrder(), 0, top, top.getSuit(), 0);
+        return count(start, depth);
+    }
+
+    private static long count(Position position, int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (position.isGameOver()) {
+            return 0;
+        }
+
+        long nodes = 0;
+        List<Card> hand = position.hands.get(position.currentPlayer);
+        List<PlayableCard> playableCards =
+                PlayableCardsSelector.get(hand, position.activeSuit, position.topCard.getRank());
+
+        if (!playableCards.isEmpty()) {
+            for (PlayableCard playableCard : playableCards) {
+                for (Position child : position.play(hand, playableCard.getCard())) {
+                    nodes += count(child, depth - 1);
+                }
+            }
+            return nodes;
+        }
+
+        Card drawnCard = position.drawOrder.get(position.drawIndex);
+        List<Card> handWithDrawnCard = new ArrayList<>(hand);
+        handWithDrawnCard.add(drawnCard);
+        Position afterDraw = position.withDraw(handWithDrawnCard);
+
+        nodes += count(afterDraw.nextTurn(), depth - 1);
+
+        IsPlayable canPlayDrawnCard =
+                PlayableCardsSelector.canPlayCard(drawnCard, position.activeSuit, position.topCard.getRank());
+        if (canPlayDrawnCard.canPlay()) {
+            for (Position child : afterDraw.play(handWithDrawnCard, drawnCard)) {
+                nodes += count(child, depth - 1);
+            }
+        }
+
+        return nodes;
+    }
+
+    private static final class Position {
+        private final List<List<Card>> hands;
+        private final List<Card> drawOrder;
+        private final int drawIndex;
+        private final Card topCard;
+        private final SuitType activeSuit;
+        private final int currentPlayer;
+
+        private Position(
+                List<List<Card>> hands,
+                List<Card> drawOrder,
+                int drawIndex,
+                Card topCard,
+                SuitType activeSuit,
+                int currentPlayer) {
+            this.hands = hands;
+            this.drawOrder = drawOrder;
+            this.drawIndex = drawIndex;
+            this.topCard = topCard;
+            this.activeSuit = activeSuit;
+            this.currentPlayer = currentPlayer;
+        }
+
+        private boolean isGameOver() {
+            if (drawIndex >= drawOrder.size()) {
+                return true;
+            }
+            for (List<Card> hand : hands) {
+                if (hand.isEmpty()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Position withDraw(List<Card> handWithDrawnCard) {
+            return new Position(
+                    replaceHand(handWithDrawnCard), drawOrder, drawIndex + 1, topCard, activeSuit, currentPlayer);
+        }
+
+        private Position nextTurn() {
+            int nextPlayer = (currentPlayer + 1) % hands.size();
+            return new Position(hands, drawOrder, drawIndex, topCard, activeSuit, nextPlayer);
+        }
+
+        private List<Position> play(List<Card> hand, Card card) {
+            List<Card> remaining = new ArrayList<>(hand);
+            remaining.remove(card);
+            List<List<Card>> newHands = replaceHand(remaining);
+            int nextPlayer = (currentPlayer + 1) % hands.size();
+
+            List<Position> children = new ArrayList<>();
+            if (!Rank.isWildcardRank(card.getRank())) {
+                DiscardPile discardPile = new DiscardPile();
+                discardPile.addCard(card);
+                children.add(new Position(
+                        newHands, drawOrder, drawIndex, card, discardPile.getActiveSuit(), nextPlayer));
+                return children;
+            }
+
+            for (SuitType chosenSuit : Suit.getSuits()) {
+                DiscardPile discardPile = new DiscardPile();
+                discardPile.addCard(card);
+                discardPile.overrideTopCardSuit(chosenSuit);
+                children.add(new Position(
+                        newHands, drawOrder, drawIndex, card, discardPile.getActiveSuit(), nextPlayer));
+            }
+            return children;
+        }
+
+        private List<List<Card>> replaceHand(List<Card> hand) {
+            List<List<Card>> newHands = new ArrayList<>(hands);
+            newHands.set(currentPlayer, hand);
+            return newHands;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package edu.kennesaw.crazy8s.simulation;
+
+import edu.kennesaw.crazy8s.perft.BitboardPosition;
+import edu.kennesaw.crazy8s.perft.PerftDeal;
+import java.util.SplittableRandom;
+
+/**
+ * Plays a complete CPU-versus-CPU game without console output.
+ * Both players follow the same random policy as {@code CpuPlayer}, and the same seed always
+ * produces the same deal, the same choices and therefore the same outcome.
+ */
+public final class HeadlessGame {
+    private static final double PLAY_DRAWN_CARD_THRESHOLD = 0.5;
+
+    private HeadlessGame() {
+    }
+
+    public static GameOutcome play(int seed, int handSize) {
+        BitboardPosition position = BitboardPosition.from(PerftDeal.create(seed, handSize));
+        SplittableRandom rng = new SplittableRandom(seed);
+        int[] moves = new int[BitboardPosition.MAX_MOVES];
+        int turns = 0;
+
+        while (!position.isGameOver()) {
+            int moveCount = position.generateMoves(moves);
+            position = position.apply(chooseMove(moves, moveCount, rng));
+            turns++;
+        }
+
+        return new GameOutcome(turns, position.getCardCount(0), position.getCardCount(1));
+    }
+
+    private static int chooseMove(int[] moves, int moveCount, SplittableRandom rng) {
+        if (BitboardPosition.isDrawMove(moves[0])) {
+            boolean drawnCardIsPlayable = moveCount > 1;
+            if (!drawnCardIsPlayable || rng.nextDouble() <= PLAY_DRAWN_CARD_THRESHOLD) {
+                return BitboardPosition.DRAW_AND_KEEP;
+            }
+            return chooseCardThenSuit(moves, 1, moveCount, rng);
+        }
+
+        return chooseCardThenSuit(moves, 0, moveCount, rng);
+    }
+
+    /**
+     * Picks a card uniformly, then a suit uniformly when the card is an eight.
+     * Eights appear as one move per suit, so picking a move uniformly would favor them.
+     */
+    private static int chooseCardThenSuit(int[] moves, int from, int to, SplittableRandom rng) {
+        int cardCount = 0;
+        int previousCard = -1;
+        for (int i = from; i < to; i++) {
+            int card = BitboardPosition.getPlayedCard(moves[i]);
+            if (card != previousCard) {
+                cardCount++;
+                previousCard = card;
+            }
+        }
+
+        int selectedCard = rng.nextInt(cardCount);
+        int cardIndex = -1;
+        previousCard = -1;
+        for (int i = from; i < to; i++) {
+            int card = BitboardPosition.getPlayedCard(moves[i]);
+            if (card != previousCard) {
+                cardIndex++;
+                previousCard = card;
+            }
+            if (cardIndex == selectedCard) {
+                int suitChoices = 1;
+                while (i + suitChoices < to && BitboardPosition.getPlayedCard(moves[i + suitChoices]) == card) {
+                    suitChoices++;
+                }
+                return moves[i + rng.nextInt(suitChoices)];
+            }
+        }
+
+        throw new IllegalStateException("No move available to choose from.");
+    }
+
+    /**
+     * The final state of a finished headless game.
+     */
+    public static class GameOutcome {
+        private final int turns;
+        private final int firstPlayerCards;
+        private final int secondPlayerCards;
+
+        public GameOutcome(int turns, int firstPlayerCards, int secondPlayerCards) {
+            this.turns = turns;
+            this.firstPlayerCards = firstPlayerCards;
+            this.secondPlayerCards = secondPlayerCards;
+        }
+
+        public int getTurns() {
+            return turns;
+        }
+
+        public boolean isTie() {
+            return firstPlayerCards == secondPlayerCards;
+        }
+
+        /**
+         * Gets the index of the player with the fewest cards, or -1 for a tie.
+         */
+        public int getWinner() {
+            if (isTie()) {
+                return -1;
+            }
+            return firstPlayerCards < secondPlayerCards ? 0 : 1;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package edu.kennesaw.crazy8s.simulation;
+
+/**
+ * A half-open range of game seeds, {@code [start, end)}, simulated as one unit of work.
+ */
+public class SeedRange {
+    private final long start;
+    private final long end;
+
+    public SeedRange(long start, long end) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Seed range cannot be empty.");
+        }
+        if (start <= 0 || end - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Seeds must be between 1 and " + Integer.MAX_VALUE + ".");
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long getSize() {
+        return end - start;
+    }
+
+    public SimulationAggregate simulate(int handSize) {
+        SimulationAggregate aggregate = new SimulationAggregate();
+        for (long seed = start; seed < end; seed++) {
+            aggregate.add(HeadlessGame.play((int) seed, handSize));
+        }
+        return aggregate;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + ", " + end + ")";
+    }
+}
@@ -0,0 +1,120 @@
+package edu.kennesaw.crazy8s.simulation;
+
+/**
+ * Order-independent summary of many headless games.
+ * Every statistic is a count, sum, minimum or maximum, so partial aggregates can be merged
+ * in any grouping and always produce the same totals.
+ */
+public class SimulationAggregate {
+    private static final int FIELD_COUNT = 7;
+
+    private long games;
+    private long firstPlayerWins;
+    private long secondPlayerWins;
+    private long ties;
+    private long totalTurns;
+    private long minTurns = Long.MAX_VALUE;
+    private long maxTurns;
+
+    public void add(HeadlessGame.GameOutcome outcome) {
+        games++;
+        switch (outcome.getWinner()) {
+            case 0:
+                firstPlayerWins++;
+                break;
+            case 1:
+                secondPlayerWins++;
+                break;
+            default:
+                ties++;
+                break;
+        }
+        totalTurns += outcome.getTurns();
+        minTurns = Math.min(minTurns, outcome.getTurns());
+        maxTurns = Math.max(maxTurns, outcome.getTurns());
+    }
+
+    public void merge(SimulationAggregate other) {
+        games += other.games;
+        firstPlayerWins += other.firstPlayerWins;
+        secondPlayerWins += other.secondPlayerWins;
+        ties += other.ties;
+        totalTurns += other.totalTurns;
+        minTurns = Math.min(minTurns, other.minTurns);
+        maxTurns = Math.max(maxTurns, other.maxTurns);
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getFirstPlayerWins() {
+        return firstPlayerWins;
+    }
+
+    public long getSecondPlayerWins() {
+        return secondPlayerWins;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public long getMinTurns() {
+        return games == 0 ? 0 : minTurns;
+    }
+
+    public long getMaxTurns() {
+        return maxTurns;
+    }
+
+    /**
+     * Encodes the aggregate as space-separated fields for the coordinator protocol.
+     */
+    public String encode() {
+        return games + " " + firstPlayerWins + " " + secondPlayerWins + " " + ties + " "
+                + totalTurns + " " + minTurns + " " + maxTurns;
+    }
+
+    public static SimulationAggregate decode(String[] fields, int offset) {
+        if (fields.length - offset != FIELD_COUNT) {
+            throw new IllegalArgumentException("Expected " + FIELD_COUNT + " aggregate fields.");
+        }
+
+        SimulationAggregate aggregate = new SimulationAggregate();
+        aggregate.games = Long.parseLong(fields[offset]);
+        aggregate.firstPlayerWins = Long.parseLong(fields[offset + 1]);
+        aggregate.secondPlayerWins = Long.parseLong(fields[offset + 2]);
+        aggregate.ties = Long.parseLong(fields[offset + 3]);
+        aggregate.totalTurns = Long.parseLong(fields[offset + 4]);
+        aggregate.minTurns = Long.parseLong(fields[offset + 5]);
+        aggregate.maxTurns = Long.parseLong(fields[offset + 6]);
+        return aggregate;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof SimulationAggregate)) {
+            return false;
+        }
+        return encode().equals(((SimulationAggregate) obj).encode());
+    }
+
+    @Override
+    public int hashCode() {
+        return encode().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        double averageTurns = games == 0 ? 0 : (double) totalTurns / games;
+        return String.format(
+                "Games: %,d | First player wins: %,d | Second player wins: %,d | Ties: %,d | "
+                        + "Turns min/avg/max: %d/%.2f/%d",
+                games, firstPlayerWins, secondPlayerWins, ties, getMinTurns(), averageTurns, maxTurns);
+    }
+}
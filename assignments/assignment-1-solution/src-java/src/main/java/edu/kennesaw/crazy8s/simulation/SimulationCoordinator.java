@@ -0,0 +1,148 @@
+package edu.kennesaw.crazy8s.simulation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out seed ranges to worker processes over local sockets and merges their partial aggregates.
+ *
+ * <p>The line protocol is: the worker sends {@code HELLO <name>} and receives {@code CONFIG <handSize>};
+ * it then repeats {@code NEXT}, answered by {@code RANGE <start> <end>} or {@code DONE}, and reports
+ * each finished range with {@code RESULT <start> <end> <aggregate fields>}.
+ */
+public class SimulationCoordinator implements AutoCloseable {
+    private final WorkStealingSchedule schedule;
+    private final int handSize;
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final Map<String, Integer> rangesByWorker = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private ServerSocket serverSocket;
+
+    public SimulationCoordinator(long firstSeed, long gameCount, int handSize, int rangeSize, int workerSlots) {
+        this.schedule = new WorkStealingSchedule(firstSeed, gameCount, rangeSize, workerSlots);
+        this.handSize = handSize;
+    }
+
+    /**
+     * Starts listening on the loopback interface; a port of 0 picks a free port.
+     */
+    public void start(int port) {
+        try {
+            serverSocket = new ServerSocket(port, schedule.getSlotCount() * 2, InetAddress.getLoopbackAddress());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to listen on port " + port + ".", ex);
+        }
+
+        executor.submit(this::acceptWorkers);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public SimulationAggregate awaitResult() throws InterruptedException {
+        return schedule.awaitResult();
+    }
+
+    /**
+     * Gets how many ranges each worker completed, which shows how the work was split.
+     */
+    public Map<String, Integer> getRangesByWorker() {
+        return Collections.unmodifiableMap(new TreeMap<>(rangesByWorker));
+    }
+
+    public int getStolenRangeCount() {
+        return schedule.getStolenRangeCount();
+    }
+
+    private void acceptWorkers() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.submit(() -> serveWorker(socket));
+            } catch (IOException ex) {
+                return;
+            }
+        }
+    }
+
+    private void serveWorker(Socket socket) {
+        SeedRange inFlight = null;
+        try (socket) {
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter writer = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+
+            String[] hello = split(reader.readLine());
+            if (hello.length != 2 || !"HELLO".equals(hello[0])) {
+                return;
+            }
+            String workerName = hello[1];
+            int slot = nextSlot.getAndIncrement();
+            if (slot >= schedule.getSlotCount()) {
+                slot = -1;
+            }
+            writer.println("CONFIG " + handSize);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = split(line);
+                if ("NEXT".equals(parts[0])) {
+                    inFlight = schedule.take(slot);
+                    if (inFlight == null) {
+                        writer.println("DONE");
+                        return;
+                    }
+                    writer.println("RANGE " + inFlight.getStart() + " " + inFlight.getEnd());
+                } else if ("RESULT".equals(parts[0]) && inFlight != null) {
+                    if (Long.parseLong(parts[1]) != inFlight.getStart() || Long.parseLong(parts[2]) != inFlight.getEnd()) {
+                        return;
+                    }
+                    schedule.complete(inFlight, SimulationAggregate.decode(parts, 3));
+                    rangesByWorker.merge(workerName, 1, Integer::sum);
+                    inFlight = null;
+                } else {
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            // A broken or misbehaving worker is dropped; its in-flight range is re-issued below.
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (inFlight != null) {
+                schedule.abandon(inFlight);
+            }
+        }
+    }
+
+    private static String[] split(String line) {
+        return line == null ? new String[0] : line.trim().split(" ");
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException ex) {
+            // Closing is best effort.
+        }
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,163 @@
+package edu.kennesaw.crazy8s.simulation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line entry point for distributed headless simulations.
+ *
+ * <pre>
+ * coordinator &lt;port&gt; &lt;firstSeed&gt; &lt;gameCount&gt; [handSize] [rangeSize] [workers]
+ * worker &lt;port&gt; [name] [slowdownMillisPerRange]
+ * local &lt;workers&gt; &lt;firstSeed&gt; &lt;gameCount&gt; [handSize] [rangeSize] [--verify] [--slow-first-worker]
+ * </pre>
+ */
+public final class SimulationMain {
+    private static final int DEFAULT_HAND_SIZE = 5;
+    private static final int DEFAULT_RANGE_SIZE = 1000;
+    private static final int DEFAULT_WORKERS = 4;
+    private static final long SLOW_WORKER_MILLIS_PER_RANGE = 250;
+
+    private SimulationMain() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            printUsage();
+            return;
+        }
+
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                positional.add(arg);
+            }
+        }
+        List<String> flags = List.of(args);
+
+        switch (positional.get(0)) {
+            case "coordinator":
+                runCoordinator(positional);
+                break;
+            case "worker":
+                runWorker(positional);
+                break;
+            case "local":
+                runLocal(positional, flags.contains("--verify"), flags.contains("--slow-first-worker"));
+                break;
+            default:
+                printUsage();
+                break;
+        }
+    }
+
+    private static void runCoordinator(List<String> args) throws InterruptedException {
+        int port = Integer.parseInt(args.get(1));
+        long firstSeed = Long.parseLong(args.get(2));
+        long gameCount = Long.parseLong(args.get(3));
+        int handSize = getInt(args, 4, DEFAULT_HAND_SIZE);
+        int rangeSize = getInt(args, 5, DEFAULT_RANGE_SIZE);
+        int workers = getInt(args, 6, DEFAULT_WORKERS);
+
+        try (SimulationCoordinator coordinator =
+                     new SimulationCoordinator(firstSeed, gameCount, handSize, rangeSize, workers)) {
+            coordinator.start(port);
+            System.out.println("Coordinator listening on port " + coordinator.getPort());
+            printResult(coordinator, coordinator.awaitResult());
+        }
+    }
+
+    private static void runWorker(List<String> args) throws IOException, InterruptedException {
+        int port = Integer.parseInt(args.get(1));
+        String name = args.size() > 2 ? args.get(2) : "worker-" + ProcessHandle.current().pid();
+        long slowdownMillisPerRange = args.size() > 3 ? Long.parseLong(args.get(3)) : 0;
+
+        int ranges = SimulationWorker.run(port, name, slowdownMillisPerRange);
+        System.out.println(name + " simulated " + ranges + " ranges.");
+    }
+
+    /**
+     * Starts a coordinator in this process and one worker JVM per slot on the same machine.
+     */
+    private static void runLocal(List<String> args, boolean verify, boolean slowFirstWorker)
+            throws IOException, InterruptedException {
+        int workers = Integer.parseInt(args.get(1));
+        long firstSeed = Long.parseLong(args.get(2));
+        long gameCount = Long.parseLong(args.get(3));
+        int handSize = getInt(args, 4, DEFAULT_HAND_SIZE);
+        int rangeSize = getInt(args, 5, DEFAULT_RANGE_SIZE);
+
+        SimulationAggregate result;
+        try (SimulationCoordinator coordinator =
+                     new SimulationCoordinator(firstSeed, gameCount, handSize, rangeSize, workers)) {
+            coordinator.start(0);
+
+            long start = System.nanoTime();
+            List<Process> processes = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                long slowdown = slowFirstWorker && i == 0 ? SLOW_WORKER_MILLIS_PER_RANGE : 0;
+                processes.add(startWorkerProcess(coordinator.getPort(), "worker-" + (i + 1), slowdown));
+            }
+
+            result = coordinator.awaitResult();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            for (Process process : processes) {
+                process.waitFor();
+            }
+
+            printResult(coordinator, result);
+            System.out.println(String.format("Elapsed: %,d ms", elapsedMillis));
+        }
+
+        if (verify) {
+            SimulationAggregate expected = new SeedRange(firstSeed, firstSeed + gameCount).simulate(handSize);
+            boolean matches = expected.equals(result);
+            System.out.println(matches
+                    ? "Verification passed: matches a single-process run."
+                    : "Verification FAILED: single-process run gave " + expected);
+            if (!matches) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private static Process startWorkerProcess(int port, String name, long slowdownMillisPerRange)
+            throws IOException {
+        String javaExecutable = ProcessHandle.current().info().command()
+                .orElse(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        ProcessBuilder builder = new ProcessBuilder(
+                javaExecutable,
+                "-cp",
+                System.getProperty("java.class.path"),
+                SimulationMain.class.getName(),
+                "worker",
+                String.valueOf(port),
+                name,
+                String.valueOf(slowdownMillisPerRange));
+        builder.inheritIO();
+        return builder.start();
+    }
+
+    private static void printResult(SimulationCoordinator coordinator, SimulationAggregate result) {
+        System.out.println(result);
+        for (Map.Entry<String, Integer> entry : coordinator.getRangesByWorker().entrySet()) {
+            System.out.println("  " + entry.getKey() + ": " + entry.getValue() + " ranges");
+        }
+        System.out.println("  Ranges stolen: " + coordinator.getStolenRangeCount());
+    }
+
+    private static int getInt(List<String> args, int index, int defaultValue) {
+        return args.size() > index ? Integer.parseInt(args.get(index)) : defaultValue;
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  coordinator <port> <firstSeed> <gameCount> [handSize] [rangeSize] [workers]");
+        System.out.println("  worker <port> [name] [slowdownMillisPerRange]");
+        System.out.println("  local <workers> <firstSeed> <gameCount> [handSize] [rangeSize] "
+                + "[--verify] [--slow-first-worker]");
+    }
+}
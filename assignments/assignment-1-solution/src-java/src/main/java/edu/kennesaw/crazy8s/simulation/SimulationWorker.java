@@ -0,0 +1,68 @@
+package edu.kennesaw.crazy8s.simulation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Worker process loop: requests seed ranges from the coordinator, simulates them and reports the aggregate.
+ */
+public final class SimulationWorker {
+    private SimulationWorker() {
+    }
+
+    /**
+     * Runs until the coordinator reports that every range is done.
+     *
+     * @param slowdownMillisPerRange artificial delay per range, used to exercise work stealing.
+     * @return the number of ranges this worker simulated.
+     */
+    public static int run(int coordinatorPort, String name, long slowdownMillisPerRange)
+            throws IOException, InterruptedException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), coordinatorPort)) {
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter writer = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+
+            writer.println("HELLO " + name);
+            String[] config = readFields(reader);
+            if (config.length != 2 || !"CONFIG".equals(config[0])) {
+                throw new IOException("Unexpected coordinator greeting.");
+            }
+            int handSize = Integer.parseInt(config[1]);
+
+            int rangeCount = 0;
+            while (true) {
+                writer.println("NEXT");
+                String[] reply = readFields(reader);
+                if (reply.length == 1 && "DONE".equals(reply[0])) {
+                    return rangeCount;
+                }
+                if (reply.length != 3 || !"RANGE".equals(reply[0])) {
+                    throw new IOException("Unexpected coordinator reply.");
+                }
+
+                SeedRange range = new SeedRange(Long.parseLong(reply[1]), Long.parseLong(reply[2]));
+                SimulationAggregate aggregate = range.simulate(handSize);
+                if (slowdownMillisPerRange > 0) {
+                    Thread.sleep(slowdownMillisPerRange);
+                }
+
+                writer.println("RESULT " + range.getStart() + " " + range.getEnd() + " " + aggregate.encode());
+                rangeCount++;
+            }
+        }
+    }
+
+    private static String[] readFields(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new IOException("Coordinator closed the connection.");
+        }
+        return line.trim().split(" ");
+    }
+}
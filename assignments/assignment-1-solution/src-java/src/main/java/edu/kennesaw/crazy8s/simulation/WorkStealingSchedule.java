@@ -0,0 +1,167 @@
+package edu.kennesaw.crazy8s.simulation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks which seed ranges are queued, in flight and complete.
+ * Every worker slot starts with its own contiguous share of the ranges and consumes it from the front.
+ * A slot that runs dry steals the back half of the largest remaining queue, so fast workers
+ * take over work that slow workers have not started yet.
+ */
+class WorkStealingSchedule {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final List<Deque<SeedRange>> slotQueues = new ArrayList<>();
+    private final Deque<SeedRange> unownedRanges = new ArrayDeque<>();
+    private final Map<Long, SimulationAggregate> completedRanges = new HashMap<>();
+    private final SimulationAggregate total = new SimulationAggregate();
+    private final int rangeCount;
+    private int stolenRangeCount;
+
+    WorkStealingSchedule(long firstSeed, long gameCount, int rangeSize, int slotCount) {
+        if (gameCount < 1 || rangeSize < 1 || slotCount < 1) {
+            throw new IllegalArgumentException("Game count, range size and slot count must be positive.");
+        }
+
+        List<SeedRange> ranges = new ArrayList<>();
+        for (long start = firstSeed; start < firstSeed + gameCount; start += rangeSize) {
+            ranges.add(new SeedRange(start, Math.min(start + rangeSize, firstSeed + gameCount)));
+        }
+        rangeCount = ranges.size();
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            int from = (int) ((long) slot * rangeCount / slotCount);
+            int to = (int) ((long) (slot + 1) * rangeCount / slotCount);
+            slotQueues.add(new ArrayDeque<>(ranges.subList(from, to)));
+        }
+    }
+
+    int getSlotCount() {
+        return slotQueues.size();
+    }
+
+    /**
+     * Waits for the next range for a slot, or returns null once every range is complete.
+     *
+     * @param slot the worker slot, or -1 for a worker without its own share.
+     */
+    SeedRange take(int slot) throws InterruptedException {
+        lock.lock();
+        try {
+            while (!isComplete()) {
+                SeedRange range = unownedRanges.pollFirst();
+                if (range == null && slot >= 0) {
+                    range = slotQueues.get(slot).pollFirst();
+                }
+                if (range == null) {
+                    range = steal(slot);
+                }
+                if (range != null) {
+                    return range;
+                }
+
+                changed.await();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the aggregate for a range. Duplicate results for a re-issued range are ignored.
+     */
+    void complete(SeedRange range, SimulationAggregate aggregate) {
+        if (aggregate.getGames() != range.getSize()) {
+            throw new IllegalArgumentException("Result for " + range + " covers " + aggregate.getGames() + " games.");
+        }
+
+        lock.lock();
+        try {
+            if (completedRanges.putIfAbsent(range.getStart(), aggregate) == null) {
+                total.merge(aggregate);
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an in-flight range to the schedule when its worker disconnects before reporting.
+     */
+    void abandon(SeedRange range) {
+        lock.lock();
+        try {
+            if (!completedRanges.containsKey(range.getStart())) {
+                unownedRanges.addLast(range);
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    SimulationAggregate awaitResult() throws InterruptedException {
+        lock.lock();
+        try {
+            while (!isComplete()) {
+                changed.await();
+            }
+
+            SimulationAggregate result = new SimulationAggregate();
+            result.merge(total);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getStolenRangeCount() {
+        lock.lock();
+        try {
+            return stolenRangeCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isComplete() {
+        return completedRanges.size() == rangeCount;
+    }
+
+    private SeedRange steal(int thiefSlot) {
+        Deque<SeedRange> victim = null;
+        for (int slot = 0; slot < slotQueues.size(); slot++) {
+            Deque<SeedRange> candidate = slotQueues.get(slot);
+            if (slot != thiefSlot && !candidate.isEmpty() && (victim == null || candidate.size() > victim.size())) {
+                victim = candidate;
+            }
+        }
+        if (victim == null) {
+            return null;
+        }
+
+        int stealCount = (victim.size() + 1) / 2;
+        Deque<SeedRange> stolen = new ArrayDeque<>();
+        for (int i = 0; i < stealCount; i++) {
+            stolen.addFirst(victim.pollLast());
+        }
+        stolenRangeCount += stealCount;
+
+        SeedRange first = stolen.pollFirst();
+        if (thiefSlot >= 0) {
+            slotQueues.get(thiefSlot).addAll(stolen);
+        } else {
+            unownedRanges.addAll(stolen);
+        }
+        return first;
+    }
+}
@@ -0,0 +1,83 @@
+package edu.kennesaw.crazy8s.spectator;
+
+import edu.kennesaw.crazy8s.game.GameContext;
+import edu.kennesaw.crazy8s.game.TurnContext;
+import edu.kennesaw.crazy8s.player.Player;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes table frames to spectators without ever waiting on them.
+ * Only the latest frame is retained, so a spectator that falls behind skips
+ * straight to the current table state instead of slowing down the game.
+ */
+public class SpectatorBroadcaster {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition frameAvailable = lock.newCondition();
+    private long lastSequence;
+    private SpectatorFrame latestFrame;
+    private boolean closed;
+
+    public void publishTurn(GameContext gameContext, TurnContext turnContext) {
+        publish(SpectatorFrame.fromTurn(lastSequence + 1, gameContext, turnContext));
+    }
+
+    public void publishGameOver(GameContext gameContext, List<Player> winners) {
+        publish(SpectatorFrame.fromGameOver(lastSequence + 1, gameContext, winners));
+    }
+
+    private void publish(SpectatorFrame frame) {
+        lock.lock();
+        try {
+            lastSequence = frame.getSequence();
+            latestFrame = frame;
+            frameAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until a frame newer than the given sequence is available and returns it.
+     * Intermediate frames published while the caller was busy are skipped.
+     *
+     * @return the newest frame, or null when the timeout elapses or the broadcaster is closed.
+     */
+    public SpectatorFrame awaitFrameAfter(long sequence, long timeout, TimeUnit unit) throws InterruptedException {
+        long remainingNanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!closed && (latestFrame == null || latestFrame.getSequence() <= sequence)) {
+                if (remainingNanos <= 0) {
+                    return null;
+                }
+                remainingNanos = frameAvailable.awaitNanos(remainingNanos);
+            }
+
+            return closed ? null : latestFrame;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            frameAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
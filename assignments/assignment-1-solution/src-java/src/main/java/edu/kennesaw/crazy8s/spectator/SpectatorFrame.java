@@ -0,0 +1,120 @@
+package edu.kennesaw.crazy8s.spectator;
+
+import edu.kennesaw.crazy8s.cards.Card;
+import edu.kennesaw.crazy8s.domain.SuitType;
+import edu.kennesaw.crazy8s.game.GameContext;
+import edu.kennesaw.crazy8s.game.TurnContext;
+import edu.kennesaw.crazy8s.player.Player;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Immutable, pre-serialized server-sent event describing the visible table state.
+ * A frame is encoded once and the same bytes are written to every spectator.
+ */
+public final class SpectatorFrame {
+    private final long sequence;
+    private final byte[] eventBytes;
+
+    private SpectatorFrame(long sequence, String eventName, String json) {
+        this.sequence = sequence;
+        String event = "id: " + sequence + "\nevent: " + eventName + "\ndata: " + json + "\n\n";
+        this.eventBytes = event.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static SpectatorFrame fromTurn(long sequence, GameContext gameContext, TurnContext turnContext) {
+        Card topCard = turnContext.getTopCard();
+        SuitType currentSuit = turnContext.getCurrentSuit();
+
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"turn\":").append(gameContext.getTurnNumber());
+        json.append(",\"topCard\":");
+        appendString(json, topCard.getDescription());
+        json.append(",\"suitToMatch\":");
+        appendString(json, currentSuit.getDisplayName());
+        json.append(",\"deckCount\":").append(gameContext.getDeck().getCardCount());
+        json.append(",\"currentPlayer\":");
+        appendString(json, turnContext.getCurrentPlayer().getName());
+        json.append(",\"handCounts\":");
+        appendHandCounts(json, gameContext.getPlayers().getList());
+        json.append('}');
+
+        return new SpectatorFrame(sequence, "turn", json.toString());
+    }
+
+    public static SpectatorFrame fromGameOver(long sequence, GameContext gameContext, List<Player> winners) {
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"turn\":").append(gameContext.getTurnNumber());
+        json.append(",\"winners\":[");
+        for (int i = 0; i < winners.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendString(json, winners.get(i).getName());
+        }
+        json.append("],\"handCounts\":");
+        appendHandCounts(json, gameContext.getPlayers().getList());
+        json.append('}');
+
+        return new SpectatorFrame(sequence, "gameOver", json.toString());
+    }
+
+    /**
+     * Gets the position of this frame in the broadcast stream.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the UTF-8 encoded event. The array is shared and must not be modified.
+     */
+    byte[] getEventBytes() {
+        return eventBytes;
+    }
+
+    private static void appendHandCounts(StringBuilder json, List<Player> players) {
+        json.append('[');
+        for (int i = 0; i < players.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            Player player = players.get(i);
+            json.append("{\"name\":");
+            appendString(json, player.getName());
+            json.append(",\"cards\":").append(player.getCardCount()).append('}');
+        }
+        json.append(']');
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,98 @@
+package edu.kennesaw.crazy8s.spectator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local HTTP endpoint that streams table frames to spectators as server-sent events.
+ * Each spectator is served by its own virtual thread, so a slow connection only blocks itself.
+ */
+public class SpectatorServer implements AutoCloseable {
+    public static final String EVENTS_PATH = "/events";
+
+    private static final int CONNECTION_BACKLOG = 1024;
+    private static final long KEEP_ALIVE_SECONDS = 15;
+    private static final byte[] KEEP_ALIVE_COMMENT = ": keep-alive\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final SpectatorBroadcaster broadcaster;
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+
+    private SpectatorServer(SpectatorBroadcaster broadcaster, HttpServer httpServer, ExecutorService executor) {
+        this.broadcaster = broadcaster;
+        this.httpServer = httpServer;
+        this.executor = executor;
+    }
+
+    public static SpectatorServer start(int port, SpectatorBroadcaster broadcaster) {
+        if (broadcaster == null) {
+            throw new IllegalArgumentException("Broadcaster cannot be null.");
+        }
+
+        try {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+            HttpServer httpServer = HttpServer.create(address, CONNECTION_BACKLOG);
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            SpectatorServer server = new SpectatorServer(broadcaster, httpServer, executor);
+
+            httpServer.createContext(EVENTS_PATH, server::streamFrames);
+            httpServer.setExecutor(executor);
+            httpServer.start();
+            return server;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to start spectator server on port " + port + ".", ex);
+        }
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void streamFrames(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+
+            OutputStream body = exchange.getResponseBody();
+            long lastSentSequence = 0;
+            while (!broadcaster.isClosed()) {
+                SpectatorFrame frame = broadcaster.awaitFrameAfter(lastSentSequence, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+                if (frame == null) {
+                    body.write(KEEP_ALIVE_COMMENT);
+                } else {
+                    body.write(frame.getEventBytes());
+                    lastSentSequence = frame.getSequence();
+                }
+                body.flush();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            // The spectator disconnected; nothing else depends on this stream.
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        broadcaster.close();
+        httpServer.stop(0);
+        executor.shutdownNow();
+    }
+}
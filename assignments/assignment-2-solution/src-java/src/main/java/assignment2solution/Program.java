@@ -1,14 +1,34 @@
 package assignment2solution;
 
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventoryquery.AllInventoryQuery;
+import assignment2solution.domain.inventoryquery.InventoryQueryCache;
+import assignment2solution.infrastructure.CsvInventoryImporter;
+import assignment2solution.infrastructure.MappedInventoryStore;
+import assignment2solution.infrastructure.WriteAheadLogSyncPolicy;
 import assignment2solution.userinterface.Application;
+import assignment2solution.userinterface.querybuilder.InventoryExportFormat;
+import assignment2solution.userinterface.querybuilder.InventoryExportWriter;
+import assignment2solution.userinterface.webapi.TeaShopHttpServer;
 
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 
 /**
  * The main entry point for the tea shop application.
  */
 public final class Program {
+    private static final String HTTP_OPTION = "--http";
+    private static final String EXPORT_OPTION = "--export";
+    private static final String EXPLAIN_OPTION = "--explain";
+    private static final int QUERY_CACHE_CAPACITY = 64;
+
     private Program() {
     }
 
@@ -16,9 +36,68 @@ public final class Program {
      * The main method which starts the application.
      * System.in and System.out are passed to the application to enable
      * easier testing and separation of concerns.
+     * An optional argument names a durable store file. If the file does not exist it is created, either from the
+     * CSV catalogue named by a second argument or with the default teas.
+     * Starting with {@code --http <port>} serves the JSON web API instead of the console until Enter is pressed.
+     * Starting with {@code --export <text|csv|jsonl>} writes the whole catalogue to standard output instead.
+     * Starting with {@code --explain} runs the console and prints how each layer of every query performed.
      */
-    public static void main(String[] args) {
-        var application = new Application(new InputStreamReader(System.in), new OutputStreamWriter(System.out));
-        application.run();
+    public static void main(String[] args) throws IOException {
+        var explainQueries = args.length >= 1 && args[0].equals(EXPLAIN_OPTION);
+        if (explainQueries) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        var httpPort = args.length >= 2 && args[0].equals(HTTP_OPTION) ? Integer.parseInt(args[1]) : -1;
+        var exportFormat = args.length >= 2 && args[0].equals(EXPORT_OPTION) ? parseExportFormat(args[1]) : null;
+        if (httpPort >= 0 || exportFormat != null) {
+            args = Arrays.copyOfRange(args, 2, args.length);
+        }
+
+        if (args.length == 0) {
+            run(new InventoryRepository(), httpPort, exportFormat, explainQueries);
+            return;
+        }
+
+        var storeFile = Path.of(args[0]);
+        if (!Files.exists(storeFile) && args.length > 1) {
+            new CsvInventoryImporter().importStore(Path.of(args[1]), storeFile);
+        } else if (!Files.exists(storeFile)) {
+            MappedInventoryStore.create(storeFile, new InventoryRepository().get());
+        }
+        var logFile = storeFile.resolveSibling(storeFile.getFileName() + ".wal");
+        try (var store = MappedInventoryStore.open(storeFile, logFile, WriteAheadLogSyncPolicy.everyRecord())) {
+            run(new InventoryRepository(store), httpPort, exportFormat, explainQueries);
+        }
+    }
+
+    private static void run(InventoryRepository repository, int httpPort, InventoryExportFormat exportFormat,
+                            boolean explainQueries) throws IOException {
+        if (exportFormat != null) {
+            var output = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+            new InventoryExportWriter(output, exportFormat).write(new AllInventoryQuery(repository));
+            return;
+        }
+        if (httpPort < 0) {
+            var application = new Application(repository,
+                new InventoryQueryCache(repository, QUERY_CACHE_CAPACITY),
+                new InputStreamReader(System.in), new OutputStreamWriter(System.out), null, explainQueries);
+            application.run();
+            return;
+        }
+
+        try (var server = TeaShopHttpServer.start(repository, new InetSocketAddress(httpPort))) {
+            System.out.println("Serving the tea shop on http://localhost:" + server.getPort() + "/inventory");
+            System.out.println("Press Enter to stop.");
+            System.in.read();
+        }
+    }
+
+    private static InventoryExportFormat parseExportFormat(String name) {
+        return switch (name) {
+            case "text" -> InventoryExportFormat.TEXT;
+            case "csv" -> InventoryExportFormat.CSV;
+            case "jsonl" -> InventoryExportFormat.JSON_LINES;
+            default -> throw new IllegalArgumentException("Unknown export format: " + name);
+        };
     }
 }
@@ -0,0 +1,64 @@
+package assignment2solution.domain.cart;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.money.Money;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A customer's cart: the items to buy in one checkout, each with a quantity, in the order they were first added.
+ * A cart is not thread-safe; each customer has their own.
+ */
+public final class Cart {
+    private final Map<UUID, CartLine> lines = new LinkedHashMap<>();
+
+    /**
+     * Adds packages of an item, increasing the quantity when the item is already in the cart.
+     *
+     * @throws IllegalArgumentException when the quantity is not positive.
+     */
+    public void add(InventoryItem item, int quantity) {
+        Objects.requireNonNull(item, "item");
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be positive.");
+        }
+        lines.merge(item.getInventoryItemId(), new CartLine(item, quantity),
+            (existing, added) -> new CartLine(existing.item(), Math.addExact(existing.quantity(), added.quantity())));
+    }
+
+    /**
+     * Removes an item from the cart, if present.
+     */
+    public void remove(UUID inventoryItemId) {
+        lines.remove(inventoryItemId);
+    }
+
+    /**
+     * Gets the lines in the order their items were first added.
+     */
+    public List<CartLine> getLines() {
+        return List.copyOf(lines.values());
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    /**
+     * Gets the total price of every line. The lines are summed in cents, so the only {@link Money} created is the
+     * total.
+     *
+     * @throws ArithmeticException when the total does not fit in a {@code long} of cents.
+     */
+    public Money getTotalAmount() {
+        var cents = 0L;
+        for (var line : lines.values()) {
+            cents = Math.addExact(cents, Math.multiplyExact(line.item().getUnitPrice().getCents(), line.quantity()));
+        }
+        return Money.ofCents(cents);
+    }
+}
@@ -0,0 +1,109 @@
+package assignment2solution.domain.cart;
+
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.payment.IPaymentStrategy;
+import assignment2solution.domain.payment.PaymentCharge;
+import assignment2solution.domain.payment.PaymentPipeline;
+import assignment2solution.domain.payment.PaymentReceipt;
+
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Checks out a whole {@link Cart} against an {@link InventoryRepository}.
+ *
+ * <p>Every line's stock is reserved first, in one {@link InventoryRepository#updateQuantities(java.util.Map)}
+ * transaction: either all of it is taken or, when any line is short, none is and nothing is charged. The cart is
+ * then charged once through the payment strategy. The reservation is the commit: if the payment fails, the stock is
+ * put back in a second transaction and the failure is rethrown.
+ *
+ * <p>{@link #checkoutAsync} keeps the reservation until the gateway is done with the charge, not just until the
+ * caller stops waiting: a charge that timed out may still be approved, and its stock is put back only once that
+ * charge has been voided or declined.
+ */
+public final class CartCheckout {
+    private final InventoryRepository repository;
+
+    /**
+     * Initializes a new instance of the {@link CartCheckout} class.
+     */
+    public CartCheckout(InventoryRepository repository) {
+        this.repository = Objects.requireNonNull(repository, "repository");
+    }
+
+    /**
+     * Reserves the cart's stock, charges for it and writes the payment confirmation.
+     *
+     * @throws IllegalArgumentException when the cart is empty or holds an item not in the repository.
+     * @throws IllegalStateException    when any line's quantity is no longer in stock; nothing is charged.
+     */
+    public void checkout(Cart cart, IPaymentStrategy strategy, Writer output) {
+        Objects.requireNonNull(cart, "cart");
+        Objects.requireNonNull(strategy, "strategy");
+        Objects.requireNonNull(output, "output");
+
+        var release = reserve(cart);
+        try {
+            strategy.checkout(cart, output);
+        } catch (RuntimeException ex) {
+            repository.updateQuantities(release);
+            throw ex;
+        }
+    }
+
+    /**
+     * Reserves the cart's stock now and starts charging for it through the pipeline, without waiting for the gateway.
+     *
+     * @return A future that completes with the receipt, or exceptionally once the stock has been put back when the
+     *         payment is declined or fails. When it times out the future fails at once, and the stock is put back
+     *         when the gateway has declined or voided the charge.
+     * @throws IllegalArgumentException when the cart is empty or holds an item not in the repository.
+     * @throws IllegalStateException    when any line's quantity is no longer in stock; nothing is charged.
+     */
+    public CompletableFuture<PaymentReceipt> checkoutAsync(Cart cart, IPaymentStrategy strategy,
+                                                           PaymentPipeline pipeline) {
+        Objects.requireNonNull(cart, "cart");
+        Objects.requireNonNull(strategy, "strategy");
+        Objects.requireNonNull(pipeline, "pipeline");
+
+        var release = reserve(cart);
+        PaymentCharge charge;
+        try {
+            charge = pipeline.charge(strategy, cart);
+        } catch (RuntimeException ex) {
+            repository.updateQuantities(release);
+            throw ex;
+        }
+        charge.settled().thenAccept(kept -> {
+            if (!kept) {
+                repository.updateQuantities(release);
+            }
+        });
+        return charge.receipt();
+    }
+
+    /**
+     * Takes the stock of every line in one transaction.
+     *
+     * @return The changes that put the stock back.
+     */
+    private Map<UUID, Integer> reserve(Cart cart) {
+        if (cart.isEmpty()) {
+            throw new IllegalArgumentException("Cart is empty.");
+        }
+
+        var reservation = new LinkedHashMap<UUID, Integer>();
+        var release = new LinkedHashMap<UUID, Integer>();
+        for (var line : cart.getLines()) {
+            reservation.put(line.item().getInventoryItemId(), -line.quantity());
+            release.put(line.item().getInventoryItemId(), line.quantity());
+        }
+
+        repository.updateQuantities(reservation);
+        return release;
+    }
+}
@@ -0,0 +1,19 @@
+package assignment2solution.domain.cart;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.money.Money;
+
+/**
+ * One line of a {@link Cart}: an item and the number of packages to buy.
+ *
+ * @param item     The item, as it was when it was added.
+ * @param quantity The number of packages.
+ */
+public record CartLine(InventoryItem item, int quantity) {
+    /**
+     * Gets the line's price: the unit price times the quantity.
+     */
+    public Money getTotalAmount() {
+        return item.getUnitPrice().multiply(quantity);
+    }
+}
@@ -0,0 +1,225 @@
+package assignment2solution.domain.inventory;
+
+import assignment2solution.domain.money.Money;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * An in-memory store that keeps each item field in its own primitive array instead of one object per item.
+ * Prices are whole cents in a {@code long[]}, ratings a {@code byte[]}, quantities an {@code int[]}, and names are
+ * packed UTF-8 in a single string table, so an item costs about 40 bytes plus its name rather than the five objects
+ * of an {@link InventoryItem}. Ids are found through an open-addressing hash table of positions.
+ *
+ * <p>The price, rating and availability filters scan a single column with branch-free loops: each element adds 0
+ * or 1 to a count, so the JIT compiles the counting passes to straight-line (and, where the CPU allows, SIMD) code.
+ * {@link #read(int)} builds a new {@link InventoryItem} on every call, so this layout suits large catalogues that
+ * are mostly filtered and counted rather than read item by item.
+ *
+ * <p>Like the default in-memory store, it keeps the initial quantities; changes live in the repository's snapshots.
+ */
+public final class ColumnarInventoryStore implements IInventoryStore {
+    private static final long MAX_CENTS = Long.MAX_VALUE / 4;
+
+    private final long[] idMsbs;
+    private final long[] idLsbs;
+    private final long[] priceCents;
+    private final byte[] ratings;
+    private final int[] quantities;
+    private final byte[] nameTable;
+    private final int[] nameOffsets;
+    private final int[] positionTable;
+
+    /**
+     * Initializes a new instance of the {@link ColumnarInventoryStore} class.
+     *
+     * @throws IllegalArgumentException when two items share an id or a price is too large.
+     */
+    public ColumnarInventoryStore(Collection<InventoryItem> items) {
+        Objects.requireNonNull(items, "items");
+        var size = items.size();
+        idMsbs = new long[size];
+        idLsbs = new long[size];
+        priceCents = new long[size];
+        ratings = new byte[size];
+        quantities = new int[size];
+        nameOffsets = new int[size + 1];
+        positionTable = new int[Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1];
+
+        var names = new byte[size][];
+        var position = 0;
+        for (var item : items) {
+            idMsbs[position] = item.getInventoryItemId().getMostSignificantBits();
+            idLsbs[position] = item.getInventoryItemId().getLeastSignificantBits();
+            priceCents[position] = toCents(item.getUnitPrice());
+            ratings[position] = (byte) item.getStarRating().getRating();
+            quantities[position] = item.getQuantity();
+            names[position] = item.getName().getBytes(StandardCharsets.UTF_8);
+            nameOffsets[position + 1] = Math.addExact(nameOffsets[position], names[position].length);
+            insert(position++);
+        }
+
+        nameTable = new byte[nameOffsets[size]];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(names[i], 0, nameTable, nameOffsets[i], names[i].length);
+        }
+    }
+
+    @Override
+    public int size() {
+        return quantities.length;
+    }
+
+    @Override
+    public InventoryItem read(int position) {
+        var name = new String(nameTable, nameOffsets[position], nameOffsets[position + 1] - nameOffsets[position],
+            StandardCharsets.UTF_8);
+        return new InventoryItem(new UUID(idMsbs[position], idLsbs[position]), name,
+            Money.ofCents(priceCents[position]), quantities[position], new StarRating(ratings[position]));
+    }
+
+    @Override
+    public int findPosition(UUID inventoryItemId) {
+        var msb = inventoryItemId.getMostSignificantBits();
+        var lsb = inventoryItemId.getLeastSignificantBits();
+        var mask = positionTable.length - 1;
+        for (var slot = hash(msb, lsb) & mask; positionTable[slot] != 0; slot = (slot + 1) & mask) {
+            var position = positionTable[slot] - 1;
+            if (idMsbs[position] == msb && idLsbs[position] == lsb) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void recordQuantityChange(long version, int position, int quantity) {
+        // nothing to persist
+    }
+
+    @Override
+    public int countInStock(int from, int to) {
+        var count = 0;
+        for (int position = from; position < to; position++) {
+            count += isInStock(quantities[position]);
+        }
+        return count;
+    }
+
+    @Override
+    public int collectByAvailability(int from, int to, boolean isAvailable, int[] positions, int count) {
+        var wanted = isAvailable ? 1 : 0;
+        for (int position = from; position < to && count < positions.length; position++) {
+            positions[count] = position;
+            count += 1 - (isInStock(quantities[position]) ^ wanted);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the items priced within the range.
+     *
+     * @param minInclusive The lowest price, or null for no lower bound.
+     * @param maxInclusive The highest price, or null for no upper bound.
+     */
+    int countByPriceRange(BigDecimal minInclusive, BigDecimal maxInclusive) {
+        var min = lowerCents(minInclusive);
+        var max = upperCents(maxInclusive);
+        var count = 0;
+        for (var cents : priceCents) {
+            count += isInRange(cents, min, max);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the positions of items priced within the range, in catalogue order. A counting pass sizes the result, so
+     * the collecting pass can store every position unconditionally and advance only past the matching ones.
+     */
+    int[] findByPriceRange(BigDecimal minInclusive, BigDecimal maxInclusive) {
+        var min = lowerCents(minInclusive);
+        var max = upperCents(maxInclusive);
+        var positions = new int[countByPriceRange(minInclusive, maxInclusive)];
+        var count = 0;
+        for (int position = 0; count < positions.length; position++) {
+            positions[count] = position;
+            count += isInRange(priceCents[position], min, max);
+        }
+        return positions;
+    }
+
+    /**
+     * Counts the items rated within the range.
+     */
+    int countByStarRatingRange(int minInclusive, int maxInclusive) {
+        var count = 0;
+        for (var rating : ratings) {
+            count += isInRange(rating, minInclusive, maxInclusive);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the positions of items rated within the range, in catalogue order.
+     */
+    int[] findByStarRatingRange(int minInclusive, int maxInclusive) {
+        var positions = new int[countByStarRatingRange(minInclusive, maxInclusive)];
+        var count = 0;
+        for (int position = 0; count < positions.length; position++) {
+            positions[count] = position;
+            count += isInRange(ratings[position], minInclusive, maxInclusive);
+        }
+        return positions;
+    }
+
+    private void insert(int position) {
+        var mask = positionTable.length - 1;
+        var slot = hash(idMsbs[position], idLsbs[position]) & mask;
+        while (positionTable[slot] != 0) {
+            var other = positionTable[slot] - 1;
+            if (idMsbs[other] == idMsbs[position] && idLsbs[other] == idLsbs[position]) {
+                throw new IllegalArgumentException("Duplicate inventory item id.");
+            }
+            slot = (slot + 1) & mask;
+        }
+        positionTable[slot] = position + 1;
+    }
+
+    private static long toCents(Money price) {
+        if (price.getCents() < -MAX_CENTS || price.getCents() > MAX_CENTS) {
+            throw new IllegalArgumentException("Price is too large: " + price);
+        }
+        return price.getCents();
+    }
+
+    private static long lowerCents(BigDecimal minInclusive) {
+        return minInclusive == null ? -MAX_CENTS : Math.max(-MAX_CENTS, Money.ceilingCents(minInclusive));
+    }
+
+    private static long upperCents(BigDecimal maxInclusive) {
+        return maxInclusive == null ? MAX_CENTS : Math.min(MAX_CENTS, Money.floorCents(maxInclusive));
+    }
+
+    /**
+     * Returns 1 when {@code min <= value <= max} and 0 otherwise, without branching: either difference is negative
+     * exactly when the value is out of range. Every argument is within {@code MAX_CENTS}, so neither overflows.
+     */
+    private static int isInRange(long value, long min, long max) {
+        return 1 + (int) (((value - min) | (max - value)) >> 63);
+    }
+
+    private static int isInStock(int quantity) {
+        return (int) (-(long) quantity >>> 63);
+    }
+
+    private static int hash(long idMsb, long idLsb) {
+        var h = idMsb ^ idLsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
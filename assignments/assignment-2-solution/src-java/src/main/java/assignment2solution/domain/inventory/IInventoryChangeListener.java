@@ -0,0 +1,17 @@
+package assignment2solution.domain.inventory;
+
+/**
+ * Receives a notification each time an {@link InventoryRepository} publishes a changed item.
+ */
+@FunctionalInterface
+public interface IInventoryChangeListener {
+    /**
+     * Called after a new catalogue version is published. Notifications for concurrent updates may arrive on
+     * different threads and, for different versions, in any order.
+     *
+     * @param snapshot The version that contains the change.
+     * @param previous The item before the change.
+     * @param current  The item after the change.
+     */
+    void onItemChanged(InventorySnapshot snapshot, InventoryItem previous, InventoryItem current);
+}
@@ -0,0 +1,80 @@
+package assignment2solution.domain.inventory;
+
+import java.util.UUID;
+
+/**
+ * The storage behind an {@link InventoryRepository}: a fixed catalogue of items addressed by position.
+ * The repository reads items on demand and reports every published quantity change so that the store can make it
+ * durable. Implementations must be safe for concurrent use.
+ */
+public interface IInventoryStore {
+    /**
+     * Gets the number of items in the catalogue.
+     */
+    int size();
+
+    /**
+     * Reads the item at a position as it was when the store was opened.
+     */
+    InventoryItem read(int position);
+
+    /**
+     * Finds the position of an item.
+     *
+     * @return the position, or -1 when the item is not in the catalogue.
+     */
+    int findPosition(UUID inventoryItemId);
+
+    /**
+     * Records a published quantity change. Changes to the same item can be reported out of order by concurrent
+     * writers; the one with the highest version is the latest.
+     *
+     * @param version  The catalogue version that contains the change.
+     * @param position The position of the changed item.
+     * @param quantity The item's new quantity.
+     */
+    void recordQuantityChange(long version, int position, int quantity);
+
+    /**
+     * Records the changes published together in one version. Stores that can make a batch durable at once, so that
+     * after a crash either all of it or none of it is recovered, should override this.
+     *
+     * @param version    The catalogue version that contains the changes.
+     * @param positions  The positions of the changed items.
+     * @param quantities The items' new quantities.
+     */
+    default void recordQuantityChanges(long version, int[] positions, int[] quantities) {
+        for (int i = 0; i < positions.length; i++) {
+            recordQuantityChange(version, positions[i], quantities[i]);
+        }
+    }
+
+    /**
+     * Counts the in-stock items at positions {@code from} (inclusive) to {@code to} (exclusive), as they were when
+     * the store was opened. Stores that can read quantities without building whole items should override this.
+     */
+    default int countInStock(int from, int to) {
+        var count = 0;
+        for (int position = from; position < to; position++) {
+            if (read(position).isAvailable()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the positions from {@code from} (inclusive) to {@code to} (exclusive) whose items are (or are not) in
+     * stock into {@code positions}, starting at index {@code count}.
+     *
+     * @return the new count.
+     */
+    default int collectByAvailability(int from, int to, boolean isAvailable, int[] positions, int count) {
+        for (int position = from; position < to; position++) {
+            if (read(position).isAvailable() == isAvailable) {
+                positions[count++] = position;
+            }
+        }
+        return count;
+    }
+}
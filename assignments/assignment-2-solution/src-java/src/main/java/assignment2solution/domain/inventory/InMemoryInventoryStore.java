@@ -0,0 +1,46 @@
+package assignment2solution.domain.inventory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A store that keeps the initial catalogue in memory and discards quantity changes.
+ */
+final class InMemoryInventoryStore implements IInventoryStore {
+    private final List<InventoryItem> items;
+    private final Map<UUID, Integer> positions;
+
+    InMemoryInventoryStore(Collection<InventoryItem> items) {
+        this.items = List.copyOf(items);
+        this.positions = new HashMap<>(this.items.size() * 2);
+        for (int i = 0; i < this.items.size(); i++) {
+            if (positions.put(this.items.get(i).getInventoryItemId(), i) != null) {
+                throw new IllegalArgumentException("Duplicate inventory item id: "
+                    + this.items.get(i).getInventoryItemId() + ".");
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public InventoryItem read(int position) {
+        return items.get(position);
+    }
+
+    @Override
+    public int findPosition(UUID inventoryItemId) {
+        return positions.getOrDefault(inventoryItemId, -1);
+    }
+
+    @Override
+    public void recordQuantityChange(long version, int position, int quantity) {
+        // nothing to persist
+    }
+}
@@ -0,0 +1,310 @@
+package assignment2solution.domain.inventory;
+
+import assignment2solution.domain.money.Money;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Price, star rating and name indexes over the positions of items in an {@link IInventoryStore}.
+ * None of these attributes changes after an item is added, so each index is built once, the first time it is used, and
+ * shared by every {@link InventorySnapshot}; availability changes with quantity and is tracked by each snapshot's
+ * item tree.
+ *
+ * <p>A {@link ColumnarInventoryStore} needs neither index: its price and rating columns are scanned directly,
+ * which is fast enough that building and holding the sorted copies would not pay off.
+ */
+final class InventoryIndex {
+    private static final int MIN_RATING = 1;
+    private static final int MAX_RATING = 5;
+
+    private final IInventoryStore store;
+    private final ColumnarInventoryStore columns;
+    private final int size;
+    private final Map<String, int[]> positionsByOrdering = new ConcurrentHashMap<>();
+    private volatile int[] positionsByPrice;
+    private volatile long[] sortedCents;
+    private volatile int[][] positionsByRating;
+    private volatile InventoryNameIndex nameIndex;
+
+    /**
+     * Initializes the indexes for the items in a store without reading any of them.
+     */
+    InventoryIndex(IInventoryStore store) {
+        this.store = store;
+        this.columns = store instanceof ColumnarInventoryStore ? (ColumnarInventoryStore) store : null;
+        this.size = store.size();
+    }
+
+    /**
+     * Finds the positions of items priced within the range, in catalogue order.
+     *
+     * @param minInclusive The lowest price, or null for no lower bound.
+     * @param maxInclusive The highest price, or null for no upper bound.
+     */
+    int[] findByPriceRange(BigDecimal minInclusive, BigDecimal maxInclusive) {
+        if (columns != null) {
+            return columns.findByPriceRange(minInclusive, maxInclusive);
+        }
+
+        var from = minInclusive == null ? 0 : firstPriceAtLeast(Money.ceilingCents(minInclusive));
+        var to = maxInclusive == null ? size : firstPriceAbove(Money.floorCents(maxInclusive));
+        if (from >= to) {
+            return new int[0];
+        }
+
+        var positions = Arrays.copyOfRange(getPositionsByPrice(), from, to);
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    /**
+     * Counts the items priced within the range.
+     */
+    int countByPriceRange(BigDecimal minInclusive, BigDecimal maxInclusive) {
+        if (columns != null) {
+            return columns.countByPriceRange(minInclusive, maxInclusive);
+        }
+
+        var from = minInclusive == null ? 0 : firstPriceAtLeast(Money.ceilingCents(minInclusive));
+        var to = maxInclusive == null ? size : firstPriceAbove(Money.floorCents(maxInclusive));
+        return Math.max(0, to - from);
+    }
+
+    /**
+     * Finds the positions of items rated within the range, in catalogue order.
+     */
+    int[] findByStarRatingRange(int minInclusive, int maxInclusive) {
+        if (columns != null) {
+            return columns.findByStarRatingRange(minInclusive, maxInclusive);
+        }
+
+        var positionsByRating = getPositionsByRating();
+        var from = Math.max(minInclusive, MIN_RATING);
+        var to = Math.min(maxInclusive, MAX_RATING);
+        if (from == to) {
+            return positionsByRating[from].clone();
+        }
+
+        var count = 0;
+        for (int rating = from; rating <= to; rating++) {
+            count += positionsByRating[rating].length;
+        }
+        var positions = new int[count];
+        var offset = 0;
+        for (int rating = from; rating <= to; rating++) {
+            System.arraycopy(positionsByRating[rating], 0, positions, offset, positionsByRating[rating].length);
+            offset += positionsByRating[rating].length;
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    /**
+     * Counts the items rated within the range.
+     */
+    int countByStarRatingRange(int minInclusive, int maxInclusive) {
+        if (columns != null) {
+            return columns.countByStarRatingRange(minInclusive, maxInclusive);
+        }
+
+        var positionsByRating = getPositionsByRating();
+        var count = 0;
+        for (int rating = Math.max(minInclusive, MIN_RATING); rating <= Math.min(maxInclusive, MAX_RATING); rating++) {
+            count += positionsByRating[rating].length;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the positions of items whose names match a search, in catalogue order.
+     */
+    int[] findByName(NameSearch search) {
+        return getNameIndex().find(search);
+    }
+
+    /**
+     * Estimates an upper bound on the number of items whose names match a search, without checking any name.
+     */
+    int estimateCountByName(NameSearch search) {
+        return getNameIndex().estimate(search);
+    }
+
+    /**
+     * Gets every position sorted by an ordering, building and keeping the array the first time it is requested.
+     *
+     * @param ordering The ordering, which only reads attributes that never change.
+     */
+    int[] getPositionsByOrdering(InventoryOrdering ordering) {
+        var key = ordering.getKey();
+        var positions = positionsByOrdering.get(key);
+        if (positions != null) {
+            return positions;
+        }
+
+        // built outside the map so a long sort never blocks other lookups; a racing build is simply discarded
+        var built = buildPositionsByOrdering(ordering);
+        var existing = positionsByOrdering.putIfAbsent(key, built);
+        return existing != null ? existing : built;
+    }
+
+    /**
+     * Sorts every position by an ordering, reading each item from the store once; equal items keep catalogue order.
+     */
+    private int[] buildPositionsByOrdering(InventoryOrdering ordering) {
+        var items = new PositionedItem[size];
+        for (int position = 0; position < size; position++) {
+            items[position] = new PositionedItem(position, store.read(position));
+        }
+        var comparator = ordering.getComparator();
+        Arrays.sort(items, (left, right) -> comparator.compare(left.item(), right.item()));
+
+        var positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = items[i].position();
+        }
+        return positions;
+    }
+
+    private int[] getPositionsByPrice() {
+        var positions = positionsByPrice;
+        if (positions == null) {
+            buildPriceIndex();
+            positions = positionsByPrice;
+        }
+        return positions;
+    }
+
+    private long[] getSortedCents() {
+        var cents = sortedCents;
+        if (cents == null) {
+            buildPriceIndex();
+            cents = sortedCents;
+        }
+        return cents;
+    }
+
+    private synchronized void buildPriceIndex() {
+        if (sortedCents != null) {
+            return;
+        }
+
+        var cents = new long[size];
+        var fitsInInt = true;
+        for (int position = 0; position < size; position++) {
+            cents[position] = store.read(position).getUnitPrice().getCents();
+            fitsInInt &= cents[position] >= 0 && cents[position] <= Integer.MAX_VALUE;
+        }
+        int[] positions;
+        if (fitsInInt) {
+            // pack (price, position) into one long so a primitive sort orders by price, then position
+            var packed = new long[size];
+            for (int position = 0; position < size; position++) {
+                packed[position] = cents[position] << Integer.SIZE | position;
+            }
+            Arrays.sort(packed);
+            positions = new int[size];
+            for (int i = 0; i < size; i++) {
+                positions[i] = (int) packed[i];
+            }
+        } else {
+            positions = IntStream.range(0, size)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer position) -> cents[position])
+                    .thenComparingInt(position -> position))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        }
+        var sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = cents[positions[i]];
+        }
+
+        positionsByPrice = positions;
+        sortedCents = sorted;
+    }
+
+    private int[][] getPositionsByRating() {
+        var buckets = positionsByRating;
+        if (buckets == null) {
+            buckets = buildRatingIndex();
+        }
+        return buckets;
+    }
+
+    private synchronized int[][] buildRatingIndex() {
+        if (positionsByRating != null) {
+            return positionsByRating;
+        }
+
+        var ratings = new byte[size];
+        var bucketSizes = new int[MAX_RATING + 1];
+        for (int position = 0; position < size; position++) {
+            ratings[position] = (byte) store.read(position).getStarRating().getRating();
+            bucketSizes[ratings[position]]++;
+        }
+        var buckets = new int[MAX_RATING + 1][];
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            buckets[rating] = new int[bucketSizes[rating]];
+        }
+        var bucketFill = new int[MAX_RATING + 1];
+        for (int position = 0; position < size; position++) {
+            buckets[ratings[position]][bucketFill[ratings[position]]++] = position;
+        }
+
+        positionsByRating = buckets;
+        return buckets;
+    }
+
+    private InventoryNameIndex getNameIndex() {
+        var index = nameIndex;
+        if (index == null) {
+            index = buildNameIndex();
+        }
+        return index;
+    }
+
+    private synchronized InventoryNameIndex buildNameIndex() {
+        if (nameIndex == null) {
+            nameIndex = InventoryNameIndex.of(store);
+        }
+        return nameIndex;
+    }
+
+    private int firstPriceAtLeast(long cents) {
+        var sortedCents = getSortedCents();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedCents[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int firstPriceAbove(long cents) {
+        var sortedCents = getSortedCents();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedCents[mid] <= cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record PositionedItem(int position, InventoryItem item) {
+    }
+}
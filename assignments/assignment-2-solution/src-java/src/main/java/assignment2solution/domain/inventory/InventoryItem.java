@@ -1,5 +1,7 @@
 package assignment2solution.domain.inventory;
 
+import assignment2solution.domain.money.Money;
+
 import java.math.BigDecimal;
 import java.util.Objects;
 import java.util.UUID;
@@ -10,14 +12,25 @@ import java.util.UUID;
 public class InventoryItem {
     private final UUID inventoryItemId;
     private final String name;
-    private final BigDecimal price;
+    private final Money price;
+    private BigDecimal decimalPrice;
     private final int quantity;
     private final StarRating starRating;
 
     /**
      * Initializes a new instance of the {@link InventoryItem} class.
+     *
+     * @throws IllegalArgumentException when the price is not a whole number of cents.
      */
     public InventoryItem(UUID inventoryItemId, String name, BigDecimal price, int quantity, StarRating starRating) {
+        this(inventoryItemId, name, Money.of(Objects.requireNonNull(price, "price")), quantity, starRating);
+        this.decimalPrice = price;
+    }
+
+    /**
+     * Initializes a new instance of the {@link InventoryItem} class.
+     */
+    public InventoryItem(UUID inventoryItemId, String name, Money price, int quantity, StarRating starRating) {
         this.inventoryItemId = Objects.requireNonNull(inventoryItemId, "inventoryItemId");
         this.name = Objects.requireNonNull(name, "name");
         this.price = Objects.requireNonNull(price, "price");
@@ -33,7 +46,23 @@ public class InventoryItem {
         return name;
     }
 
+    /**
+     * Gets the price as a decimal, exactly as it was given (or with two fraction digits when given as {@link Money}).
+     */
     public BigDecimal getPrice() {
+        var decimal = decimalPrice;
+        if (decimal == null) {
+            // benign race: every thread computes an equal value
+            decimal = price.toBigDecimal();
+            decimalPrice = decimal;
+        }
+        return decimal;
+    }
+
+    /**
+     * Gets the price of one unit.
+     */
+    public Money getUnitPrice() {
         return price;
     }
 
@@ -55,7 +84,14 @@ public class InventoryItem {
     /**
      * Gets the total value of the inventory for this item.
      */
+    public Money getTotalAmount() {
+        return price.multiply(quantity);
+    }
+
+    /**
+     * Gets the total value of the inventory for this item as a decimal with two fraction digits.
+     */
     public BigDecimal getTotalPrice() {
-        return price.multiply(BigDecimal.valueOf(quantity));
+        return getTotalAmount().toBigDecimal();
     }
 }
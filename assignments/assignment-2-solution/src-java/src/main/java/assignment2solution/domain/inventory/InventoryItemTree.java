@@ -0,0 +1,184 @@
+package assignment2solution.domain.inventory;
+
+/**
+ * Persistent (immutable, structure-sharing) array of inventory items over an {@link IInventoryStore}.
+ * Items sit in the leaves of a 32-way tree; replacing one item copies only the nodes on its path, so a new version
+ * costs a few small array copies and shares everything else with the version it came from.
+ *
+ * <p>A node that has never been changed has no slots and reads its items straight from the store, so a new tree is
+ * a single node and nothing is loaded until it is needed. Each changed leaf keeps a bitmask of its in-stock items
+ * and each node caches its in-stock count once computed, which lets availability queries skip whole subtrees that
+ * cannot contain a match.
+ */
+final class InventoryItemTree {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private final IInventoryStore store;
+    private final Node root;
+    private final int shift;
+
+    private InventoryItemTree(IInventoryStore store, Node root, int shift) {
+        this.store = store;
+        this.root = root;
+        this.shift = shift;
+    }
+
+    /**
+     * Creates a tree that reads every item from the store.
+     */
+    static InventoryItemTree of(IInventoryStore store) {
+        var shift = 0;
+        while ((long) WIDTH << shift < store.size()) {
+            shift += BITS;
+        }
+        return new InventoryItemTree(store, Node.unchanged(0, store.size()), shift);
+    }
+
+    int size() {
+        return root.size;
+    }
+
+    InventoryItem get(int position) {
+        var node = root;
+        for (int level = shift; level > 0 && node.slots != null; level -= BITS) {
+            node = (Node) node.slots[(position >>> level) & MASK];
+        }
+        return node.slots == null ? store.read(position) : (InventoryItem) node.slots[position & MASK];
+    }
+
+    /**
+     * Returns a new tree with the item at a position replaced.
+     */
+    InventoryItemTree with(int position, InventoryItem item) {
+        return new InventoryItemTree(store, with(root, shift, position, item), shift);
+    }
+
+    int countByAvailability(boolean isAvailable) {
+        var inStock = inStockCount(root, shift);
+        return isAvailable ? inStock : root.size - inStock;
+    }
+
+    /**
+     * Finds the positions of items that are (or are not) in stock, in catalogue order.
+     */
+    int[] findByAvailability(boolean isAvailable) {
+        var positions = new int[countByAvailability(isAvailable)];
+        collect(root, shift, isAvailable, positions, 0);
+        return positions;
+    }
+
+    private Node with(Node node, int level, int position, InventoryItem item) {
+        if (level == 0) {
+            var slots = node.slots != null ? node.slots.clone() : readItems(node);
+            slots[position & MASK] = item;
+            return Node.leaf(node.offset, slots);
+        }
+
+        var slots = node.slots != null ? node.slots.clone() : splitUnchanged(node, level);
+        var child = (position >>> level) & MASK;
+        slots[child] = with((Node) slots[child], level - BITS, position, item);
+        return Node.branch(node.offset, slots);
+    }
+
+    private Object[] readItems(Node node) {
+        var items = new Object[node.size];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = store.read(node.offset + i);
+        }
+        return items;
+    }
+
+    private static Object[] splitUnchanged(Node node, int level) {
+        var childCapacity = 1 << level;
+        var children = new Object[(node.size + childCapacity - 1) / childCapacity];
+        for (int i = 0; i < children.length; i++) {
+            var offset = node.offset + i * childCapacity;
+            children[i] = Node.unchanged(offset, Math.min(childCapacity, node.offset + node.size - offset));
+        }
+        return children;
+    }
+
+    private int inStockCount(Node node, int level) {
+        var count = node.inStockCount;
+        if (count >= 0) {
+            return count;
+        }
+
+        count = 0;
+        if (node.slots == null) {
+            count = store.countInStock(node.offset, node.offset + node.size);
+        } else {
+            for (var child : node.slots) {
+                count += inStockCount((Node) child, level - BITS);
+            }
+        }
+        // benign race: every thread computes the same value for an immutable node
+        node.inStockCount = count;
+        return count;
+    }
+
+    private int collect(Node node, int level, boolean isAvailable, int[] positions, int count) {
+        var inStock = inStockCount(node, level);
+        if ((isAvailable ? inStock : node.size - inStock) == 0) {
+            return count;
+        }
+
+        if (node.slots == null) {
+            return store.collectByAvailability(node.offset, node.offset + node.size, isAvailable, positions, count);
+        }
+
+        if (level == 0) {
+            var bits = isAvailable ? node.inStockMask : ~node.inStockMask & (int) ((1L << node.size) - 1);
+            while (bits != 0) {
+                positions[count++] = node.offset + Integer.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+            return count;
+        }
+
+        for (var child : node.slots) {
+            count = collect((Node) child, level - BITS, isAvailable, positions, count);
+        }
+        return count;
+    }
+
+    private static final class Node {
+        private final int offset;
+        private final int size;
+        private final Object[] slots;
+        private final int inStockMask;
+        private int inStockCount;
+
+        private Node(int offset, int size, Object[] slots, int inStockMask, int inStockCount) {
+            this.offset = offset;
+            this.size = size;
+            this.slots = slots;
+            this.inStockMask = inStockMask;
+            this.inStockCount = inStockCount;
+        }
+
+        private static Node unchanged(int offset, int size) {
+            return new Node(offset, size, null, 0, -1);
+        }
+
+        private static Node leaf(int offset, Object[] items) {
+            var mask = 0;
+            for (int i = 0; i < items.length; i++) {
+                if (((InventoryItem) items[i]).isAvailable()) {
+                    mask |= 1 << i;
+                }
+            }
+            return new Node(offset, items.length, items, mask, Integer.bitCount(mask));
+        }
+
+        private static Node branch(int offset, Object[] children) {
+            var size = 0;
+            for (var child : children) {
+                size += ((Node) child).size;
+            }
+            return new Node(offset, size, children, 0, -1);
+        }
+    }
+}
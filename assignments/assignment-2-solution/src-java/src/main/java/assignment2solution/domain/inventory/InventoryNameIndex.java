@@ -0,0 +1,240 @@
+package assignment2solution.domain.inventory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An inverted index from every two- and three-character run (bigram and trigram) of the normalized item names to
+ * the positions of the items whose names contain it.
+ *
+ * <p>A verbatim search intersects the posting lists of the text's trigrams and checks the few remaining names; a
+ * two-character text is answered by its bigram list alone. A fuzzy search splits the text into {@code 2k + 1}
+ * pieces for {@code k} allowed edits: one edit changes at most two adjacent characters, so at most {@code 2k}
+ * pieces can be damaged and every match contains at least one piece verbatim. {@link NameSearch} allows one edit
+ * from six characters and two from ten, so every piece has at least two characters and can be looked up. The names
+ * containing any piece are then checked with {@link NameSearch#matchesNormalized(String)}, so index and scan always
+ * agree.
+ */
+final class InventoryNameIndex {
+    private static final long BIGRAM_TAG = 1L << 48;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private String[] names;
+    private int size;
+
+    InventoryNameIndex(int capacity) {
+        this.names = new String[capacity];
+    }
+
+    /**
+     * Builds the index over every item name in a store.
+     */
+    static InventoryNameIndex of(IInventoryStore store) {
+        var index = new InventoryNameIndex(store.size());
+        for (int position = 0; position < store.size(); position++) {
+            index.add(position, store.read(position).getName());
+        }
+        return index;
+    }
+
+    /**
+     * Adds the name of the item at the next position; positions must be added in increasing order.
+     */
+    void add(int position, String name) {
+        if (position != size) {
+            throw new IllegalArgumentException("Names must be added in position order.");
+        }
+        if (size == names.length) {
+            names = Arrays.copyOf(names, Math.max(16, size * 2));
+        }
+        var normalized = NameSearch.normalize(name);
+        names[size++] = normalized;
+        for (int i = 0; i + 2 <= normalized.length(); i++) {
+            postings.computeIfAbsent(bigram(normalized, i), key -> new PostingList()).add(position);
+            if (i + 3 <= normalized.length()) {
+                postings.computeIfAbsent(trigram(normalized, i), key -> new PostingList()).add(position);
+            }
+        }
+    }
+
+    /**
+     * Finds the positions of items whose names match, in catalogue order.
+     */
+    int[] find(NameSearch search) {
+        var text = search.getNormalizedText();
+        if (search.getMaxEdits() == 0 && text.length() == 2) {
+            // every name in a bigram's list contains it, so there is nothing to check
+            return findContaining(text);
+        }
+
+        var candidates = search.getMaxEdits() == 0 ? findContaining(text) : findFuzzyCandidates(search);
+        if (candidates == null) {
+            return scan(search);
+        }
+        var count = 0;
+        for (var position : candidates) {
+            if (search.matchesNormalized(names[position])) {
+                candidates[count++] = position;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    /**
+     * Estimates, without checking any name, an upper bound on the number of matches.
+     */
+    int estimate(NameSearch search) {
+        var text = search.getNormalizedText();
+        if (search.getMaxEdits() == 0) {
+            if (text.length() < 2) {
+                return size;
+            }
+            var smallest = size;
+            for (int i = 0; i + Math.min(3, text.length()) <= text.length(); i++) {
+                var list = postings.get(text.length() == 2 ? bigram(text, i) : trigram(text, i));
+                smallest = Math.min(smallest, list == null ? 0 : list.size);
+            }
+            return smallest;
+        }
+
+        var total = 0L;
+        for (var piece : split(text, 2 * search.getMaxEdits() + 1)) {
+            if (piece.length() < 2) {
+                return size;
+            }
+            total += estimate(NameSearch.contains(piece));
+        }
+        return (int) Math.min(size, total);
+    }
+
+    /**
+     * Finds a superset of the positions whose names contain the text, or null when the text is too short to use
+     * the index.
+     */
+    private int[] findContaining(String text) {
+        if (text.length() < 2) {
+            return null;
+        }
+        if (text.length() == 2) {
+            var list = postings.get(bigram(text, 0));
+            return list == null ? new int[0] : Arrays.copyOf(list.positions, list.size);
+        }
+
+        var lists = new PostingList[text.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(trigram(text, i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        var result = Arrays.copyOf(lists[0].positions, lists[0].size);
+        var count = result.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            count = intersect(result, count, lists[i]);
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private int[] findFuzzyCandidates(NameSearch search) {
+        var pieces = split(search.getNormalizedText(), 2 * search.getMaxEdits() + 1);
+        var union = new int[0];
+        for (var piece : pieces) {
+            var found = findContaining(piece);
+            if (found == null) {
+                return null;
+            }
+            union = union(union, found);
+        }
+        return union;
+    }
+
+    private int[] scan(NameSearch search) {
+        var positions = new int[size];
+        var count = 0;
+        for (int position = 0; position < size; position++) {
+            if (search.matchesNormalized(names[position])) {
+                positions[count++] = position;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * Keeps the first {@code count} positions that also appear in the list, stepping through the longer list with
+     * a binary search (galloping) so the cost follows the shorter list.
+     */
+    private static int intersect(int[] positions, int count, PostingList list) {
+        var kept = 0;
+        var from = 0;
+        for (int i = 0; i < count && from < list.size; i++) {
+            var found = Arrays.binarySearch(list.positions, from, list.size, positions[i]);
+            if (found >= 0) {
+                positions[kept++] = positions[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        var merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j == b.length || (i < a.length && a[i] <= b[j])) {
+                next = a[i++];
+            } else {
+                next = b[j++];
+            }
+            if (count == 0 || merged[count - 1] != next) {
+                merged[count++] = next;
+            }
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    /**
+     * Splits a text into the given number of pieces whose lengths differ by at most one.
+     */
+    private static String[] split(String text, int pieceCount) {
+        var pieces = new String[pieceCount];
+        for (int i = 0; i < pieceCount; i++) {
+            pieces[i] = text.substring(i * text.length() / pieceCount, (i + 1) * text.length() / pieceCount);
+        }
+        return pieces;
+    }
+
+    private static long bigram(String text, int offset) {
+        return BIGRAM_TAG | (long) text.charAt(offset) << 16 | text.charAt(offset + 1);
+    }
+
+    private static long trigram(String text, int offset) {
+        return (long) text.charAt(offset) << 32 | (long) text.charAt(offset + 1) << 16 | text.charAt(offset + 2);
+    }
+
+    /**
+     * A growable, ascending array of positions.
+     */
+    private static final class PostingList {
+        private int[] positions = new int[2];
+        private int size;
+
+        private void add(int position) {
+            // a name containing the same gram twice is listed once
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+}
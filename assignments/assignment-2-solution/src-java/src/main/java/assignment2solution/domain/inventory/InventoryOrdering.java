@@ -0,0 +1,40 @@
+package assignment2solution.domain.inventory;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * A total order over catalogue items: a sort-key comparator with ties broken by {@code inventoryItemId}.
+ * The sort key must only read attributes that never change (price, star rating, name), so that a catalogue
+ * sorted by it once stays sorted in every later version.
+ */
+public final class InventoryOrdering {
+    private final String key;
+    private final Comparator<InventoryItem> comparator;
+
+    /**
+     * Initializes a new instance of the {@link InventoryOrdering} class.
+     *
+     * @param key               A string that identifies the sort key; equal keys must mean equal comparators.
+     * @param sortKeyComparator The comparator over the sort key, or null to order by id alone.
+     */
+    public InventoryOrdering(String key, Comparator<InventoryItem> sortKeyComparator) {
+        this.key = Objects.requireNonNull(key, "key");
+        Comparator<InventoryItem> byId = Comparator.comparing(InventoryItem::getInventoryItemId);
+        this.comparator = sortKeyComparator == null ? byId : sortKeyComparator.thenComparing(byId);
+    }
+
+    /**
+     * Gets the string that identifies this ordering.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the total-order comparator, including the id tie-break.
+     */
+    public Comparator<InventoryItem> getComparator() {
+        return comparator;
+    }
+}
@@ -1,22 +1,30 @@
 package assignment2solution.domain.inventory;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A very simple repository for managing the tea shop inventory.
+ * The catalogue is a chain of immutable {@link InventorySnapshot} versions. Readers pin the current version
+ * without locking; writers build the next version and publish it with a single compare-and-set.
  */
 public final class InventoryRepository {
-    private final List<InventoryItem> items;
+    private final AtomicReference<InventorySnapshot> current;
+    private final IInventoryStore store;
+    private final List<IInventoryChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final AtomicReference<RuntimeException> storeFailure = new AtomicReference<>();
 
     /**
      * Initializes a new instance of the {@link InventoryRepository} class with default items.
      */
     public InventoryRepository() {
-        items = new ArrayList<>(List.of(
+        this(List.of(
             new InventoryItem(UUID.randomUUID(), "Green Tea", new BigDecimal("15.99"), 50, new StarRating(4)),
             new InventoryItem(UUID.randomUUID(), "Black Tea", new BigDecimal("12.49"), 75, new StarRating(5)),
             new InventoryItem(UUID.randomUUID(), "Herbal Tea", new BigDecimal("14.29"), 30, new StarRating(3)),
@@ -71,10 +79,47 @@ public final class InventoryRepository {
     }
 
     /**
-     * Gets all inventory items.
+     * Initializes a new instance of the {@link InventoryRepository} class with the given items.
+     *
+     * @param items The items to manage, in catalogue order.
+     */
+    public InventoryRepository(Collection<InventoryItem> items) {
+        this(new InMemoryInventoryStore(Objects.requireNonNull(items, "items")));
+    }
+
+    /**
+     * Initializes a new instance of the {@link InventoryRepository} class over a store.
+     * Nothing is read from the store until a query or update needs it.
+     *
+     * @param store The store that holds the catalogue and records quantity changes.
+     */
+    public InventoryRepository(IInventoryStore store) {
+        this.store = Objects.requireNonNull(store, "store");
+        this.current = new AtomicReference<>(
+            new InventorySnapshot(0, InventoryItemTree.of(store), new InventoryIndex(store)));
+    }
+
+    /**
+     * Gets the current catalogue version. It never changes, so a query can read it as often as it likes.
+     */
+    public InventorySnapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Gets all inventory items as of the current version.
      */
     public List<InventoryItem> get() {
-        return Collections.unmodifiableList(items);
+        return snapshot().getItems();
+    }
+
+    /**
+     * Gets a specific inventory item as of the current version.
+     *
+     * @throws IllegalArgumentException when the item is not found.
+     */
+    public InventoryItem get(UUID inventoryItemId) {
+        return snapshot().get(findPosition(inventoryItemId));
     }
 
     /**
@@ -86,32 +131,139 @@ public final class InventoryRepository {
      * @throws IllegalStateException    when the resulting quantity would be negative.
      */
     public void updateQuantity(UUID inventoryItemId, int quantityChange) {
-        int index = -1;
-        for (int i = 0; i < items.size(); i++) {
-            if (items.get(i).getInventoryItemId().equals(inventoryItemId)) {
-                index = i;
-                break;
-            }
-        }
+        apply(new int[] {findPosition(inventoryItemId)}, new int[] {quantityChange});
+    }
 
-        if (index == -1) {
-            throw new IllegalArgumentException("Item not found");
+    /**
+     * Updates the quantities of several items as one transaction: either every change is published in a single new
+     * version, or, when any resulting quantity would be negative, none is. The whole batch costs one compare-and-set
+     * and one store write however many items it changes, and no lock is held, so concurrent batches cannot deadlock.
+     *
+     * @param quantityChanges The amount to change each item's quantity by, keyed by item id.
+     * @throws IllegalArgumentException when an item is not found.
+     * @throws IllegalStateException    when a resulting quantity would be negative.
+     */
+    public void updateQuantities(Map<UUID, Integer> quantityChanges) {
+        Objects.requireNonNull(quantityChanges, "quantityChanges");
+        var positions = new int[quantityChanges.size()];
+        var changes = new int[quantityChanges.size()];
+        var count = 0;
+        for (var entry : quantityChanges.entrySet()) {
+            positions[count] = findPosition(entry.getKey());
+            changes[count++] = Objects.requireNonNull(entry.getValue(), "quantityChange");
         }
+        apply(positions, changes);
+    }
+
+    /**
+     * Registers a listener that is notified after each published change.
+     */
+    public void addChangeListener(IInventoryChangeListener listener) {
+        changeListeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * Removes a previously registered change listener.
+     */
+    public void removeChangeListener(IInventoryChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Finds the items priced within a range in the current version.
+     *
+     * @see InventorySnapshot#findByPriceRange(BigDecimal, BigDecimal)
+     */
+    public List<InventoryItem> findByPriceRange(BigDecimal minInclusive, BigDecimal maxInclusive) {
+        return snapshot().findByPriceRange(minInclusive, maxInclusive);
+    }
+
+    /**
+     * Finds the items rated within a range in the current version.
+     *
+     * @see InventorySnapshot#findByStarRatingRange(Integer, Integer)
+     */
+    public List<InventoryItem> findByStarRatingRange(Integer minInclusive, Integer maxInclusive) {
+        return snapshot().findByStarRatingRange(minInclusive, maxInclusive);
+    }
+
+    /**
+     * Finds the items that are (or are not) in stock in the current version.
+     *
+     * @see InventorySnapshot#findByAvailability(boolean)
+     */
+    public List<InventoryItem> findByAvailability(boolean isAvailable) {
+        return snapshot().findByAvailability(isAvailable);
+    }
 
-        var current = items.get(index);
-        var newQuantity = current.getQuantity() + quantityChange;
+    /**
+     * Counts the items {@link #findByAvailability(boolean)} would return.
+     */
+    public int countByAvailability(boolean isAvailable) {
+        return snapshot().countByAvailability(isAvailable);
+    }
+
+    /**
+     * Gets the first error the store raised while recording a published quantity change, or null when there has been
+     * none. The change stayed published, so it is visible to readers but may not survive a crash.
+     */
+    public RuntimeException getStoreFailure() {
+        return storeFailure.get();
+    }
+
+    private void apply(int[] positions, int[] changes) {
+        var previous = new InventoryItem[positions.length];
+        var updated = new InventoryItem[positions.length];
+        var quantities = new int[positions.length];
+
+        while (true) {
+            var snapshot = current.get();
+            for (int i = 0; i < positions.length; i++) {
+                var item = snapshot.get(positions[i]);
+                var newQuantity = item.getQuantity() + changes[i];
 
-        // invariant: quantity cannot be negative
-        if (newQuantity < 0) {
-            throw new IllegalStateException("Insufficient inventory.");
+                // invariant: quantity cannot be negative
+                if (newQuantity < 0) {
+                    throw new IllegalStateException(positions.length == 1
+                        ? "Insufficient inventory."
+                        : "Insufficient inventory of " + item.getName() + ".");
+                }
+
+                previous[i] = item;
+                quantities[i] = newQuantity;
+                updated[i] = new InventoryItem(
+                    item.getInventoryItemId(),
+                    item.getName(),
+                    item.getUnitPrice(),
+                    newQuantity,
+                    item.getStarRating()
+                );
+            }
+
+            var next = snapshot.withItems(positions, updated);
+            if (current.compareAndSet(snapshot, next)) {
+                try {
+                    store.recordQuantityChanges(next.getVersion(), positions, quantities);
+                } catch (RuntimeException ex) {
+                    // readers can already see the change, so it must not be reported as a failed update, and the
+                    // listeners below must still hear about it
+                    storeFailure.compareAndSet(null, ex);
+                }
+                for (var listener : changeListeners) {
+                    for (int i = 0; i < positions.length; i++) {
+                        listener.onItemChanged(next, previous[i], updated[i]);
+                    }
+                }
+                return;
+            }
         }
+    }
 
-        items.set(index, new InventoryItem(
-            current.getInventoryItemId(),
-            current.getName(),
-            current.getPrice(),
-            newQuantity,
-            current.getStarRating()
-        ));
+    private int findPosition(UUID inventoryItemId) {
+        var position = store.findPosition(inventoryItemId);
+        if (position < 0) {
+            throw new IllegalArgumentException("Item not found");
+        }
+        return position;
     }
 }
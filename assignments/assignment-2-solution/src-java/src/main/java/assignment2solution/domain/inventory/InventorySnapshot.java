@@ -0,0 +1,219 @@
+package assignment2solution.domain.inventory;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * An immutable, consistent version of the catalogue.
+ * A query that reads through one snapshot sees every item as of the same version, no matter how many updates
+ * are published while it runs. Snapshots share structure with each other and are reclaimed by the garbage
+ * collector once nothing references them.
+ */
+public final class InventorySnapshot {
+    private final long version;
+    private final InventoryItemTree items;
+    private final InventoryIndex index;
+
+    InventorySnapshot(long version, InventoryItemTree items, InventoryIndex index) {
+        this.version = version;
+        this.items = items;
+        this.index = index;
+    }
+
+    /**
+     * Gets the version number; each published update increases it by one.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the number of items in the catalogue.
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Gets the item at a catalogue position.
+     */
+    public InventoryItem get(int position) {
+        return items.get(position);
+    }
+
+    /**
+     * Gets all items in catalogue order, as an unmodifiable view of this snapshot.
+     */
+    public List<InventoryItem> getItems() {
+        return new ItemListView();
+    }
+
+    /**
+     * Finds the items priced within a range using the price index.
+     *
+     * @param minInclusive The lowest price, or null for no lower bound.
+     * @param maxInclusive The highest price, or null for no upper bound.
+     * @return the matching items in catalogue order.
+     */
+    public List<InventoryItem> findByPriceRange(BigDecimal minInclusive, BigDecimal maxInclusive) {
+        return toItems(index.findByPriceRange(minInclusive, maxInclusive));
+    }
+
+    /**
+     * Finds the items rated within a range using the star rating buckets.
+     *
+     * @param minInclusive The lowest rating, or null for no lower bound.
+     * @param maxInclusive The highest rating, or null for no upper bound.
+     * @return the matching items in catalogue order.
+     */
+    public List<InventoryItem> findByStarRatingRange(Integer minInclusive, Integer maxInclusive) {
+        return toItems(index.findByStarRatingRange(
+            minInclusive == null ? Integer.MIN_VALUE : minInclusive,
+            maxInclusive == null ? Integer.MAX_VALUE : maxInclusive));
+    }
+
+    /**
+     * Finds the items that are (or are not) in stock using the per-leaf availability bitsets.
+     *
+     * @return the matching items in catalogue order.
+     */
+    public List<InventoryItem> findByAvailability(boolean isAvailable) {
+        return toItems(items.findByAvailability(isAvailable));
+    }
+
+    /**
+     * Finds the items whose names match a search using the name index.
+     *
+     * @return the matching items in catalogue order.
+     */
+    public List<InventoryItem> findByName(NameSearch search) {
+        return toItems(index.findByName(Objects.requireNonNull(search, "search")));
+    }
+
+    /**
+     * Counts the items {@link #findByPriceRange(BigDecimal, BigDecimal)} would return.
+     */
+    public int countByPriceRange(BigDecimal minInclusive, BigDecimal maxInclusive) {
+        return index.countByPriceRange(minInclusive, maxInclusive);
+    }
+
+    /**
+     * Estimates, from the name index alone, an upper bound on the number of items
+     * {@link #findByName(NameSearch)} would return.
+     */
+    public int estimateCountByName(NameSearch search) {
+        return index.estimateCountByName(Objects.requireNonNull(search, "search"));
+    }
+
+    /**
+     * Counts the items {@link #findByStarRatingRange(Integer, Integer)} would return.
+     */
+    public int countByStarRatingRange(Integer minInclusive, Integer maxInclusive) {
+        return index.countByStarRatingRange(
+            minInclusive == null ? Integer.MIN_VALUE : minInclusive,
+            maxInclusive == null ? Integer.MAX_VALUE : maxInclusive);
+    }
+
+    /**
+     * Counts the items {@link #findByAvailability(boolean)} would return.
+     */
+    public int countByAvailability(boolean isAvailable) {
+        return items.countByAvailability(isAvailable);
+    }
+
+    /**
+     * Reads items in an ordering, starting just after a given item. Finding the start costs a binary search; after
+     * that, each item read is either returned or rejected by the filter.
+     *
+     * @param ordering The order to read in.
+     * @param after    The item to start after (only its ordering attributes and id are read), or null to start first.
+     * @param filter   The items to return.
+     * @param limit    The maximum number of items to return.
+     * @return the matching items in ordering order.
+     */
+    public List<InventoryItem> seek(InventoryOrdering ordering, InventoryItem after, Predicate<InventoryItem> filter,
+                                    int limit) {
+        var ordered = index.getPositionsByOrdering(ordering);
+        var start = after == null ? 0 : firstAfter(ordered, ordering, after);
+
+        var found = new ArrayList<InventoryItem>(Math.min(limit, ordered.length));
+        for (int i = start; i < ordered.length && found.size() < limit; i++) {
+            var item = items.get(ordered[i]);
+            if (filter.test(item)) {
+                found.add(item);
+            }
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Returns the next version with the items at the given positions replaced.
+     */
+    InventorySnapshot withItems(int[] positions, InventoryItem[] replacements) {
+        var tree = items;
+        for (int i = 0; i < positions.length; i++) {
+            tree = tree.with(positions[i], replacements[i]);
+        }
+        return new InventorySnapshot(version + 1, tree, index);
+    }
+
+    private int firstAfter(int[] ordered, InventoryOrdering ordering, InventoryItem after) {
+        int low = 0;
+        int high = ordered.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ordering.getComparator().compare(items.get(ordered[mid]), after) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<InventoryItem> toItems(int[] positions) {
+        return new PositionListView(positions);
+    }
+
+    private final class ItemListView extends AbstractList<InventoryItem> implements RandomAccess {
+        @Override
+        public InventoryItem get(int index) {
+            if (index < 0 || index >= items.size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return items.get(index);
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+    }
+
+    /**
+     * The items at a set of positions, read on demand; the snapshot never changes, so neither does the view.
+     */
+    private final class PositionListView extends AbstractList<InventoryItem> implements RandomAccess {
+        private final int[] positions;
+
+        private PositionListView(int[] positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public InventoryItem get(int index) {
+            return items.get(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions.length;
+        }
+    }
+}
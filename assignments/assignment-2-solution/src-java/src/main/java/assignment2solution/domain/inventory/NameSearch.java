@@ -0,0 +1,121 @@
+package assignment2solution.domain.inventory;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A case-insensitive search for text within item names, either verbatim or tolerating small typos.
+ *
+ * <p>A fuzzy search matches a name that contains some run of characters within a few edits of the text, where an
+ * edit inserts, deletes or replaces one character or swaps two adjacent ones: "oolnog" finds "Oolong". Texts of
+ * up to five characters allow no edits (so few letters leave too little to recognise), up to nine allow one, and
+ * longer texts allow two.
+ */
+public final class NameSearch {
+    private final String text;
+    private final String normalizedText;
+    private final boolean isFuzzy;
+    private final int maxEdits;
+
+    private NameSearch(String text, boolean isFuzzy) {
+        this.text = Objects.requireNonNull(text, "text");
+        this.normalizedText = normalize(text);
+        this.isFuzzy = isFuzzy;
+        this.maxEdits = !isFuzzy || normalizedText.length() <= 5 ? 0 : normalizedText.length() <= 9 ? 1 : 2;
+    }
+
+    /**
+     * Creates a search for names that contain the text, ignoring case.
+     */
+    public static NameSearch contains(String text) {
+        return new NameSearch(text, false);
+    }
+
+    /**
+     * Creates a search for names that contain the text, ignoring case and allowing small typos.
+     */
+    public static NameSearch similarTo(String text) {
+        return new NameSearch(text, true);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public boolean isFuzzy() {
+        return isFuzzy;
+    }
+
+    /**
+     * Gets the number of edits a matching name may differ by.
+     */
+    public int getMaxEdits() {
+        return maxEdits;
+    }
+
+    /**
+     * Gets a value indicating whether a name matches this search.
+     */
+    public boolean matches(String name) {
+        return matchesNormalized(normalize(name));
+    }
+
+    String getNormalizedText() {
+        return normalizedText;
+    }
+
+    /**
+     * Matches a name that has already been through {@link #normalize(String)}.
+     */
+    boolean matchesNormalized(String normalizedName) {
+        if (maxEdits == 0) {
+            return normalizedName.contains(normalizedText);
+        }
+        return isWithinEdits(normalizedText, normalizedName, maxEdits);
+    }
+
+    static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Finds whether any substring of the text is within {@code maxEdits} of the pattern, using the optimal string
+     * alignment distance (edit distance plus adjacent transpositions). Column {@code j} holds, for each pattern
+     * prefix, the fewest edits that align it with a substring ending at text position {@code j}; a free start row
+     * lets the match begin anywhere.
+     */
+    private static boolean isWithinEdits(String pattern, String text, int maxEdits) {
+        var m = pattern.length();
+        var beforePrevious = new int[m + 1];
+        var previous = new int[m + 1];
+        var current = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            previous[i] = i;
+        }
+        if (previous[m] <= maxEdits) {
+            return true;
+        }
+
+        for (int j = 1; j <= text.length(); j++) {
+            current[0] = 0;
+            for (int i = 1; i <= m; i++) {
+                var cost = pattern.charAt(i - 1) == text.charAt(j - 1) ? 0 : 1;
+                var best = Math.min(Math.min(previous[i] + 1, current[i - 1] + 1), previous[i - 1] + cost);
+                if (i > 1 && j > 1 && pattern.charAt(i - 1) == text.charAt(j - 2)
+                    && pattern.charAt(i - 2) == text.charAt(j - 1)) {
+                    best = Math.min(best, beforePrevious[i - 2] + 1);
+                }
+                current[i] = best;
+            }
+            if (current[m] <= maxEdits) {
+                return true;
+            }
+
+            var recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return false;
+    }
+}
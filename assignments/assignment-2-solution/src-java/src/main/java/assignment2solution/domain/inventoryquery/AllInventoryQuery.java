@@ -19,6 +19,13 @@ public final class AllInventoryQuery implements IInventoryQuery {
         this.repository = Objects.requireNonNull(repository, "repository");
     }
 
+    /**
+     * Gets the repository this query reads from.
+     */
+    InventoryRepository getRepository() {
+        return repository;
+    }
+
     @Override
     public List<InventoryItem> execute() {
         return repository.get();
@@ -3,6 +3,8 @@ package assignment2solution.domain.inventoryquery;
 import assignment2solution.domain.inventory.InventoryItem;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Defines a query for retrieving and filtering inventory items.
@@ -17,4 +19,25 @@ public interface IInventoryQuery {
      * Executes the query and returns the filtered and sorted items.
      */
     List<InventoryItem> execute();
+
+    /**
+     * Executes the query lazily: filters pull items only as the stream is consumed, so {@code findFirst()} or
+     * {@code limit(n)} stops reading early. A sort still has to see all of its input.
+     */
+    default Stream<InventoryItem> stream() {
+        return execute().stream();
+    }
+
+    /**
+     * Executes the query and returns only its first items; a sorted query keeps a bounded heap of the best items
+     * instead of sorting all of them.
+     *
+     * @param limit The maximum number of items to return.
+     */
+    default List<InventoryItem> execute(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be non-negative");
+        }
+        return stream().limit(limit).collect(Collectors.toUnmodifiableList());
+    }
 }
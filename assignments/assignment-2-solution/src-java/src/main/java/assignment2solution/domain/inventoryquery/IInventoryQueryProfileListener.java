@@ -0,0 +1,11 @@
+package assignment2solution.domain.inventoryquery;
+
+/**
+ * Receives the profiles an {@link InventoryQueryProfiler} samples, for example to record them in a metrics registry.
+ */
+public interface IInventoryQueryProfileListener {
+    /**
+     * Called on the executing thread after a sampled query has run.
+     */
+    void queryProfiled(InventoryQueryProfile profile);
+}
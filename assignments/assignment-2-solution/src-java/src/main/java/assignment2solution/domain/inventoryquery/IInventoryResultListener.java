@@ -0,0 +1,13 @@
+package assignment2solution.domain.inventoryquery;
+
+/**
+ * Receives the incremental changes to a subscribed query's results.
+ */
+@FunctionalInterface
+public interface IInventoryResultListener {
+    /**
+     * Called once for each change, in the order the changes apply to the results, on the subscriptions' delivery
+     * executor. Calls for one subscription never overlap; a slow listener delays only its own subscription.
+     */
+    void onResultChanged(InventoryResultChange change);
+}
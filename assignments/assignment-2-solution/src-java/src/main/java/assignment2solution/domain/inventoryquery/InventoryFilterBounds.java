@@ -0,0 +1,84 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.NameSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The conditions a run of filters places on an item's plain attributes: inclusive ranges of price in cents, star
+ * rating and quantity, and name searches. Filters add to it in
+ * {@link InventoryFilterDecoratorBase#compileInto(InventoryFilterBounds)}; each call narrows the bounds further, as
+ * consecutive filters do.
+ */
+public final class InventoryFilterBounds {
+    private long minCents = Long.MIN_VALUE;
+    private long maxCents = Long.MAX_VALUE;
+    private int minStars = Integer.MIN_VALUE;
+    private int maxStars = Integer.MAX_VALUE;
+    private int minQuantity = Integer.MIN_VALUE;
+    private int maxQuantity = Integer.MAX_VALUE;
+    private final List<NameSearch> nameSearches = new ArrayList<>();
+
+    InventoryFilterBounds() {
+    }
+
+    /**
+     * Requires the unit price in cents to be within an inclusive range.
+     */
+    public void restrictPriceCents(long minInclusive, long maxInclusive) {
+        minCents = Math.max(minCents, minInclusive);
+        maxCents = Math.min(maxCents, maxInclusive);
+    }
+
+    /**
+     * Requires the star rating to be within an inclusive range.
+     */
+    public void restrictStarRating(int minInclusive, int maxInclusive) {
+        minStars = Math.max(minStars, minInclusive);
+        maxStars = Math.min(maxStars, maxInclusive);
+    }
+
+    /**
+     * Requires the quantity to be within an inclusive range.
+     */
+    public void restrictQuantity(int minInclusive, int maxInclusive) {
+        minQuantity = Math.max(minQuantity, minInclusive);
+        maxQuantity = Math.min(maxQuantity, maxInclusive);
+    }
+
+    /**
+     * Requires the name to match a search.
+     */
+    public void requireName(NameSearch search) {
+        nameSearches.add(search);
+    }
+
+    long getMinCents() {
+        return minCents;
+    }
+
+    long getMaxCents() {
+        return maxCents;
+    }
+
+    int getMinStars() {
+        return minStars;
+    }
+
+    int getMaxStars() {
+        return maxStars;
+    }
+
+    int getMinQuantity() {
+        return minQuantity;
+    }
+
+    int getMaxQuantity() {
+        return maxQuantity;
+    }
+
+    List<NameSearch> getNameSearches() {
+        return nameSearches;
+    }
+}
@@ -0,0 +1,67 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Base class for decorators that keep only the items matching a per-item predicate.
+ * Expressing the filter as {@link #matches(InventoryItem)} lets the {@link InventoryQueryPlanner} fuse several
+ * filters into one pass.
+ */
+public abstract class InventoryFilterDecoratorBase extends InventoryQueryDecoratorBase {
+    /**
+     * Initializes a new instance of the {@link InventoryFilterDecoratorBase} class.
+     *
+     * @param inner The inner query to decorate.
+     */
+    protected InventoryFilterDecoratorBase(IInventoryQuery inner) {
+        super(inner);
+    }
+
+    /**
+     * Determines whether an item passes this filter. Not called when the filter is a pass-through.
+     */
+    protected abstract boolean matches(InventoryItem item);
+
+    /**
+     * Adds this filter's condition to a set of plain attribute bounds, so the {@link InventoryQueryPlanner} can check
+     * it without calling {@link #matches(InventoryItem)}. The bounds must accept exactly the items
+     * {@code matches} accepts. Not called when the filter is a pass-through.
+     *
+     * @return false, leaving the bounds unchanged, when the condition cannot be expressed as bounds.
+     */
+    protected boolean compileInto(InventoryFilterBounds bounds) {
+        return false;
+    }
+
+    /**
+     * Gets a value indicating whether {@link #matches(InventoryItem)} reads the item's quantity. Quantity is the only
+     * attribute that changes after an item is published, so a filter that does not read it accepts or rejects an item
+     * for good; {@link InventoryQuerySubscriptions} relies on this. Defaults to true, which is always safe.
+     */
+    protected boolean readsQuantity() {
+        return true;
+    }
+
+    @Override
+    protected List<InventoryItem> decorate(List<InventoryItem> items) {
+        if (isPassThrough()) {
+            return items;
+        }
+
+        return items.stream()
+            .filter(this::matches)
+            .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public Stream<InventoryItem> stream() {
+        if (isPassThrough()) {
+            return getInner().stream();
+        }
+        return getInner().stream().filter(this::matches);
+    }
+}
@@ -0,0 +1,96 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.NameSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A run of filters compiled into one predicate. Every filter that can describe itself as
+ * {@link InventoryFilterBounds} becomes a range check against a constant final field, so a query of any shape is
+ * three range checks plus its name searches, evaluated in one monomorphic method with no per-filter virtual call.
+ * Filters that cannot be compiled are kept and called as before, after the range checks.
+ */
+final class InventoryFilterKernel {
+    private static final NameSearch[] NO_NAME_SEARCHES = new NameSearch[0];
+    private static final InventoryFilterDecoratorBase[] NO_FILTERS = new InventoryFilterDecoratorBase[0];
+
+    private final long minCents;
+    private final long maxCents;
+    private final int minStars;
+    private final int maxStars;
+    private final int minQuantity;
+    private final int maxQuantity;
+    private final NameSearch[] nameSearches;
+    private final InventoryFilterDecoratorBase[] residualFilters;
+    private final int compiledCount;
+
+    private InventoryFilterKernel(InventoryFilterBounds bounds, List<InventoryFilterDecoratorBase> residualFilters,
+                                  int compiledCount) {
+        this.minCents = bounds.getMinCents();
+        this.maxCents = bounds.getMaxCents();
+        this.minStars = bounds.getMinStars();
+        this.maxStars = bounds.getMaxStars();
+        this.minQuantity = bounds.getMinQuantity();
+        this.maxQuantity = bounds.getMaxQuantity();
+        this.nameSearches = bounds.getNameSearches().toArray(NO_NAME_SEARCHES);
+        this.residualFilters = residualFilters.toArray(NO_FILTERS);
+        this.compiledCount = compiledCount;
+    }
+
+    /**
+     * Compiles filters, inner-most first.
+     *
+     * @param skip A filter whose condition the candidates already meet, or null.
+     */
+    static InventoryFilterKernel compile(List<InventoryFilterDecoratorBase> filters,
+                                         InventoryFilterDecoratorBase skip) {
+        var bounds = new InventoryFilterBounds();
+        var residual = new ArrayList<InventoryFilterDecoratorBase>();
+        var compiled = 0;
+        for (var filter : filters) {
+            if (filter == skip) {
+                continue;
+            }
+            if (filter.compileInto(bounds)) {
+                compiled++;
+            } else {
+                residual.add(filter);
+            }
+        }
+        return new InventoryFilterKernel(bounds, residual, compiled);
+    }
+
+    /**
+     * Describes the kernel for query profiles.
+     */
+    String describe() {
+        return "Fused filter: " + compiledCount + " compiled, " + residualFilters.length + " called";
+    }
+
+    /**
+     * Determines whether an item passes every compiled filter.
+     */
+    boolean test(InventoryItem item) {
+        var cents = item.getUnitPrice().getCents();
+        var stars = item.getStarRating().getRating();
+        var quantity = item.getQuantity();
+        if (cents < minCents || cents > maxCents
+            || stars < minStars || stars > maxStars
+            || quantity < minQuantity || quantity > maxQuantity) {
+            return false;
+        }
+        for (var search : nameSearches) {
+            if (!search.matches(item.getName())) {
+                return false;
+            }
+        }
+        for (var filter : residualFilters) {
+            if (!filter.matches(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
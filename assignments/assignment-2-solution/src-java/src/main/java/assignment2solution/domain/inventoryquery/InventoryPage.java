@@ -0,0 +1,20 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.util.List;
+
+/**
+ * One page of a paginated inventory query.
+ *
+ * @param items      The items on this page.
+ * @param nextCursor The cursor for the following page, or null when this is the last page.
+ */
+public record InventoryPage(List<InventoryItem> items, String nextCursor) {
+    /**
+     * Gets a value indicating whether another page follows this one.
+     */
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+}
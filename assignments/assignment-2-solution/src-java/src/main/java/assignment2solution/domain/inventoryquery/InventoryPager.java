@@ -0,0 +1,109 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryOrdering;
+import assignment2solution.domain.inventory.StarRating;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Pages through the results of a filter-and-sort query with keyset cursors.
+ *
+ * <p>Pages are ordered by the query's sorts with ties broken by {@code inventoryItemId}. A cursor records the sort
+ * key and id of the last item on its page, so the next page starts with a binary search over a sort-ordered index
+ * rather than a full sort, and a change in quantity between requests never moves an item across a page boundary.
+ * Sorts may only read an item's name, price and star rating, which never change.
+ */
+public final class InventoryPager {
+    private static final String CURSOR_VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    private final InventoryQueryChain chain;
+    private final InventoryOrdering ordering;
+    private final String queryFingerprint;
+
+    /**
+     * Initializes a new instance of the {@link InventoryPager} class.
+     *
+     * @param query A chain of filter and sort decorators over an {@link AllInventoryQuery}, planned or not.
+     * @throws IllegalArgumentException when the query cannot be paginated.
+     */
+    public InventoryPager(IInventoryQuery query) {
+        Objects.requireNonNull(query, "query");
+        var analyzed = InventoryQueryChain.analyze(query);
+        if (analyzed == null || !analyzed.isOnlyFiltersAndSorts()) {
+            throw new IllegalArgumentException("Only filter and sort decorators over AllInventoryQuery can be paginated.");
+        }
+
+        this.chain = analyzed;
+        this.ordering = new InventoryOrdering(String.join("\n", chain.getSortKey()), chain.getSortComparator());
+        this.queryFingerprint = Integer.toHexString(String.join("\n", chain.getKey()).hashCode());
+    }
+
+    /**
+     * Gets the first page.
+     */
+    public InventoryPage getFirstPage(int pageSize) {
+        return getPage(null, pageSize);
+    }
+
+    /**
+     * Gets the page that follows a cursor.
+     *
+     * @param cursor   A cursor returned by this query's previous page, or null for the first page.
+     * @param pageSize The maximum number of items on the page.
+     * @throws IllegalArgumentException when the cursor is malformed or belongs to a different query.
+     */
+    public InventoryPage getPage(String cursor, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+
+        var after = cursor == null ? null : decodeCursor(cursor);
+        var items = chain.getRepository().snapshot().seek(ordering, after, chain::matchesAll, pageSize + 1);
+        if (items.size() <= pageSize) {
+            return new InventoryPage(items, null);
+        }
+
+        var page = items.subList(0, pageSize);
+        return new InventoryPage(page, encodeCursor(page.get(pageSize - 1)));
+    }
+
+    private String encodeCursor(InventoryItem last) {
+        var text = String.join(SEPARATOR,
+            CURSOR_VERSION,
+            queryFingerprint,
+            last.getPrice().toPlainString(),
+            Integer.toString(last.getStarRating().getRating()),
+            last.getInventoryItemId().toString(),
+            last.getName());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private InventoryItem decodeCursor(String cursor) {
+        String[] fields;
+        try {
+            fields = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 6);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Malformed cursor.", ex);
+        }
+        if (fields.length != 6 || !CURSOR_VERSION.equals(fields[0])) {
+            throw new IllegalArgumentException("Malformed cursor.");
+        }
+        if (!queryFingerprint.equals(fields[1])) {
+            throw new IllegalArgumentException("Cursor does not belong to this query.");
+        }
+
+        try {
+            // only the sort key and id are compared, so the probe needs no real quantity
+            return new InventoryItem(UUID.fromString(fields[4]), fields[5], new BigDecimal(fields[2]), 0,
+                new StarRating(Integer.parseInt(fields[3])));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Malformed cursor.", ex);
+        }
+    }
+}
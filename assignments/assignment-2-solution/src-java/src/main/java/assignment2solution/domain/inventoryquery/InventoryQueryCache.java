@@ -0,0 +1,163 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.IInventoryChangeListener;
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventory.InventorySnapshot;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A bounded, least-recently-used cache of query results over one {@link InventoryRepository}.
+ *
+ * <p>Entries are keyed by the normalised decorator chain: each active decorator's class and
+ * {@code getCacheKey()}, in order. Each entry records the catalogue version it was computed from. When the
+ * repository publishes a changed item, only entries whose filters accept the item before or after the change are
+ * dropped; sorts cannot change which items a query returns, and no other attribute of an item changes.
+ */
+public final class InventoryQueryCache {
+    private final InventoryRepository repository;
+    private final int capacity;
+    private final Map<List<String>, Entry> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Initializes a new instance of the {@link InventoryQueryCache} class.
+     *
+     * @param repository The repository whose queries are cached.
+     * @param capacity   The maximum number of cached results.
+     */
+    public InventoryQueryCache(InventoryRepository repository, int capacity) {
+        this.repository = Objects.requireNonNull(repository, "repository");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, Entry> eldest) {
+                if (size() > InventoryQueryCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        IInventoryChangeListener listener = this::invalidate;
+        repository.addChangeListener(listener);
+    }
+
+    /**
+     * Wraps a query so that its results are served from this cache. Queries that do not read from this cache's
+     * repository, or whose chain cannot be normalised, are returned unchanged.
+     */
+    public IInventoryQuery wrap(IInventoryQuery query) {
+        Objects.requireNonNull(query, "query");
+
+        var chain = InventoryQueryChain.analyze(query);
+        if (chain == null || chain.getRepository() != repository) {
+            return query;
+        }
+
+        Predicate<InventoryItem> mayContain = chain.isOnlyFiltersAndSorts() ? chain::matchesAll : item -> true;
+        return new CachedQuery(query, chain.getKey(), mayContain);
+    }
+
+    /**
+     * Gets the cache's hit, miss, eviction and invalidation counters.
+     */
+    public synchronized InventoryQueryCacheStatistics getStatistics() {
+        return new InventoryQueryCacheStatistics(hits, misses, evictions, invalidations, entries.size());
+    }
+
+    /**
+     * Gets the query a cached query wraps, or the query itself when it is not from a cache.
+     */
+    static IInventoryQuery unwrap(IInventoryQuery query) {
+        return query instanceof CachedQuery ? ((CachedQuery) query).inner : query;
+    }
+
+    private List<InventoryItem> execute(CachedQuery query) {
+        var recorder = InventoryQueryStageRecorder.current();
+        var mark = recorder == null ? null : recorder.start();
+        synchronized (this) {
+            var entry = entries.get(query.key);
+            if (entry != null) {
+                hits++;
+                if (recorder != null) {
+                    recorder.record(mark, "Cache hit", -1, entry.items.size(), false);
+                }
+                return entry.items;
+            }
+            misses++;
+        }
+
+        var version = repository.snapshot().getVersion();
+        var items = query.inner.execute();
+        var entry = new Entry(version, items, query.mayContain);
+
+        synchronized (this) {
+            entries.put(query.key, entry);
+        }
+        // a change published while the query ran may have been missed by invalidate(); drop the entry if so
+        if (repository.snapshot().getVersion() != version) {
+            synchronized (this) {
+                entries.remove(query.key, entry);
+            }
+        }
+        return items;
+    }
+
+    private synchronized void invalidate(InventorySnapshot snapshot, InventoryItem previous, InventoryItem current) {
+        var iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+            if (entry.version < snapshot.getVersion()
+                && (entry.mayContain.test(previous) || entry.mayContain.test(current))) {
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final List<InventoryItem> items;
+        private final Predicate<InventoryItem> mayContain;
+
+        private Entry(long version, List<InventoryItem> items, Predicate<InventoryItem> mayContain) {
+            this.version = version;
+            this.items = items;
+            this.mayContain = mayContain;
+        }
+    }
+
+    private final class CachedQuery implements IInventoryQuery {
+        private final IInventoryQuery inner;
+        private final List<String> key;
+        private final Predicate<InventoryItem> mayContain;
+
+        private CachedQuery(IInventoryQuery inner, List<String> key, Predicate<InventoryItem> mayContain) {
+            this.inner = inner;
+            this.key = key;
+            this.mayContain = mayContain;
+        }
+
+        @Override
+        public List<String> getAppliedFiltersAndSorts() {
+            return inner.getAppliedFiltersAndSorts();
+        }
+
+        @Override
+        public List<InventoryItem> execute() {
+            return InventoryQueryCache.this.execute(this);
+        }
+    }
+}
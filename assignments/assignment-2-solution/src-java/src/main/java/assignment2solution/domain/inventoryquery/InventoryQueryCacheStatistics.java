@@ -0,0 +1,20 @@
+package assignment2solution.domain.inventoryquery;
+
+/**
+ * A point-in-time view of an {@link InventoryQueryCache}'s counters.
+ *
+ * @param hits          Lookups answered from the cache.
+ * @param misses        Lookups that executed the query.
+ * @param evictions     Entries dropped to stay within capacity.
+ * @param invalidations Entries dropped because an inventory change could have altered their results.
+ * @param size          Entries currently cached.
+ */
+public record InventoryQueryCacheStatistics(long hits, long misses, long evictions, long invalidations, int size) {
+    /**
+     * Gets the fraction of lookups answered from the cache, or 0 when there have been none.
+     */
+    public double hitRate() {
+        var lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,141 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The normalised form of a decorator chain over an {@link AllInventoryQuery}: its active decorators' keys, filters
+ * and sorts. Pass-through decorators are dropped, so chains that differ only by them normalise the same way.
+ */
+final class InventoryQueryChain {
+    private final InventoryRepository repository;
+    private final List<String> key;
+    private final List<InventoryFilterDecoratorBase> filters;
+    private final List<InventorySortDecoratorBase> sorts;
+    private final boolean onlyFiltersAndSorts;
+
+    private InventoryQueryChain(
+        InventoryRepository repository,
+        List<String> key,
+        List<InventoryFilterDecoratorBase> filters,
+        List<InventorySortDecoratorBase> sorts,
+        boolean onlyFiltersAndSorts
+    ) {
+        this.repository = repository;
+        this.key = key;
+        this.filters = filters;
+        this.sorts = sorts;
+        this.onlyFiltersAndSorts = onlyFiltersAndSorts;
+    }
+
+    /**
+     * Normalises a (possibly planned) query, or returns null when it does not read from an
+     * {@link AllInventoryQuery} or one of its decorators has no cache key.
+     */
+    static InventoryQueryChain analyze(IInventoryQuery query) {
+        var current = InventoryQueryPlanner.unwrap(query);
+        var key = new ArrayList<String>();
+        var filters = new ArrayList<InventoryFilterDecoratorBase>();
+        var sorts = new ArrayList<InventorySortDecoratorBase>();
+        var onlyFiltersAndSorts = true;
+
+        while (current instanceof InventoryQueryDecoratorBase) {
+            var decorator = (InventoryQueryDecoratorBase) current;
+            if (!decorator.isPassThrough()) {
+                var part = decorator.getCacheKey();
+                if (part == null) {
+                    return null;
+                }
+                key.add(decorator.getClass().getName() + ": " + part);
+
+                if (decorator instanceof InventoryFilterDecoratorBase) {
+                    filters.add((InventoryFilterDecoratorBase) decorator);
+                } else if (decorator instanceof InventorySortDecoratorBase) {
+                    sorts.add((InventorySortDecoratorBase) decorator);
+                } else {
+                    onlyFiltersAndSorts = false;
+                }
+            }
+            current = decorator.getInner();
+        }
+
+        if (!(current instanceof AllInventoryQuery)) {
+            return null;
+        }
+
+        Collections.reverse(key);
+        Collections.reverse(filters);
+        return new InventoryQueryChain(((AllInventoryQuery) current).getRepository(), List.copyOf(key),
+            List.copyOf(filters), List.copyOf(sorts), onlyFiltersAndSorts);
+    }
+
+    InventoryRepository getRepository() {
+        return repository;
+    }
+
+    /**
+     * Gets the active decorators' class names and cache keys, inner-most first.
+     */
+    List<String> getKey() {
+        return key;
+    }
+
+    /**
+     * Gets a value indicating whether every active decorator is a filter or a sort.
+     */
+    boolean isOnlyFiltersAndSorts() {
+        return onlyFiltersAndSorts;
+    }
+
+    /**
+     * Determines whether an item passes every filter in the chain.
+     */
+    boolean matchesAll(InventoryItem item) {
+        for (var filter : filters) {
+            if (!filter.matches(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines whether an item passes every filter in the chain that does not read quantities. An item that fails
+     * one of those filters can never enter the results, whatever its stock.
+     */
+    boolean matchesQuantityIndependentFilters(InventoryItem item) {
+        for (var filter : filters) {
+            if (!filter.readsQuantity() && !filter.matches(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the cache keys of the sorts, outer-most first; the order their comparators are tried in.
+     */
+    List<String> getSortKey() {
+        var sortKey = new ArrayList<String>(sorts.size());
+        for (var sort : sorts) {
+            sortKey.add(sort.getClass().getName() + ": " + sort.getCacheKey());
+        }
+        return sortKey;
+    }
+
+    /**
+     * Gets the composite comparator of the sorts, or null when there are none.
+     */
+    Comparator<InventoryItem> getSortComparator() {
+        Comparator<InventoryItem> comparator = null;
+        for (var sort : sorts) {
+            comparator = comparator == null ? sort.getComparator() : comparator.thenComparing(sort.getComparator());
+        }
+        return comparator;
+    }
+}
@@ -1,6 +1,7 @@
 package assignment2solution.domain.inventoryquery;
 
 import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventorySnapshot;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +22,13 @@ public abstract class InventoryQueryDecoratorBase implements IInventoryQuery {
         this.inner = Objects.requireNonNull(inner, "inner");
     }
 
+    /**
+     * Gets the query this decorator wraps.
+     */
+    IInventoryQuery getInner() {
+        return inner;
+    }
+
     /**
      * Gets the description of the filter or sort applied by this decorator.
      */
@@ -28,10 +36,45 @@ public abstract class InventoryQueryDecoratorBase implements IInventoryQuery {
         return null;
     }
 
+    /**
+     * Gets a key that identifies this decorator's effect exactly; two decorators of the same class with equal keys
+     * must produce the same results from the same input. Defaults to the applied description.
+     */
+    protected String getCacheKey() {
+        return getAppliedDescription();
+    }
+
+    /**
+     * Gets a value indicating whether this decorator returns its input unchanged.
+     */
+    protected boolean isPassThrough() {
+        return false;
+    }
+
     @Override
     public List<InventoryItem> execute() {
+        var recorder = InventoryQueryStageRecorder.current();
+        var snapshot = findIndexedSnapshot();
+        if (snapshot != null && !isPassThrough()) {
+            var mark = recorder == null ? null : recorder.start();
+            var indexed = executeFromIndex(snapshot);
+            if (indexed != null) {
+                if (recorder != null) {
+                    recorder.record(mark, InventoryQueryStageRecorder.describe(this), snapshot.size(),
+                        indexed.size(), true);
+                }
+                return indexed;
+            }
+        }
+
         var items = inner.execute();
-        return decorate(items);
+        if (recorder == null) {
+            return decorate(items);
+        }
+        var mark = recorder.start();
+        var decorated = decorate(items);
+        recorder.record(mark, InventoryQueryStageRecorder.describe(this), items.size(), decorated.size(), false);
+        return decorated;
     }
 
     @Override
@@ -54,4 +97,33 @@ public abstract class InventoryQueryDecoratorBase implements IInventoryQuery {
      * @return the decorated (filtered or sorted) list of items.
      */
     protected abstract List<InventoryItem> decorate(List<InventoryItem> items);
+
+    /**
+     * Answers this decorator directly from the catalogue's indexes. Only called when every query below
+     * this decorator is a pass-through, so the result must equal {@code decorate(snapshot.getItems())}.
+     *
+     * @param snapshot The catalogue version the query reads.
+     * @return the decorated items, or null when this decorator cannot use an index.
+     */
+    protected List<InventoryItem> executeFromIndex(InventorySnapshot snapshot) {
+        return null;
+    }
+
+    /**
+     * Estimates how many items {@link #executeFromIndex(InventorySnapshot)} would return, without building them.
+     *
+     * @param snapshot The catalogue version the query reads.
+     * @return the estimated count, or -1 when this decorator cannot use an index.
+     */
+    protected int estimateFromIndex(InventorySnapshot snapshot) {
+        return -1;
+    }
+
+    private InventorySnapshot findIndexedSnapshot() {
+        var query = inner;
+        while (query instanceof InventoryQueryDecoratorBase && ((InventoryQueryDecoratorBase) query).isPassThrough()) {
+            query = ((InventoryQueryDecoratorBase) query).inner;
+        }
+        return query instanceof AllInventoryQuery ? ((AllInventoryQuery) query).getRepository().snapshot() : null;
+    }
 }
@@ -0,0 +1,115 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventorySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Explains queries in two ways, measuring for each step the items it read and returned, its wall time and the bytes
+ * it allocated on the calling thread:
+ * <ul>
+ *   <li>{@link #analyze(IInventoryQuery)} runs the query exactly as it would run anyway and reports its real stages:
+ *   a cache hit, the planner's candidates, fused filter pass and sort or merge, or the layers of an unplanned
+ *   chain.</li>
+ *   <li>{@link #analyzeLayers(IInventoryQuery)} runs the chain a planned or cached query was built from, one
+ *   decorator at a time, to show what each decorator costs on its own. That is not how a planned query runs.</li>
+ * </ul>
+ *
+ * <p>Nothing is measured unless a query is explained; ordinary execution only checks, once per stage, that no
+ * recording is in progress.
+ */
+public final class InventoryQueryExplainer {
+    /**
+     * The title of the profiles {@link #analyze(IInventoryQuery)} returns.
+     */
+    public static final String EXECUTION_TITLE = "Execution as run, stage by stage";
+
+    /**
+     * The title of the profiles {@link #analyzeLayers(IInventoryQuery)} returns.
+     */
+    public static final String LAYERS_TITLE = "Unplanned decorator chain, layer by layer";
+
+    private InventoryQueryExplainer() {
+    }
+
+    /**
+     * Runs a query as it would run anyway, through its plan, cache and parallel passes, and profiles each stage.
+     */
+    public static InventoryQueryProfile analyze(IInventoryQuery query) {
+        Objects.requireNonNull(query, "query");
+
+        var recorder = new InventoryQueryStageRecorder();
+        var items = recorder.run(query::execute);
+        return new InventoryQueryProfile(EXECUTION_TITLE, recorder.getStages(), items);
+    }
+
+    /**
+     * Runs the decorator chain a query was built from one layer at a time, without the planner or cache, and
+     * profiles each layer.
+     */
+    public static InventoryQueryProfile analyzeLayers(IInventoryQuery query) {
+        Objects.requireNonNull(query, "query");
+
+        var decorators = new ArrayList<InventoryQueryDecoratorBase>();
+        var current = unwrap(query);
+        while (current instanceof InventoryQueryDecoratorBase) {
+            var decorator = (InventoryQueryDecoratorBase) current;
+            decorators.add(decorator);
+            current = unwrap(decorator.getInner());
+        }
+        Collections.reverse(decorators);
+
+        var layers = new ArrayList<InventoryQueryLayerProfile>(decorators.size() + 1);
+        var source = current;
+        var snapshot = source instanceof AllInventoryQuery
+            ? ((AllInventoryQuery) source).getRepository().snapshot()
+            : null;
+
+        var allocated = InventoryQueryStageRecorder.allocatedBytes();
+        var started = System.nanoTime();
+        var items = snapshot != null ? snapshot.getItems() : source.execute();
+        layers.add(new InventoryQueryLayerProfile(InventoryQueryStageRecorder.describeSource(source), -1, items.size(),
+            System.nanoTime() - started, allocatedSince(allocated), false));
+
+        // as in InventoryQueryDecoratorBase.execute, the first decorator that is not a pass-through may use the index
+        var mayUseIndex = snapshot != null;
+        for (var decorator : decorators) {
+            var input = items;
+            allocated = InventoryQueryStageRecorder.allocatedBytes();
+            started = System.nanoTime();
+            var indexed = mayUseIndex && !decorator.isPassThrough() ? fromIndex(decorator, snapshot) : null;
+            items = indexed != null ? indexed : decorator.decorate(input);
+            layers.add(new InventoryQueryLayerProfile(InventoryQueryStageRecorder.describe(decorator), input.size(),
+                items.size(), System.nanoTime() - started, allocatedSince(allocated), indexed != null));
+            mayUseIndex &= decorator.isPassThrough();
+        }
+
+        return new InventoryQueryProfile(LAYERS_TITLE, List.copyOf(layers), items);
+    }
+
+    /**
+     * Gets the chain a planned or cached query was built from, or the query itself.
+     */
+    private static IInventoryQuery unwrap(IInventoryQuery query) {
+        var current = query;
+        while (true) {
+            var unwrapped = InventoryQueryCache.unwrap(InventoryQueryPlanner.unwrap(current));
+            if (unwrapped == current) {
+                return current;
+            }
+            current = unwrapped;
+        }
+    }
+
+    private static List<InventoryItem> fromIndex(InventoryQueryDecoratorBase decorator, InventorySnapshot snapshot) {
+        return decorator.executeFromIndex(snapshot);
+    }
+
+    private static long allocatedSince(long allocated) {
+        return allocated < 0 ? -1 : InventoryQueryStageRecorder.allocatedBytes() - allocated;
+    }
+}
@@ -0,0 +1,36 @@
+package assignment2solution.domain.inventoryquery;
+
+import java.util.Locale;
+
+/**
+ * What one layer of a query did when it was explained: the items it read and returned, how long it took and how many
+ * bytes it allocated.
+ *
+ * @param description    The layer's applied description, or its source or class name when it has none.
+ * @param inputCount     The number of items the layer read, or -1 for the source.
+ * @param outputCount    The number of items the layer returned.
+ * @param wallNanos      The wall time the layer took, in nanoseconds.
+ * @param allocatedBytes The bytes the layer allocated on the calling thread, or -1 when the JVM cannot tell.
+ * @param usedIndex      Whether the layer answered from the catalogue's indexes instead of reading its input.
+ */
+public record InventoryQueryLayerProfile(
+    String description,
+    int inputCount,
+    int outputCount,
+    long wallNanos,
+    long allocatedBytes,
+    boolean usedIndex
+) {
+    /**
+     * Formats the layer as one line: input and output counts, milliseconds, kilobytes, then the description.
+     */
+    public String format() {
+        return String.format(Locale.US, "%11s -> %,9d %10.3f ms %12s  %s%s",
+            inputCount < 0 ? "-" : String.format(Locale.US, "%,d", inputCount),
+            outputCount,
+            wallNanos / 1e6,
+            allocatedBytes < 0 ? "n/a" : String.format(Locale.US, "%,d KB", (allocatedBytes + 1023) / 1024),
+            description,
+            usedIndex ? " [index]" : "");
+    }
+}
@@ -0,0 +1,68 @@
+package assignment2solution.domain.inventoryquery;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Controls when {@link InventoryQueryPlanner} runs a query's filter pass and sort over chunks of the candidates in a
+ * fork-join pool instead of on the calling thread.
+ */
+public final class InventoryQueryParallelism {
+    private static final InventoryQueryParallelism DEFAULT =
+        new InventoryQueryParallelism(ForkJoinPool.commonPool(), 65_536, 16_384);
+    private static final InventoryQueryParallelism SEQUENTIAL =
+        new InventoryQueryParallelism(ForkJoinPool.commonPool(), Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+    private final int chunkSize;
+
+    /**
+     * Initializes a new instance of the {@link InventoryQueryParallelism} class.
+     *
+     * @param pool      The pool the chunks run in.
+     * @param threshold The fewest candidates worth splitting; smaller inputs run sequentially.
+     * @param chunkSize The number of candidates in each chunk.
+     */
+    public InventoryQueryParallelism(ForkJoinPool pool, int threshold, int chunkSize) {
+        this.pool = Objects.requireNonNull(pool, "pool");
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Gets the settings {@link InventoryQueryPlanner#plan(IInventoryQuery)} uses: the common pool, for inputs of
+     * 65,536 candidates or more, in chunks of 16,384.
+     */
+    public static InventoryQueryParallelism defaults() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets settings that always run on the calling thread.
+     */
+    public static InventoryQueryParallelism sequential() {
+        return SEQUENTIAL;
+    }
+
+    ForkJoinPool getPool() {
+        return pool;
+    }
+
+    int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Determines whether an input of this many candidates is split into chunks.
+     */
+    boolean isParallel(int candidateCount) {
+        return candidateCount >= threshold && candidateCount > chunkSize;
+    }
+}
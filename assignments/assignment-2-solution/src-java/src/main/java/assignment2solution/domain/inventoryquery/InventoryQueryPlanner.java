@@ -0,0 +1,366 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Plans a decorator chain before it runs so that each query makes one filter pass and at most one sort.
+ *
+ * <p>Because every sort is stable, filtering before or after a sort keeps the same items in the same order, so all
+ * filters in a run of filter and sort decorators are pushed below the sorts and fused into a single pass. Consecutive
+ * sorts collapse into one stable sort whose comparator tries the outer-most sort first and falls back to the inner
+ * ones, which is the order the separate stable sorts would have produced. Any other decorator is kept as a barrier:
+ * the chain below it is planned on its own and its {@code decorate} step runs unchanged.
+ *
+ * <p>The fused filters run as one {@link InventoryFilterKernel}: price, star rating, availability and name filters
+ * become range checks and name searches in a single loop body, and only filters that cannot describe themselves as
+ * {@link InventoryFilterBounds} are still called one by one.
+ *
+ * <p>Large inputs can be split into contiguous chunks that are filtered and stably sorted in a fork-join pool, then
+ * k-way merged. On equal keys the merge takes the item from the earlier chunk, so the result is exactly what the
+ * single stable sort gives, ties included; see {@link InventoryQueryParallelism}.
+ */
+public final class InventoryQueryPlanner {
+    private InventoryQueryPlanner() {
+    }
+
+    /**
+     * Plans a query with {@link InventoryQueryParallelism#defaults()}. The returned query has the same results and
+     * applied filter and sort descriptions.
+     */
+    public static IInventoryQuery plan(IInventoryQuery query) {
+        return plan(query, InventoryQueryParallelism.defaults());
+    }
+
+    /**
+     * Plans a query that splits large inputs into chunks as the parallelism settings say. The returned query has the
+     * same results, in the same order, and applied filter and sort descriptions.
+     */
+    public static IInventoryQuery plan(IInventoryQuery query, InventoryQueryParallelism parallelism) {
+        Objects.requireNonNull(query, "query");
+        Objects.requireNonNull(parallelism, "parallelism");
+        return new PlannedQuery(query, planSegment(query), parallelism);
+    }
+
+    /**
+     * Gets the decorator chain a query was planned from, or the query itself when it was not planned.
+     */
+    static IInventoryQuery unwrap(IInventoryQuery query) {
+        return query instanceof PlannedQuery ? ((PlannedQuery) query).original : query;
+    }
+
+    private static Segment planSegment(IInventoryQuery query) {
+        var filters = new ArrayList<InventoryFilterDecoratorBase>();
+        var sortDescriptions = new ArrayList<String>();
+        Comparator<InventoryItem> comparator = null;
+
+        var current = query;
+        while (current instanceof InventoryFilterDecoratorBase || current instanceof InventorySortDecoratorBase) {
+            var decorator = (InventoryQueryDecoratorBase) current;
+            if (decorator instanceof InventoryFilterDecoratorBase) {
+                if (!decorator.isPassThrough()) {
+                    filters.add((InventoryFilterDecoratorBase) decorator);
+                }
+            } else {
+                // walking outward-in, so each inner sort only breaks the ties left by the sorts above it
+                var sortComparator = ((InventorySortDecoratorBase) decorator).getComparator();
+                comparator = comparator == null ? sortComparator : comparator.thenComparing(sortComparator);
+                sortDescriptions.add(InventoryQueryStageRecorder.describe(decorator));
+            }
+            current = decorator.getInner();
+        }
+
+        // filters were collected outer-most first; evaluate them inner-most first as the chain would
+        Collections.reverse(filters);
+
+        var sortDescription = String.join(", then ", sortDescriptions);
+        if (current instanceof InventoryQueryDecoratorBase) {
+            var barrier = (InventoryQueryDecoratorBase) current;
+            return new Segment(barrier, planSegment(barrier.getInner()), List.copyOf(filters), comparator,
+                sortDescription);
+        }
+        return new Segment(current, null, List.copyOf(filters), comparator, sortDescription);
+    }
+
+    /**
+     * A run of filters and sorts over a source that is either a leaf query or a barrier decorator.
+     */
+    private static final class Segment {
+        private final IInventoryQuery source;
+        private final Segment barrierInput;
+        private final List<InventoryFilterDecoratorBase> filters;
+        private final Comparator<InventoryItem> comparator;
+        private final String sortDescription;
+
+        private Segment(
+            IInventoryQuery source,
+            Segment barrierInput,
+            List<InventoryFilterDecoratorBase> filters,
+            Comparator<InventoryItem> comparator,
+            String sortDescription
+        ) {
+            this.source = source;
+            this.barrierInput = barrierInput;
+            this.filters = filters;
+            this.comparator = comparator;
+            this.sortDescription = sortDescription;
+        }
+
+        private List<InventoryItem> execute(InventoryQueryParallelism parallelism) {
+            var candidates = findCandidates(parallelism);
+            var items = candidates.items;
+            var kernel = candidates.kernel;
+            var recorder = InventoryQueryStageRecorder.current();
+            if (!parallelism.isParallel(items.size())) {
+                if (recorder != null) {
+                    return Collections.unmodifiableList(filterThenSort(items, kernel, recorder));
+                }
+                return Collections.unmodifiableList(filterAndSort(items, 0, items.size(), kernel));
+            }
+            var mark = recorder == null ? null : recorder.start();
+            var results = parallelism.getPool().invoke(new RecursiveTask<List<InventoryItem>>() {
+                @Override
+                protected List<InventoryItem> compute() {
+                    return filterAndSortInChunks(items, parallelism.getChunkSize(), kernel);
+                }
+            });
+            if (recorder != null) {
+                var description = kernel.describe() + (comparator == null ? "" : "; " + sortDescription)
+                    + " (in chunks of " + parallelism.getChunkSize() + ", merged)";
+                recorder.record(mark, description, items.size(), results.size(), false);
+            }
+            return Collections.unmodifiableList(results);
+        }
+
+        /**
+         * Runs the sequential filter pass and sort as separately recorded stages.
+         */
+        private List<InventoryItem> filterThenSort(List<InventoryItem> candidates, InventoryFilterKernel kernel,
+                                                   InventoryQueryStageRecorder recorder) {
+            var mark = recorder.start();
+            var results = filter(candidates, 0, candidates.size(), kernel);
+            recorder.record(mark, kernel.describe(), candidates.size(), results.size(), false);
+            if (comparator != null) {
+                mark = recorder.start();
+                results.sort(comparator);
+                recorder.record(mark, sortDescription, results.size(), results.size(), false);
+            }
+            return results;
+        }
+
+        /**
+         * Streams the results, pulling candidates through the fused filter on demand when there is no sort.
+         */
+        private Stream<InventoryItem> stream(InventoryQueryParallelism parallelism) {
+            if (comparator != null) {
+                return execute(parallelism).stream();
+            }
+            var candidates = findCandidates(parallelism);
+            return candidates.items.stream().filter(candidates.kernel::test);
+        }
+
+        /**
+         * Gets the first results: the first matches when there is no sort, or the best of a bounded heap otherwise.
+         */
+        private List<InventoryItem> execute(int limit, InventoryQueryParallelism parallelism) {
+            if (comparator == null) {
+                return stream(parallelism).limit(limit).collect(Collectors.toUnmodifiableList());
+            }
+            var candidates = findCandidates(parallelism);
+            var matches = candidates.items.stream().filter(candidates.kernel::test);
+            return TopK.select(matches.iterator(), comparator, limit);
+        }
+
+        /**
+         * Gets the items to filter: the barrier's output, the most selective index's items, or the source's results.
+         */
+        private Candidates findCandidates(InventoryQueryParallelism parallelism) {
+            var recorder = InventoryQueryStageRecorder.current();
+            if (barrierInput != null) {
+                var barrier = (InventoryQueryDecoratorBase) source;
+                var input = barrierInput.execute(parallelism);
+                var mark = recorder == null ? null : recorder.start();
+                var items = barrier.decorate(input);
+                if (recorder != null) {
+                    recorder.record(mark, InventoryQueryStageRecorder.describe(barrier), input.size(), items.size(),
+                        false);
+                }
+                return new Candidates(items, compile(null));
+            }
+            if (source instanceof AllInventoryQuery && !filters.isEmpty()) {
+                var snapshot = ((AllInventoryQuery) source).getRepository().snapshot();
+                InventoryFilterDecoratorBase indexedFilter = null;
+                var smallest = Integer.MAX_VALUE;
+                for (var filter : filters) {
+                    var estimate = filter.estimateFromIndex(snapshot);
+                    if (estimate >= 0 && estimate < smallest) {
+                        smallest = estimate;
+                        indexedFilter = filter;
+                    }
+                }
+                if (indexedFilter == null) {
+                    return new Candidates(snapshot.getItems(), compile(null));
+                }
+                var mark = recorder == null ? null : recorder.start();
+                var items = indexedFilter.executeFromIndex(snapshot);
+                if (recorder != null) {
+                    recorder.record(mark, InventoryQueryStageRecorder.describe(indexedFilter), snapshot.size(),
+                        items.size(), true);
+                }
+                return new Candidates(items, compile(indexedFilter));
+            }
+            if (recorder == null) {
+                return new Candidates(source.execute(), compile(null));
+            }
+            var mark = recorder.start();
+            var items = source.execute();
+            recorder.record(mark, InventoryQueryStageRecorder.describeSource(source), -1, items.size(), false);
+            return new Candidates(items, compile(null));
+        }
+
+        /**
+         * Filters and stably sorts a range of the candidates.
+         */
+        private List<InventoryItem> filterAndSort(List<InventoryItem> candidates, int from, int to,
+                                                  InventoryFilterKernel kernel) {
+            var results = filter(candidates, from, to, kernel);
+            if (comparator != null) {
+                results.sort(comparator);
+            }
+            return results;
+        }
+
+        /**
+         * Filters a range of the candidates, keeping their order.
+         */
+        private ArrayList<InventoryItem> filter(List<InventoryItem> candidates, int from, int to,
+                                                InventoryFilterKernel kernel) {
+            var results = new ArrayList<InventoryItem>(to - from);
+            for (int i = from; i < to; i++) {
+                var item = candidates.get(i);
+                if (kernel.test(item)) {
+                    results.add(item);
+                }
+            }
+            return results;
+        }
+
+        /**
+         * Filters and sorts contiguous chunks of the candidates as fork-join tasks, then merges them. Must run in
+         * the pool.
+         */
+        private List<InventoryItem> filterAndSortInChunks(List<InventoryItem> candidates, int chunkSize,
+                                                          InventoryFilterKernel kernel) {
+            var tasks = new ArrayList<ForkJoinTask<List<InventoryItem>>>();
+            for (int from = 0; from < candidates.size(); from += chunkSize) {
+                var start = from;
+                var end = Math.min(from + chunkSize, candidates.size());
+                tasks.add(ForkJoinTask.adapt(() -> filterAndSort(candidates, start, end, kernel)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+
+            var chunks = new ArrayList<List<InventoryItem>>(tasks.size());
+            var total = 0;
+            for (var task : tasks) {
+                var chunk = task.join();
+                chunks.add(chunk);
+                total += chunk.size();
+            }
+
+            var results = new ArrayList<InventoryItem>(total);
+            if (comparator == null) {
+                chunks.forEach(results::addAll);
+                return results;
+            }
+
+            // k-way merge; on equal keys the earlier chunk wins, which keeps the merge stable
+            var cursors = new int[chunks.size()];
+            var heads = new PriorityQueue<Integer>(chunks.size(), (left, right) -> {
+                var order = comparator.compare(chunks.get(left).get(cursors[left]),
+                    chunks.get(right).get(cursors[right]));
+                return order != 0 ? order : Integer.compare(left, right);
+            });
+            for (int chunk = 0; chunk < chunks.size(); chunk++) {
+                if (!chunks.get(chunk).isEmpty()) {
+                    heads.add(chunk);
+                }
+            }
+            while (!heads.isEmpty()) {
+                var chunk = heads.poll();
+                results.add(chunks.get(chunk).get(cursors[chunk]++));
+                if (cursors[chunk] < chunks.get(chunk).size()) {
+                    heads.add(chunk);
+                }
+            }
+            return results;
+        }
+
+        /**
+         * Compiles the segment's filters, leaving out the one whose index produced the candidates.
+         */
+        private InventoryFilterKernel compile(InventoryFilterDecoratorBase indexedFilter) {
+            return InventoryFilterKernel.compile(filters, indexedFilter);
+        }
+    }
+
+    /**
+     * The items a segment filters, and its filters compiled without the one whose index produced them.
+     */
+    private static final class Candidates {
+        private final List<InventoryItem> items;
+        private final InventoryFilterKernel kernel;
+
+        private Candidates(List<InventoryItem> items, InventoryFilterKernel kernel) {
+            this.items = items;
+            this.kernel = kernel;
+        }
+    }
+
+    /**
+     * The planned form of a query; descriptions come from the original chain.
+     */
+    private static final class PlannedQuery implements IInventoryQuery {
+        private final IInventoryQuery original;
+        private final Segment plan;
+        private final InventoryQueryParallelism parallelism;
+
+        private PlannedQuery(IInventoryQuery original, Segment plan, InventoryQueryParallelism parallelism) {
+            this.original = original;
+            this.plan = plan;
+            this.parallelism = parallelism;
+        }
+
+        @Override
+        public List<String> getAppliedFiltersAndSorts() {
+            return original.getAppliedFiltersAndSorts();
+        }
+
+        @Override
+        public List<InventoryItem> execute() {
+            return plan.execute(parallelism);
+        }
+
+        @Override
+        public Stream<InventoryItem> stream() {
+            return plan.stream(parallelism);
+        }
+
+        @Override
+        public List<InventoryItem> execute(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("limit must be non-negative");
+            }
+            return plan.execute(limit, parallelism);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The result of explaining a query: one profile per stage or layer, in the order they ran, and the items the query
+ * returned.
+ *
+ * @param title What was measured, either {@link InventoryQueryExplainer#EXECUTION_TITLE} or
+ *              {@link InventoryQueryExplainer#LAYERS_TITLE}.
+ */
+public record InventoryQueryProfile(String title, List<InventoryQueryLayerProfile> layers, List<InventoryItem> items) {
+    /**
+     * Gets the wall time of all layers, in nanoseconds.
+     */
+    public long getTotalWallNanos() {
+        var total = 0L;
+        for (var layer : layers) {
+            total += layer.wallNanos();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the bytes all layers allocated, or -1 when the JVM cannot tell.
+     */
+    public long getTotalAllocatedBytes() {
+        var total = 0L;
+        for (var layer : layers) {
+            if (layer.allocatedBytes() < 0) {
+                return -1;
+            }
+            total += layer.allocatedBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Formats the profile as its title followed by a table with one line per layer and a total.
+     */
+    public String format() {
+        var builder = new StringBuilder(title).append(':').append(System.lineSeparator());
+        builder.append(String.format(Locale.US, "%11s    %9s %13s %12s  %s%n", "Items in", "out", "Time", "Allocated",
+            "Layer"));
+        for (var layer : layers) {
+            builder.append(layer.format()).append(System.lineSeparator());
+        }
+        var total = new InventoryQueryLayerProfile("Total", -1, items.size(), getTotalWallNanos(),
+            getTotalAllocatedBytes(), false);
+        return builder.append(total.format()).append(System.lineSeparator()).toString();
+    }
+}
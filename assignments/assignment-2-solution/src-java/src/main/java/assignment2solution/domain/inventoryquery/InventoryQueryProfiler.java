@@ -0,0 +1,81 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Samples query executions for profiling in production: one execution in every {@code sampleInterval} across all
+ * wrapped queries is recorded by {@link InventoryQueryExplainer#analyze(IInventoryQuery)} and its profile goes to a
+ * listener. The others run as they would unwrapped, after one counter increment.
+ *
+ * <p>A sampled execution still runs exactly as the others do, through the plan, cache and parallel passes, so its
+ * stages and timings are those of production; recording adds only two clock and allocation counter reads per
+ * stage.
+ */
+public final class InventoryQueryProfiler {
+    private final int sampleInterval;
+    private final IInventoryQueryProfileListener listener;
+    private final AtomicLong executions = new AtomicLong();
+
+    /**
+     * Initializes a new instance of the {@link InventoryQueryProfiler} class.
+     *
+     * @param sampleInterval The number of executions per sampled execution; 1 profiles every execution.
+     * @param listener       The listener given each sampled profile.
+     */
+    public InventoryQueryProfiler(int sampleInterval, IInventoryQueryProfileListener listener) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("sampleInterval must be positive");
+        }
+        this.sampleInterval = sampleInterval;
+        this.listener = Objects.requireNonNull(listener, "listener");
+    }
+
+    /**
+     * Wraps a query so that its executions are sampled.
+     */
+    public IInventoryQuery wrap(IInventoryQuery query) {
+        return new SampledQuery(Objects.requireNonNull(query, "query"));
+    }
+
+    private boolean isSampled() {
+        return executions.incrementAndGet() % sampleInterval == 0;
+    }
+
+    private final class SampledQuery implements IInventoryQuery {
+        private final IInventoryQuery inner;
+
+        private SampledQuery(IInventoryQuery inner) {
+            this.inner = inner;
+        }
+
+        @Override
+        public List<String> getAppliedFiltersAndSorts() {
+            return inner.getAppliedFiltersAndSorts();
+        }
+
+        @Override
+        public List<InventoryItem> execute() {
+            if (!isSampled()) {
+                return inner.execute();
+            }
+            var profile = InventoryQueryExplainer.analyze(inner);
+            listener.queryProfiled(profile);
+            return profile.items();
+        }
+
+        @Override
+        public List<InventoryItem> execute(int limit) {
+            return inner.execute(limit);
+        }
+
+        @Override
+        public Stream<InventoryItem> stream() {
+            return inner.stream();
+        }
+    }
+}
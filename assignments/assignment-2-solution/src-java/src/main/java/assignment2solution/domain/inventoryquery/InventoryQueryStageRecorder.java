@@ -0,0 +1,125 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Collects the stages of one query execution as it really runs: cache hits, index lookups, decorator layers,
+ * fused filter passes, sorts and merges. Code on the execution path asks for the calling thread's recorder once per
+ * stage and records nothing when there is none, which is always the case unless a query is being analyzed.
+ */
+final class InventoryQueryStageRecorder {
+    private static final ThreadLocal<InventoryQueryStageRecorder> CURRENT = new ThreadLocal<>();
+    private static final com.sun.management.ThreadMXBean THREADS = findAllocationCounter();
+
+    private final List<InventoryQueryLayerProfile> stages = new ArrayList<>();
+
+    /**
+     * Gets the recorder of the execution running on the calling thread, or null when none is being recorded.
+     */
+    static InventoryQueryStageRecorder current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs an execution with this recorder as the calling thread's current one.
+     */
+    List<InventoryItem> run(Supplier<List<InventoryItem>> execution) {
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return execution.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Marks the start of a stage.
+     */
+    Mark start() {
+        return new Mark(System.nanoTime(), allocatedBytes());
+    }
+
+    /**
+     * Records a stage that started at a mark and has just finished.
+     *
+     * @param inputCount The number of items the stage read, or -1 when it read none.
+     */
+    void record(Mark mark, String description, int inputCount, int outputCount, boolean usedIndex) {
+        var elapsed = System.nanoTime() - mark.nanos();
+        var allocated = mark.bytes() < 0 ? -1 : allocatedBytes() - mark.bytes();
+        stages.add(new InventoryQueryLayerProfile(description, inputCount, outputCount, elapsed, allocated, usedIndex));
+    }
+
+    /**
+     * Gets the stages recorded so far, in the order they finished.
+     */
+    List<InventoryQueryLayerProfile> getStages() {
+        return List.copyOf(stages);
+    }
+
+    /**
+     * Gets the bytes allocated so far by the calling thread, or -1 when the JVM cannot tell.
+     */
+    static long allocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Describes a decorator by its applied description, or by its class name when it has none.
+     */
+    static String describe(InventoryQueryDecoratorBase decorator) {
+        var description = decorator.getAppliedDescription();
+        if (description != null) {
+            return description;
+        }
+        return decorator.isPassThrough() ? className(decorator) + " (pass-through)" : className(decorator);
+    }
+
+    /**
+     * Describes a query that is not a decorator.
+     */
+    static String describeSource(IInventoryQuery source) {
+        return source instanceof AllInventoryQuery ? "Source: All items" : "Source: " + className(source);
+    }
+
+    private static String className(Object value) {
+        var name = value.getClass().getSimpleName();
+        return name.isEmpty() ? value.getClass().getName() : name;
+    }
+
+    /**
+     * Gets the JVM's per-thread allocation counter, or null when it has none or it cannot be turned on.
+     */
+    private static com.sun.management.ThreadMXBean findAllocationCounter() {
+        var bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        var threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        try {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        } catch (UnsupportedOperationException | SecurityException ex) {
+            return null;
+        }
+        return threads;
+    }
+
+    /**
+     * The clock and allocation counter readings at the start of a stage.
+     */
+    record Mark(long nanos, long bytes) {
+    }
+}
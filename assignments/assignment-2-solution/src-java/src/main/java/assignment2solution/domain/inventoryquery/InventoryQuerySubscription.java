@@ -0,0 +1,90 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A live subscription to a query's results, created by {@link InventoryQuerySubscriptions#subscribe}. Closing it
+ * stops the notifications.
+ *
+ * <p>Changes wait in this subscription's own queue until a delivery task hands them to the listener. At most one
+ * such task runs at a time, so the listener sees the changes one at a time and in order.
+ */
+public final class InventoryQuerySubscription implements AutoCloseable {
+    private final InventoryQuerySubscriptions owner;
+    private final LiveInventoryView view;
+    private final IInventoryResultListener listener;
+    private final Executor executor;
+    private final Queue<InventoryResultChange> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean delivering = new AtomicBoolean();
+    private volatile boolean closed;
+
+    /**
+     * Initializes a new instance of the {@link InventoryQuerySubscription} class.
+     */
+    InventoryQuerySubscription(InventoryQuerySubscriptions owner, LiveInventoryView view,
+                               IInventoryResultListener listener, Executor executor) {
+        this.owner = owner;
+        this.view = view;
+        this.listener = listener;
+        this.executor = executor;
+    }
+
+    /**
+     * Gets the query's current results. Changes that led to them may still be queued for the listener.
+     */
+    public List<InventoryItem> getItems() {
+        return owner.getItems(view);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        pending.clear();
+        owner.unsubscribe(view, this);
+    }
+
+    /**
+     * Queues a change for the listener. Called under the owner's lock, in the order the changes apply.
+     */
+    void enqueue(InventoryResultChange change) {
+        if (!closed) {
+            pending.add(change);
+        }
+    }
+
+    /**
+     * Starts a delivery task unless one is already running or nothing is queued.
+     */
+    void deliver() {
+        if (pending.isEmpty() || !delivering.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException ex) {
+            // the owner was closed while this change was being published; nothing more will be delivered
+            pending.clear();
+            delivering.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            InventoryResultChange change;
+            while (!closed && (change = pending.poll()) != null) {
+                listener.onResultChanged(change);
+            }
+        } finally {
+            // a change queued after the loop ended, or left behind by a failing listener, needs another task
+            delivering.set(false);
+            deliver();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.IInventoryChangeListener;
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventory.InventorySnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Live subscriptions to query results over one {@link InventoryRepository}: a subscriber gets the current results
+ * and then an {@link InventoryResultChange} (insert, delete, move or update) each time a published change affects
+ * them.
+ *
+ * <p>Results are maintained incrementally, never by re-running queries. Subscriptions to equal filter and sort chains
+ * (by the decorators' cache keys) share one {@link LiveInventoryView}. Each view registers the items that pass its
+ * quantity-independent filters, such as price, rating and name; since only quantities change, no other item can
+ * ever enter its results. A changed item is therefore looked up in one map and applied only to the views that list
+ * it, so the cost of a change grows with the views it affects, not with the number of subscriptions or the size of
+ * the catalogue.
+ *
+ * <p>Repository notifications may arrive out of order; a change older than the last one applied to its item, or
+ * than the view itself, is skipped, as the newer state already reflects it.
+ *
+ * <p>Views are updated under this object's lock on the thread that published the change, but listeners are not
+ * called there: each subscription queues its changes and a delivery executor drains the queue, one change at a time
+ * and in order. A slow listener therefore delays only its own subscription, never a checkout or another subscriber.
+ */
+public final class InventoryQuerySubscriptions implements AutoCloseable {
+    private final InventoryRepository repository;
+    private final IInventoryChangeListener listener = this::onItemChanged;
+    private final Map<List<String>, LiveInventoryView> views = new HashMap<>();
+    private final Map<UUID, List<LiveInventoryView>> viewsByItem = new HashMap<>();
+    private final Map<UUID, Long> appliedVersions = new HashMap<>();
+    private final Executor deliveryExecutor;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Initializes a new instance of the {@link InventoryQuerySubscriptions} class that delivers changes on its own
+     * daemon threads, which {@link #close()} shuts down.
+     */
+    public InventoryQuerySubscriptions(InventoryRepository repository) {
+        this(repository, Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "inventory-subscriptions");
+            thread.setDaemon(true);
+            return thread;
+        }), true);
+    }
+
+    /**
+     * Initializes a new instance of the {@link InventoryQuerySubscriptions} class.
+     *
+     * @param deliveryExecutor Runs the tasks that deliver queued changes to listeners; at most one task per
+     *                         subscription runs at a time.
+     */
+    public InventoryQuerySubscriptions(InventoryRepository repository, Executor deliveryExecutor) {
+        this(repository, deliveryExecutor, false);
+    }
+
+    private InventoryQuerySubscriptions(InventoryRepository repository, Executor deliveryExecutor, boolean owned) {
+        this.repository = Objects.requireNonNull(repository, "repository");
+        this.deliveryExecutor = Objects.requireNonNull(deliveryExecutor, "deliveryExecutor");
+        this.ownedExecutor = owned ? (ExecutorService) deliveryExecutor : null;
+        repository.addChangeListener(listener);
+    }
+
+    /**
+     * Subscribes to a query's results.
+     *
+     * @param query    A chain of filter and sort decorators over an {@link AllInventoryQuery} of this repository.
+     * @param listener Receives every later change to the results.
+     * @throws IllegalArgumentException when the query is not such a chain.
+     */
+    public synchronized InventoryQuerySubscription subscribe(IInventoryQuery query, IInventoryResultListener listener) {
+        Objects.requireNonNull(query, "query");
+        Objects.requireNonNull(listener, "listener");
+        var chain = InventoryQueryChain.analyze(query);
+        if (chain == null || chain.getRepository() != repository || !chain.isOnlyFiltersAndSorts()) {
+            throw new IllegalArgumentException(
+                "Only filter and sort queries over this repository can be subscribed to.");
+        }
+
+        var view = views.get(chain.getKey());
+        if (view == null) {
+            view = new LiveInventoryView(chain, repository.snapshot());
+            views.put(chain.getKey(), view);
+            for (var id : view.getCandidateIds()) {
+                viewsByItem.computeIfAbsent(id, key -> new ArrayList<>(1)).add(view);
+            }
+        }
+        var subscription = new InventoryQuerySubscription(this, view, listener, deliveryExecutor);
+        view.getSubscriptions().add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Gets the number of distinct result sets being maintained.
+     */
+    public synchronized int getViewCount() {
+        return views.size();
+    }
+
+    /**
+     * Stops listening to the repository; subscriptions receive no further changes. Changes already queued are still
+     * delivered.
+     */
+    @Override
+    public void close() {
+        repository.removeChangeListener(listener);
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    synchronized List<InventoryItem> getItems(LiveInventoryView view) {
+        return List.copyOf(view.getResults());
+    }
+
+    synchronized void unsubscribe(LiveInventoryView view, InventoryQuerySubscription subscription) {
+        var subscriptions = view.getSubscriptions();
+        if (!subscriptions.remove(subscription) || !subscriptions.isEmpty()) {
+            return;
+        }
+        views.remove(view.getKey());
+        for (var id : view.getCandidateIds()) {
+            var itemViews = viewsByItem.get(id);
+            itemViews.remove(view);
+            if (itemViews.isEmpty()) {
+                viewsByItem.remove(id);
+            }
+        }
+    }
+
+    private void onItemChanged(InventorySnapshot snapshot, InventoryItem previous, InventoryItem current) {
+        for (var subscription : applyChange(snapshot, current)) {
+            subscription.deliver();
+        }
+    }
+
+    /**
+     * Updates the views that list an item and queues the resulting changes, in order, for their subscriptions.
+     *
+     * @return the subscriptions that were given changes.
+     */
+    private synchronized List<InventoryQuerySubscription> applyChange(InventorySnapshot snapshot,
+                                                                      InventoryItem current) {
+        var id = current.getInventoryItemId();
+        var itemViews = viewsByItem.get(id);
+        if (itemViews == null) {
+            return List.of();
+        }
+        var version = snapshot.getVersion();
+        var applied = appliedVersions.get(id);
+        if (applied != null && applied >= version) {
+            return List.of();
+        }
+        appliedVersions.put(id, version);
+
+        var notified = new ArrayList<InventoryQuerySubscription>();
+        for (var view : itemViews) {
+            if (view.getBaseVersion() >= version) {
+                continue;
+            }
+            var change = view.apply(current, version);
+            if (change == null) {
+                continue;
+            }
+            // queued under the lock, so each subscription's queue holds its changes in the order they apply
+            for (var subscription : view.getSubscriptions()) {
+                subscription.enqueue(change);
+                notified.add(subscription);
+            }
+        }
+        return notified;
+    }
+}
@@ -0,0 +1,23 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.util.Objects;
+
+/**
+ * One incremental change to a subscribed query's results. Indexes are positions in the result list: the
+ * {@code fromIndex} in the list before the change, and the {@code toIndex} in the list after it.
+ *
+ * @param kind      How the results changed.
+ * @param item      The item as of the change; for {@link InventoryResultChangeKind#DELETE}, the item that left.
+ * @param fromIndex The item's index before the change, or -1 for {@link InventoryResultChangeKind#INSERT}.
+ * @param toIndex   The item's index after the change, or -1 for {@link InventoryResultChangeKind#DELETE}.
+ * @param version   The catalogue version that made the change.
+ */
+public record InventoryResultChange(InventoryResultChangeKind kind, InventoryItem item, int fromIndex, int toIndex,
+                                    long version) {
+    public InventoryResultChange {
+        Objects.requireNonNull(kind, "kind");
+        Objects.requireNonNull(item, "item");
+    }
+}
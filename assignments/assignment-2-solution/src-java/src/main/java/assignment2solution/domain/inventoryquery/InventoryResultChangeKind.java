@@ -0,0 +1,26 @@
+package assignment2solution.domain.inventoryquery;
+
+/**
+ * Specifies how a change to an item changed a subscribed query's results.
+ */
+public enum InventoryResultChangeKind {
+    /**
+     * The item entered the results.
+     */
+    INSERT,
+
+    /**
+     * The item left the results.
+     */
+    DELETE,
+
+    /**
+     * The item stayed in the results but moved to another index.
+     */
+    MOVE,
+
+    /**
+     * The item changed in place, at the same index.
+     */
+    UPDATE
+}
@@ -0,0 +1,42 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Base class for decorators that stably sort items by a comparator.
+ * Exposing the comparator lets the {@link InventoryQueryPlanner} collapse consecutive sorts into one.
+ */
+public abstract class InventorySortDecoratorBase extends InventoryQueryDecoratorBase {
+    /**
+     * Initializes a new instance of the {@link InventorySortDecoratorBase} class.
+     *
+     * @param inner The inner query to decorate.
+     */
+    protected InventorySortDecoratorBase(IInventoryQuery inner) {
+        super(inner);
+    }
+
+    /**
+     * Gets the comparator that defines this sort's order.
+     */
+    protected abstract Comparator<InventoryItem> getComparator();
+
+    @Override
+    protected List<InventoryItem> decorate(List<InventoryItem> items) {
+        return items.stream()
+            .sorted(getComparator())
+            .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public List<InventoryItem> execute(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be non-negative");
+        }
+        return TopK.select(getInner().stream().iterator(), getComparator(), limit);
+    }
+}
@@ -0,0 +1,116 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventorySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The maintained results of one filter and sort chain, shared by every subscription to an equal chain.
+ *
+ * <p>The results are kept sorted by the chain's comparator and then by catalogue position, the order a stable sort
+ * of the catalogue gives, so they always equal what re-running the query would return. A changed item is found by
+ * binary search and moved, inserted or removed in place. Not thread-safe; {@link InventoryQuerySubscriptions}
+ * guards it.
+ */
+final class LiveInventoryView {
+    private final InventoryQueryChain chain;
+    private final long baseVersion;
+    private final Map<UUID, Integer> candidatePositions = new HashMap<>();
+    private final Map<UUID, InventoryItem> members = new HashMap<>();
+    private final List<InventoryItem> results = new ArrayList<>();
+    private final Comparator<InventoryItem> order;
+    private final List<InventoryQuerySubscription> subscriptions = new ArrayList<>();
+
+    /**
+     * Builds the view's results from a snapshot.
+     */
+    LiveInventoryView(InventoryQueryChain chain, InventorySnapshot snapshot) {
+        this.chain = chain;
+        this.baseVersion = snapshot.getVersion();
+
+        var items = snapshot.getItems();
+        for (int position = 0; position < items.size(); position++) {
+            var item = items.get(position);
+            if (!chain.matchesQuantityIndependentFilters(item)) {
+                continue;
+            }
+            candidatePositions.put(item.getInventoryItemId(), position);
+            if (chain.matchesAll(item)) {
+                results.add(item);
+                members.put(item.getInventoryItemId(), item);
+            }
+        }
+
+        Comparator<InventoryItem> byPosition = Comparator.comparingInt(
+            item -> candidatePositions.get(item.getInventoryItemId()));
+        var sort = chain.getSortComparator();
+        this.order = sort == null ? byPosition : sort.thenComparing(byPosition);
+        results.sort(order);
+    }
+
+    /**
+     * Gets the ids of the items that could ever be in the results: those passing every filter that does not read
+     * quantities. Only changes to these items can change the results.
+     */
+    Iterable<UUID> getCandidateIds() {
+        return candidatePositions.keySet();
+    }
+
+    /**
+     * Gets the normalised chain key the view is shared under.
+     */
+    List<String> getKey() {
+        return chain.getKey();
+    }
+
+    long getBaseVersion() {
+        return baseVersion;
+    }
+
+    List<InventoryQuerySubscription> getSubscriptions() {
+        return subscriptions;
+    }
+
+    List<InventoryItem> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Applies a changed item to the results.
+     *
+     * @return the change to the results, or null when the item was and stays outside them.
+     */
+    InventoryResultChange apply(InventoryItem current, long version) {
+        var id = current.getInventoryItemId();
+        var member = members.get(id);
+        var matches = chain.matchesAll(current);
+
+        var fromIndex = -1;
+        if (member != null) {
+            fromIndex = Collections.binarySearch(results, member, order);
+            results.remove(fromIndex);
+            members.remove(id);
+        }
+        if (!matches) {
+            return member == null
+                ? null
+                : new InventoryResultChange(InventoryResultChangeKind.DELETE, member, fromIndex, -1, version);
+        }
+
+        var toIndex = -Collections.binarySearch(results, current, order) - 1;
+        results.add(toIndex, current);
+        members.put(id, current);
+        if (member == null) {
+            return new InventoryResultChange(InventoryResultChangeKind.INSERT, current, -1, toIndex, version);
+        }
+        var kind = fromIndex == toIndex ? InventoryResultChangeKind.UPDATE : InventoryResultChangeKind.MOVE;
+        return new InventoryResultChange(kind, current, fromIndex, toIndex, version);
+    }
+}
@@ -2,6 +2,7 @@ package assignment2solution.domain.inventoryquery;
 
 import assignment2solution.domain.inventory.InventoryItem;
 import assignment2solution.domain.inventory.StarRating;
+import assignment2solution.domain.money.Money;
 
 import java.math.BigDecimal;
 import java.util.Objects;
@@ -19,17 +20,17 @@ public final class QueriedInventoryItem extends InventoryItem {
         this.index = index;
     }
 
+    private QueriedInventoryItem(int index, InventoryItem item, Money price) {
+        super(item.getInventoryItemId(), item.getName(), price, item.getQuantity(), item.getStarRating());
+        this.index = index;
+    }
+
     /**
      * Initializes a new instance of the {@link QueriedInventoryItem} class based on an existing
      * {@link InventoryItem}.
      */
     public QueriedInventoryItem(int index, InventoryItem item) {
-        this(index,
-            Objects.requireNonNull(item, "item").getInventoryItemId(),
-            item.getName(),
-            item.getPrice(),
-            item.getQuantity(),
-            item.getStarRating());
+        this(index, item, Objects.requireNonNull(item, "item").getUnitPrice());
     }
 
     /**
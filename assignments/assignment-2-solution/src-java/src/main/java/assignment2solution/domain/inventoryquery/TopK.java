@@ -0,0 +1,63 @@
+package assignment2solution.domain.inventoryquery;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selects the first items of a stable sort without sorting everything: a bounded heap keeps the best {@code limit}
+ * items seen so far, costing O(n log limit) time and O(limit) memory.
+ */
+final class TopK {
+    private TopK() {
+    }
+
+    /**
+     * Gets the items a stable sort of the input would put first, in that order.
+     */
+    static List<InventoryItem> select(Iterator<InventoryItem> items, Comparator<InventoryItem> comparator, int limit) {
+        if (limit == 0) {
+            return List.of();
+        }
+
+        // equal items keep their input order, as in a stable sort
+        Comparator<Ranked> order = (left, right) -> {
+            var byItem = comparator.compare(left.item, right.item);
+            return byItem != 0 ? byItem : Long.compare(left.sequence, right.sequence);
+        };
+        var worstFirst = new PriorityQueue<Ranked>(Math.min(limit, 1024) + 1, order.reversed());
+        long sequence = 0;
+        while (items.hasNext()) {
+            var ranked = new Ranked(items.next(), sequence++);
+            if (worstFirst.size() < limit) {
+                worstFirst.add(ranked);
+            } else if (order.compare(ranked, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(ranked);
+            }
+        }
+
+        var best = new ArrayList<>(worstFirst);
+        best.sort(order);
+        var results = new ArrayList<InventoryItem>(best.size());
+        for (var ranked : best) {
+            results.add(ranked.item);
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    private static final class Ranked {
+        private final InventoryItem item;
+        private final long sequence;
+
+        private Ranked(InventoryItem item, long sequence) {
+            this.item = item;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -1,16 +1,17 @@
 package assignment2solution.domain.inventoryquery.filters;
 
 import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventorySnapshot;
 import assignment2solution.domain.inventoryquery.IInventoryQuery;
-import assignment2solution.domain.inventoryquery.InventoryQueryDecoratorBase;
+import assignment2solution.domain.inventoryquery.InventoryFilterBounds;
+import assignment2solution.domain.inventoryquery.InventoryFilterDecoratorBase;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A filter that filters inventory items by their availability.
  */
-public final class AvailabilityFilterDecorator extends InventoryQueryDecoratorBase {
+public final class AvailabilityFilterDecorator extends InventoryFilterDecoratorBase {
     private final Boolean isAvailable;
 
     /**
@@ -32,14 +33,32 @@ public final class AvailabilityFilterDecorator extends InventoryQueryDecoratorBa
     }
 
     @Override
-    protected List<InventoryItem> decorate(List<InventoryItem> items) {
-        if (isAvailable == null) {
-            return items;
-        }
+    protected boolean isPassThrough() {
+        return isAvailable == null;
+    }
 
-        var filtered = isAvailable ? items.stream().filter(InventoryItem::isAvailable)
-            : items.stream().filter(i -> !i.isAvailable());
+    @Override
+    protected List<InventoryItem> executeFromIndex(InventorySnapshot snapshot) {
+        return snapshot.findByAvailability(isAvailable);
+    }
 
-        return filtered.collect(Collectors.toUnmodifiableList());
+    @Override
+    protected int estimateFromIndex(InventorySnapshot snapshot) {
+        return snapshot.countByAvailability(isAvailable);
+    }
+
+    @Override
+    protected boolean compileInto(InventoryFilterBounds bounds) {
+        if (isAvailable) {
+            bounds.restrictQuantity(1, Integer.MAX_VALUE);
+        } else {
+            bounds.restrictQuantity(Integer.MIN_VALUE, 0);
+        }
+        return true;
+    }
+
+    @Override
+    protected boolean matches(InventoryItem item) {
+        return item.isAvailable() == isAvailable;
     }
 }
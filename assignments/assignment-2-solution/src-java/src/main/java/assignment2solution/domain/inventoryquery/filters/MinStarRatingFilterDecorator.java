@@ -1,16 +1,17 @@
 package assignment2solution.domain.inventoryquery.filters;
 
 import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventorySnapshot;
 import assignment2solution.domain.inventoryquery.IInventoryQuery;
-import assignment2solution.domain.inventoryquery.InventoryQueryDecoratorBase;
+import assignment2solution.domain.inventoryquery.InventoryFilterBounds;
+import assignment2solution.domain.inventoryquery.InventoryFilterDecoratorBase;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A filter that filters inventory items by a minimum star rating.
  */
-public final class MinStarRatingFilterDecorator extends InventoryQueryDecoratorBase {
+public final class MinStarRatingFilterDecorator extends InventoryFilterDecoratorBase {
     private final int minRating;
 
     /**
@@ -30,9 +31,28 @@ public final class MinStarRatingFilterDecorator extends InventoryQueryDecoratorB
     }
 
     @Override
-    protected List<InventoryItem> decorate(List<InventoryItem> items) {
-        return items.stream()
-            .filter(i -> i.getStarRating().getRating() >= minRating)
-            .collect(Collectors.toUnmodifiableList());
+    protected List<InventoryItem> executeFromIndex(InventorySnapshot snapshot) {
+        return snapshot.findByStarRatingRange(minRating, null);
+    }
+
+    @Override
+    protected int estimateFromIndex(InventorySnapshot snapshot) {
+        return snapshot.countByStarRatingRange(minRating, null);
+    }
+
+    @Override
+    protected boolean compileInto(InventoryFilterBounds bounds) {
+        bounds.restrictStarRating(minRating, Integer.MAX_VALUE);
+        return true;
+    }
+
+    @Override
+    protected boolean readsQuantity() {
+        return false;
+    }
+
+    @Override
+    protected boolean matches(InventoryItem item) {
+        return item.getStarRating().getRating() >= minRating;
     }
 }
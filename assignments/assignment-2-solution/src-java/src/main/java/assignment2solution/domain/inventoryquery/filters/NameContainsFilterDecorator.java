@@ -1,26 +1,39 @@
 package assignment2solution.domain.inventoryquery.filters;
 
 import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventorySnapshot;
+import assignment2solution.domain.inventory.NameSearch;
 import assignment2solution.domain.inventoryquery.IInventoryQuery;
-import assignment2solution.domain.inventoryquery.InventoryQueryDecoratorBase;
+import assignment2solution.domain.inventoryquery.InventoryFilterBounds;
+import assignment2solution.domain.inventoryquery.InventoryFilterDecoratorBase;
 
 import java.util.List;
-import java.util.Locale;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * A filter that filters inventory items by checking if their name contains a substring.
+ * In fuzzy mode a name also matches when it contains the substring with a small typo; see {@link NameSearch}.
  */
-public final class NameContainsFilterDecorator extends InventoryQueryDecoratorBase {
+public final class NameContainsFilterDecorator extends InventoryFilterDecoratorBase {
     private final String substring;
+    private final NameSearch search;
 
     /**
      * Initializes a new instance of the {@link NameContainsFilterDecorator} class.
      */
     public NameContainsFilterDecorator(IInventoryQuery inner, String substring) {
+        this(inner, substring, false);
+    }
+
+    /**
+     * Initializes a new instance of the {@link NameContainsFilterDecorator} class.
+     *
+     * @param isFuzzy Whether names that contain the substring with a small typo also match.
+     */
+    public NameContainsFilterDecorator(IInventoryQuery inner, String substring, boolean isFuzzy) {
         super(inner);
         this.substring = Objects.requireNonNull(substring, "substring");
+        this.search = isFuzzy ? NameSearch.similarTo(substring) : NameSearch.contains(substring);
     }
 
     @Override
@@ -28,18 +41,40 @@ public final class NameContainsFilterDecorator extends InventoryQueryDecoratorBa
         if (substring.trim().isEmpty()) {
             return null;
         }
+        if (search.isFuzzy()) {
+            return "Filter: Name resembles \"" + substring + "\"";
+        }
         return "Filter: Name contains \"" + substring + "\"";
     }
 
     @Override
-    protected List<InventoryItem> decorate(List<InventoryItem> items) {
-        if (substring.trim().isEmpty()) {
-            return items;
-        }
+    protected boolean isPassThrough() {
+        return substring.trim().isEmpty();
+    }
+
+    @Override
+    protected List<InventoryItem> executeFromIndex(InventorySnapshot snapshot) {
+        return snapshot.findByName(search);
+    }
+
+    @Override
+    protected int estimateFromIndex(InventorySnapshot snapshot) {
+        return snapshot.estimateCountByName(search);
+    }
 
-        var lowered = substring.toLowerCase(Locale.ROOT);
-        return items.stream()
-            .filter(i -> i.getName().toLowerCase(Locale.ROOT).contains(lowered))
-            .collect(Collectors.toUnmodifiableList());
+    @Override
+    protected boolean compileInto(InventoryFilterBounds bounds) {
+        bounds.requireName(search);
+        return true;
+    }
+
+    @Override
+    protected boolean readsQuantity() {
+        return false;
+    }
+
+    @Override
+    protected boolean matches(InventoryItem item) {
+        return search.matches(item.getName());
     }
 }
@@ -1,21 +1,25 @@
 package assignment2solution.domain.inventoryquery.filters;
 
 import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventorySnapshot;
 import assignment2solution.domain.inventoryquery.IInventoryQuery;
-import assignment2solution.domain.inventoryquery.InventoryQueryDecoratorBase;
+import assignment2solution.domain.inventoryquery.InventoryFilterBounds;
+import assignment2solution.domain.inventoryquery.InventoryFilterDecoratorBase;
+import assignment2solution.domain.money.Money;
 
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
 /**
  * A filter that filters inventory items by a price range.
  */
-public final class PriceRangeFilterDecorator extends InventoryQueryDecoratorBase {
+public final class PriceRangeFilterDecorator extends InventoryFilterDecoratorBase {
     private final BigDecimal min;
     private final BigDecimal max;
+    private final long minCents;
+    private final long maxCents;
     private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
 
     /**
@@ -34,6 +38,8 @@ public final class PriceRangeFilterDecorator extends InventoryQueryDecoratorBase
         }
         this.min = minInclusive;
         this.max = maxInclusive;
+        this.minCents = minInclusive == null ? Long.MIN_VALUE : Money.ceilingCents(minInclusive);
+        this.maxCents = maxInclusive == null ? Long.MAX_VALUE : Money.floorCents(maxInclusive);
     }
 
     @Override
@@ -52,16 +58,41 @@ public final class PriceRangeFilterDecorator extends InventoryQueryDecoratorBase
     }
 
     @Override
-    protected List<InventoryItem> decorate(List<InventoryItem> items) {
-        var stream = items.stream();
+    protected String getCacheKey() {
+        // the description rounds to cents, so key on the exact bounds instead
+        return "Price " + (min == null ? "" : min.stripTrailingZeros().toPlainString()) + ".."
+            + (max == null ? "" : max.stripTrailingZeros().toPlainString());
+    }
 
-        if (min != null) {
-            stream = stream.filter(i -> i.getPrice().compareTo(min) >= 0);
-        }
-        if (max != null) {
-            stream = stream.filter(i -> i.getPrice().compareTo(max) <= 0);
-        }
+    @Override
+    protected boolean isPassThrough() {
+        return min == null && max == null;
+    }
 
-        return stream.collect(Collectors.toUnmodifiableList());
+    @Override
+    protected List<InventoryItem> executeFromIndex(InventorySnapshot snapshot) {
+        return snapshot.findByPriceRange(min, max);
+    }
+
+    @Override
+    protected int estimateFromIndex(InventorySnapshot snapshot) {
+        return snapshot.countByPriceRange(min, max);
+    }
+
+    @Override
+    protected boolean compileInto(InventoryFilterBounds bounds) {
+        bounds.restrictPriceCents(minCents, maxCents);
+        return true;
+    }
+
+    @Override
+    protected boolean readsQuantity() {
+        return false;
+    }
+
+    @Override
+    protected boolean matches(InventoryItem item) {
+        var cents = item.getUnitPrice().getCents();
+        return cents >= minCents && cents <= maxCents;
     }
 }
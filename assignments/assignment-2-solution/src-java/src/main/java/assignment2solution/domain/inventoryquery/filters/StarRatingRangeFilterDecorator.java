@@ -1,16 +1,17 @@
 package assignment2solution.domain.inventoryquery.filters;
 
 import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventorySnapshot;
 import assignment2solution.domain.inventoryquery.IInventoryQuery;
-import assignment2solution.domain.inventoryquery.InventoryQueryDecoratorBase;
+import assignment2solution.domain.inventoryquery.InventoryFilterBounds;
+import assignment2solution.domain.inventoryquery.InventoryFilterDecoratorBase;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A filter that filters inventory items by a range of star ratings.
  */
-public final class StarRatingRangeFilterDecorator extends InventoryQueryDecoratorBase {
+public final class StarRatingRangeFilterDecorator extends InventoryFilterDecoratorBase {
     private final Integer min;
     private final Integer max;
 
@@ -47,16 +48,34 @@ public final class StarRatingRangeFilterDecorator extends InventoryQueryDecorato
     }
 
     @Override
-    protected List<InventoryItem> decorate(List<InventoryItem> items) {
-        var stream = items.stream();
+    protected boolean isPassThrough() {
+        return min == null && max == null;
+    }
 
-        if (min != null) {
-            stream = stream.filter(i -> i.getStarRating().getRating() >= min);
-        }
-        if (max != null) {
-            stream = stream.filter(i -> i.getStarRating().getRating() <= max);
-        }
+    @Override
+    protected List<InventoryItem> executeFromIndex(InventorySnapshot snapshot) {
+        return snapshot.findByStarRatingRange(min, max);
+    }
+
+    @Override
+    protected int estimateFromIndex(InventorySnapshot snapshot) {
+        return snapshot.countByStarRatingRange(min, max);
+    }
+
+    @Override
+    protected boolean compileInto(InventoryFilterBounds bounds) {
+        bounds.restrictStarRating(min == null ? Integer.MIN_VALUE : min, max == null ? Integer.MAX_VALUE : max);
+        return true;
+    }
 
-        return stream.collect(Collectors.toUnmodifiableList());
+    @Override
+    protected boolean readsQuantity() {
+        return false;
+    }
+
+    @Override
+    protected boolean matches(InventoryItem item) {
+        var rating = item.getStarRating().getRating();
+        return (min == null || rating >= min) && (max == null || rating <= max);
     }
 }
@@ -2,17 +2,15 @@ package assignment2solution.domain.inventoryquery.sorts;
 
 import assignment2solution.domain.inventory.InventoryItem;
 import assignment2solution.domain.inventoryquery.IInventoryQuery;
-import assignment2solution.domain.inventoryquery.InventoryQueryDecoratorBase;
+import assignment2solution.domain.inventoryquery.InventorySortDecoratorBase;
 
 import java.util.Comparator;
-import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
 /**
  * A decorator that sorts inventory items by star rating.
  */
-public final class SortByStarRatingDecorator extends InventoryQueryDecoratorBase {
+public final class SortByStarRatingDecorator extends InventorySortDecoratorBase {
     private final SortDirection direction;
 
     /**
@@ -33,11 +31,8 @@ public final class SortByStarRatingDecorator extends InventoryQueryDecoratorBase
     }
 
     @Override
-    protected List<InventoryItem> decorate(List<InventoryItem> items) {
+    protected Comparator<InventoryItem> getComparator() {
         var comparator = Comparator.comparingInt((InventoryItem i) -> i.getStarRating().getRating());
-        if (direction == SortDirection.DESCENDING) {
-            comparator = comparator.reversed();
-        }
-        return items.stream().sorted(comparator).collect(Collectors.toUnmodifiableList());
+        return direction == SortDirection.DESCENDING ? comparator.reversed() : comparator;
     }
 }
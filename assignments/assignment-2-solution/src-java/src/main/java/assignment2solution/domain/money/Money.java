@@ -0,0 +1,159 @@
+package assignment2solution.domain.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * An exact amount of US dollars, held as a whole number of cents in a {@code long}.
+ * Comparisons and arithmetic work on the cents directly, so they never round and never create intermediate
+ * {@link BigDecimal} values; they throw {@link ArithmeticException} instead of overflowing. Converting an amount
+ * that has fractions of a cent requires an explicit {@link RoundingMode}.
+ *
+ * <p>Java 17 has no value types, so each non-zero result of {@link #add}, {@link #multiply(int)} and the like is one
+ * small object; the JIT removes it only when escape analysis proves it does not outlive the call. Code that sums
+ * many amounts, such as {@link assignment2solution.domain.cart.Cart#getTotalAmount()}, adds the cents from
+ * {@link #getCents()} in a {@code long} and creates one {@code Money} for the result.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+    private static final BigDecimal MIN_AMOUNT = BigDecimal.valueOf(Long.MIN_VALUE, SCALE);
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(Long.MAX_VALUE, SCALE);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    /**
+     * Creates an amount from a whole number of cents.
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Creates an amount from a decimal that must be a whole number of cents.
+     *
+     * @throws IllegalArgumentException when the amount has fractions of a cent or does not fit in a {@code long}.
+     */
+    public static Money of(BigDecimal amount) {
+        return of(amount, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Creates an amount from a decimal, rounding fractions of a cent.
+     *
+     * @throws IllegalArgumentException when the amount does not fit in a {@code long}, or has fractions of a cent
+     *                                  and the rounding mode is {@link RoundingMode#UNNECESSARY}.
+     */
+    public static Money of(BigDecimal amount, RoundingMode rounding) {
+        Objects.requireNonNull(amount, "amount");
+        Objects.requireNonNull(rounding, "rounding");
+        try {
+            return ofCents(amount.setScale(SCALE, rounding).unscaledValue().longValueExact());
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount is not a whole number of cents or is too large: " + amount);
+        }
+    }
+
+    /**
+     * Converts an inclusive lower bound to the smallest whole number of cents at or above it. Bounds beyond the
+     * range of a {@code long} become {@link Long#MIN_VALUE} or {@link Long#MAX_VALUE}, so comparisons stay correct.
+     */
+    public static long ceilingCents(BigDecimal lowerBound) {
+        return toBoundCents(lowerBound, RoundingMode.CEILING);
+    }
+
+    /**
+     * Converts an inclusive upper bound to the largest whole number of cents at or below it, saturating like
+     * {@link #ceilingCents(BigDecimal)}.
+     */
+    public static long floorCents(BigDecimal upperBound) {
+        return toBoundCents(upperBound, RoundingMode.FLOOR);
+    }
+
+    /**
+     * Gets the amount as a whole number of cents.
+     */
+    public long getCents() {
+        return cents;
+    }
+
+    public Money add(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money subtract(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money multiply(int quantity) {
+        return ofCents(Math.multiplyExact(cents, (long) quantity));
+    }
+
+    /**
+     * Multiplies by a decimal factor such as a tax rate, rounding the result to whole cents.
+     */
+    public Money multiply(BigDecimal factor, RoundingMode rounding) {
+        return of(toBigDecimal().multiply(factor), rounding);
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    /**
+     * Converts the amount to a decimal with two fraction digits.
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Formats the amount as US currency, as {@code NumberFormat.getCurrencyInstance(Locale.US)} would
+     * (for example {@code $1,234.50} or {@code -$0.99}).
+     */
+    public String format() {
+        var dollars = Math.abs(cents / 100);
+        return String.format(Locale.US, "%s$%,d.%02d", cents < 0 ? "-" : "", dollars, Math.abs(cents % 100));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Money && ((Money) obj).cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    /**
+     * Returns the amount as a plain decimal, such as {@code 12.50}.
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private static long toBoundCents(BigDecimal bound, RoundingMode rounding) {
+        Objects.requireNonNull(bound, "bound");
+        if (bound.compareTo(MIN_AMOUNT) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        if (bound.compareTo(MAX_AMOUNT) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        return bound.setScale(SCALE, rounding).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,72 @@
+package assignment2solution.domain.payment;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Limits how many asynchronous tasks run at once without blocking any thread: a task over the limit waits in a
+ * queue, and is started when a running task's future completes.
+ */
+final class AsyncLimiter {
+    private final int maxConcurrent;
+    private final Queue<Runnable> waiting = new ArrayDeque<>();
+    private int running;
+
+    /**
+     * Initializes a new instance of the {@link AsyncLimiter} class.
+     */
+    AsyncLimiter(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * Starts the task now if fewer than the limit are running, or queues it otherwise. The task holds its slot until
+     * the future it returns completes, so it should return the future of all the work it started.
+     */
+    void submit(Supplier<? extends CompletableFuture<?>> task) {
+        Runnable start = () -> {
+            CompletableFuture<?> started;
+            try {
+                started = task.get();
+            } catch (RuntimeException ex) {
+                started = CompletableFuture.failedFuture(ex);
+            }
+            started.whenComplete((value, error) -> release());
+        };
+
+        synchronized (this) {
+            if (running == maxConcurrent) {
+                waiting.add(start);
+                return;
+            }
+            running++;
+        }
+        start.run();
+    }
+
+    synchronized int getRunning() {
+        return running;
+    }
+
+    synchronized int getWaiting() {
+        return waiting.size();
+    }
+
+    /**
+     * Hands the finished task's slot to the next waiting task, if any. The next task starts on the common pool, so
+     * a queue of tasks that fail at once does not start each other recursively on one stack.
+     */
+    private void release() {
+        Runnable next;
+        synchronized (this) {
+            next = waiting.poll();
+            if (next == null) {
+                running--;
+                return;
+            }
+        }
+        CompletableFuture.runAsync(next);
+    }
+}
@@ -1,19 +1,19 @@
 package assignment2solution.domain.payment;
 
+import assignment2solution.domain.cart.Cart;
 import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.money.Money;
 
 import java.io.PrintWriter;
 import java.io.Writer;
-import java.text.NumberFormat;
-import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A payment strategy for credit card payments.
  */
 public final class CreditCardStrategy extends PaymentStrategyBase {
     private final String cardNumber;
-    private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
 
     /**
      * Initializes a new instance of the {@link CreditCardStrategy} class.
@@ -29,9 +29,27 @@ public final class CreditCardStrategy extends PaymentStrategyBase {
     public void checkout(InventoryItem item, int quantity, Writer output) {
         Objects.requireNonNull(item, "item");
         Objects.requireNonNull(output, "output");
+        checkout(computeTotalAmount(item, quantity), output);
+    }
+
+    @Override
+    public void checkout(Cart cart, Writer output) {
+        Objects.requireNonNull(cart, "cart");
+        Objects.requireNonNull(output, "output");
+        checkout(computeTotalAmount(cart), output);
+    }
+
+    @Override
+    public CompletableFuture<PaymentReceipt> checkoutAsync(Cart cart, IPaymentGateway gateway) {
+        Objects.requireNonNull(cart, "cart");
+        Objects.requireNonNull(gateway, "gateway");
+        return gateway.charge(new PaymentRequest("Credit Card", "Number: " + cardNumber,
+            computeTotalAmount(cart)));
+    }
+
+    private void checkout(Money total, Writer output) {
         var writer = output instanceof PrintWriter ? (PrintWriter) output : new PrintWriter(output, true);
-        var total = computeTotalAmount(item, quantity);
-        writer.println("Checking out " + currencyFormatter.format(total) + " using Credit Card (Number: "
+        writer.println("Checking out " + total.format() + " using Credit Card (Number: "
             + cardNumber + ").");
     }
 }
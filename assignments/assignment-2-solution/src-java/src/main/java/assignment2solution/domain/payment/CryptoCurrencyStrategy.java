@@ -1,12 +1,13 @@
 package assignment2solution.domain.payment;
 
+import assignment2solution.domain.cart.Cart;
 import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.money.Money;
 
 import java.io.PrintWriter;
 import java.io.Writer;
-import java.text.NumberFormat;
-import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A payment strategy for cryptocurrency payments.
@@ -14,7 +15,6 @@ import java.util.Objects;
 public final class CryptoCurrencyStrategy extends PaymentStrategyBase {
     private final String walletAddress;
     private final String transactionSignature;
-    private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
 
     /**
      * Initializes a new instance of the {@link CryptoCurrencyStrategy} class.
@@ -34,9 +34,27 @@ public final class CryptoCurrencyStrategy extends PaymentStrategyBase {
     public void checkout(InventoryItem item, int quantity, Writer output) {
         Objects.requireNonNull(item, "item");
         Objects.requireNonNull(output, "output");
+        checkout(computeTotalAmount(item, quantity), output);
+    }
+
+    @Override
+    public void checkout(Cart cart, Writer output) {
+        Objects.requireNonNull(cart, "cart");
+        Objects.requireNonNull(output, "output");
+        checkout(computeTotalAmount(cart), output);
+    }
+
+    @Override
+    public CompletableFuture<PaymentReceipt> checkoutAsync(Cart cart, IPaymentGateway gateway) {
+        Objects.requireNonNull(cart, "cart");
+        Objects.requireNonNull(gateway, "gateway");
+        return gateway.charge(new PaymentRequest("CryptoCurrency",
+            "Wallet: " + walletAddress + ", Signature: " + transactionSignature, computeTotalAmount(cart)));
+    }
+
+    private void checkout(Money total, Writer output) {
         var writer = output instanceof PrintWriter ? (PrintWriter) output : new PrintWriter(output, true);
-        var total = computeTotalAmount(item, quantity);
-        writer.println("Checking out " + currencyFormatter.format(total)
+        writer.println("Checking out " + total.format()
             + " using CryptoCurrency (Wallet: " + walletAddress + ", Signature: " + transactionSignature + ").");
     }
 }
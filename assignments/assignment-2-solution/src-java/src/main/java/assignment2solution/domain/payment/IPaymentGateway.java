@@ -0,0 +1,22 @@
+package assignment2solution.domain.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Defines the external service that charges payments.
+ */
+public interface IPaymentGateway {
+    /**
+     * Starts a charge without blocking the calling thread.
+     *
+     * @return A future that completes with the receipt, or exceptionally when the charge is declined or fails.
+     */
+    CompletableFuture<PaymentReceipt> charge(PaymentRequest request);
+
+    /**
+     * Starts cancelling an approved charge that nobody is waiting for any more, without blocking the calling thread.
+     *
+     * @return A future that completes once the charge is void, or exceptionally when it could not be voided.
+     */
+    CompletableFuture<Void> voidCharge(PaymentReceipt receipt);
+}
@@ -1,8 +1,10 @@
 package assignment2solution.domain.payment;
 
+import assignment2solution.domain.cart.Cart;
 import assignment2solution.domain.inventory.InventoryItem;
 
 import java.io.Writer;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines a strategy for processing payments for inventory items.
@@ -12,4 +14,16 @@ public interface IPaymentStrategy {
      * Processes the checkout for a specific item and quantity.
      */
     void checkout(InventoryItem item, int quantity, Writer output);
+
+    /**
+     * Processes the checkout for every line of a cart as a single payment.
+     */
+    void checkout(Cart cart, Writer output);
+
+    /**
+     * Starts charging every line of a cart as a single payment through a gateway, without blocking.
+     *
+     * @return A future that completes with the gateway's receipt.
+     */
+    CompletableFuture<PaymentReceipt> checkoutAsync(Cart cart, IPaymentGateway gateway);
 }
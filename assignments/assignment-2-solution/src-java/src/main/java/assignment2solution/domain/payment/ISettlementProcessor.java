@@ -0,0 +1,17 @@
+package assignment2solution.domain.payment;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Defines the external service that settles authorised payments in bulk.
+ */
+public interface ISettlementProcessor {
+    /**
+     * Starts settling a batch of one payment method's receipts in one call, without blocking the calling thread.
+     *
+     * @return A future that completes with the processor's id of the batch, or exceptionally when the batch is
+     *         rejected; a batch is settled whole or not at all.
+     */
+    CompletableFuture<String> settle(String paymentMethod, List<PaymentReceipt> receipts);
+}
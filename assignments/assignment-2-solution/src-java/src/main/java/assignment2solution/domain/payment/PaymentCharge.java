@@ -0,0 +1,23 @@
+package assignment2solution.domain.payment;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A charge started by {@link PaymentPipeline#charge(IPaymentStrategy, assignment2solution.domain.cart.Cart)}.
+ *
+ * <p>The two futures differ only when the caller gives up: a charge that times out fails {@code receipt} at once,
+ * but the gateway may still be working on it, so {@code settled} completes only when the gateway is done.
+ *
+ * @param receipt The future the caller waits on: it completes with the receipt, or exceptionally when the charge is
+ *                declined, fails or times out.
+ * @param settled Completes once the gateway is done with the charge: with true when the money was taken and kept,
+ *                or with false when it was not, because the charge was declined, failed, was never sent or was
+ *                voided after the caller gave up.
+ */
+public record PaymentCharge(CompletableFuture<PaymentReceipt> receipt, CompletableFuture<Boolean> settled) {
+    public PaymentCharge {
+        Objects.requireNonNull(receipt, "receipt");
+        Objects.requireNonNull(settled, "settled");
+    }
+}
@@ -0,0 +1,143 @@
+package assignment2solution.domain.payment;
+
+import assignment2solution.domain.cart.Cart;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Charges carts through a {@link IPaymentGateway} asynchronously, with a bounded number of charges in flight per
+ * payment strategy and a timeout on each charge.
+ *
+ * <p>No thread waits for the gateway. A charge over its strategy's limit is queued and started when one of that
+ * strategy's charges completes, so throughput is set by the gateway's latency and the limits, not by a thread pool.
+ * Each strategy has its own limit, so a slow cryptocurrency network cannot hold up card payments.
+ *
+ * <p>A charge's timeout starts when it is submitted, so it also covers the time spent queued; a charge whose caller
+ * gave up while it was queued is never sent. A charge that times out at the gateway keeps its slot until the gateway
+ * answers, so the gateway never has more than the limit in flight, and is voided if the gateway approves it late.
+ */
+public final class PaymentPipeline {
+    private final IPaymentGateway gateway;
+    private final int maxConcurrentPerStrategy;
+    private final long timeoutNanos;
+    private final ConcurrentHashMap<Class<?>, AsyncLimiter> limiters = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a new instance of the {@link PaymentPipeline} class.
+     *
+     * @param maxConcurrentPerStrategy The number of charges each payment strategy may have at the gateway at once.
+     * @param timeout                  How long a charge may take from being submitted, queued time included.
+     */
+    public PaymentPipeline(IPaymentGateway gateway, int maxConcurrentPerStrategy, Duration timeout) {
+        this.gateway = Objects.requireNonNull(gateway, "gateway");
+        if (maxConcurrentPerStrategy < 1) {
+            throw new IllegalArgumentException("maxConcurrentPerStrategy must be positive");
+        }
+        Objects.requireNonNull(timeout, "timeout");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        this.maxConcurrentPerStrategy = maxConcurrentPerStrategy;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    /**
+     * Charges the cart's total through the strategy.
+     *
+     * @return A future that completes with the receipt, or exceptionally with the gateway's failure or a
+     *         {@link TimeoutException} when the charge was not approved in time.
+     */
+    public CompletableFuture<PaymentReceipt> checkout(IPaymentStrategy strategy, Cart cart) {
+        return charge(strategy, cart).receipt();
+    }
+
+    /**
+     * Charges the cart's total through the strategy, and tells when the gateway is done with the charge and whether
+     * the money was kept, for callers that hold something back until then.
+     */
+    public PaymentCharge charge(IPaymentStrategy strategy, Cart cart) {
+        Objects.requireNonNull(strategy, "strategy");
+        Objects.requireNonNull(cart, "cart");
+        if (cart.isEmpty()) {
+            throw new IllegalArgumentException("Cart is empty.");
+        }
+
+        var receipt = new CompletableFuture<PaymentReceipt>();
+        var settled = new CompletableFuture<Boolean>();
+        // set by whichever comes first: sending the charge, or giving up on it while it is queued
+        var claimed = new AtomicBoolean();
+        limiterOf(strategy.getClass()).submit(() ->
+            claimed.compareAndSet(false, true) ? send(strategy, cart, receipt, settled) : settled);
+        receipt.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException && claimed.compareAndSet(false, true)) {
+                settled.complete(false);
+            }
+        });
+        return new PaymentCharge(receipt, settled);
+    }
+
+    /**
+     * Gets the number of a strategy's charges waiting at the gateway.
+     */
+    public int getInFlight(Class<? extends IPaymentStrategy> strategyType) {
+        return limiterOf(strategyType).getRunning();
+    }
+
+    /**
+     * Gets the number of a strategy's charges queued behind its limit.
+     */
+    public int getQueued(Class<? extends IPaymentStrategy> strategyType) {
+        return limiterOf(strategyType).getWaiting();
+    }
+
+    /**
+     * Sends a charge to the gateway.
+     *
+     * @return The settled future, which holds the charge's slot until the gateway is done with it.
+     */
+    private CompletableFuture<Boolean> send(IPaymentStrategy strategy, Cart cart,
+                                            CompletableFuture<PaymentReceipt> receipt,
+                                            CompletableFuture<Boolean> settled) {
+        CompletableFuture<PaymentReceipt> charge;
+        try {
+            charge = strategy.checkoutAsync(cart, gateway);
+        } catch (RuntimeException ex) {
+            charge = CompletableFuture.failedFuture(ex);
+        }
+        charge.whenComplete((approved, error) -> {
+            if (error != null) {
+                // settled first, so whatever was held back for the charge is released before the caller hears
+                settled.complete(false);
+                receipt.completeExceptionally(error);
+            } else if (receipt.complete(approved)) {
+                settled.complete(true);
+            } else {
+                voidCharge(approved, settled);
+            }
+        });
+        return settled;
+    }
+
+    /**
+     * Voids a charge approved after its caller gave up. If the gateway cannot void it, the money stays taken.
+     */
+    private void voidCharge(PaymentReceipt approved, CompletableFuture<Boolean> settled) {
+        CompletableFuture<Void> voided;
+        try {
+            voided = gateway.voidCharge(approved);
+        } catch (RuntimeException ex) {
+            voided = CompletableFuture.failedFuture(ex);
+        }
+        voided.whenComplete((value, error) -> settled.complete(error != null));
+    }
+
+    private AsyncLimiter limiterOf(Class<?> strategyType) {
+        return limiters.computeIfAbsent(strategyType, type -> new AsyncLimiter(maxConcurrentPerStrategy));
+    }
+}
@@ -0,0 +1,24 @@
+package assignment2solution.domain.payment;
+
+import java.util.Objects;
+
+/**
+ * The proof that a {@link PaymentRequest} was charged.
+ *
+ * @param request       The charge that was made.
+ * @param transactionId The gateway's id of the transaction.
+ */
+public record PaymentReceipt(PaymentRequest request, String transactionId) {
+    public PaymentReceipt {
+        Objects.requireNonNull(request, "request");
+        Objects.requireNonNull(transactionId, "transactionId");
+    }
+
+    /**
+     * Formats the receipt as the confirmation line shown to the customer.
+     */
+    public String format() {
+        return "Paid " + request.amount().format() + " using " + request.paymentMethod() + " ("
+            + request.accountDetails() + "), transaction " + transactionId + ".";
+    }
+}
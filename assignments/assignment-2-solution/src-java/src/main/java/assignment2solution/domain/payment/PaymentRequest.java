@@ -0,0 +1,20 @@
+package assignment2solution.domain.payment;
+
+import assignment2solution.domain.money.Money;
+
+import java.util.Objects;
+
+/**
+ * A charge a payment strategy asks a {@link IPaymentGateway} to make.
+ *
+ * @param paymentMethod  The name of the payment method, e.g. {@code "Credit Card"}.
+ * @param accountDetails The account to charge as shown to the customer, e.g. {@code "Number: 4111"}.
+ * @param amount         The amount to charge.
+ */
+public record PaymentRequest(String paymentMethod, String accountDetails, Money amount) {
+    public PaymentRequest {
+        Objects.requireNonNull(paymentMethod, "paymentMethod");
+        Objects.requireNonNull(accountDetails, "accountDetails");
+        Objects.requireNonNull(amount, "amount");
+    }
+}
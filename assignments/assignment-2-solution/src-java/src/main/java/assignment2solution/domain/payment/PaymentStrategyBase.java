@@ -1,8 +1,8 @@
 package assignment2solution.domain.payment;
 
+import assignment2solution.domain.cart.Cart;
 import assignment2solution.domain.inventory.InventoryItem;
-
-import java.math.BigDecimal;
+import assignment2solution.domain.money.Money;
 
 /**
  * Base class for payment strategies that provides common functionality.
@@ -11,7 +11,14 @@ public abstract class PaymentStrategyBase implements IPaymentStrategy {
     /**
      * Computes the total amount for a purchase.
      */
-    protected BigDecimal computeTotalAmount(InventoryItem item, int quantity) {
-        return item.getPrice().multiply(BigDecimal.valueOf(quantity));
+    protected Money computeTotalAmount(InventoryItem item, int quantity) {
+        return item.getUnitPrice().multiply(quantity);
+    }
+
+    /**
+     * Computes the total amount for every line of a cart.
+     */
+    protected Money computeTotalAmount(Cart cart) {
+        return cart.getTotalAmount();
     }
 }
@@ -0,0 +1,17 @@
+package assignment2solution.domain.payment;
+
+import java.util.Objects;
+
+/**
+ * The proof that an authorised payment was settled.
+ *
+ * @param receipt   The authorisation that was settled.
+ * @param batchId   The settlement processor's id of the batch the payment was settled in.
+ * @param batchSize The number of payments settled in the same batch.
+ */
+public record Settlement(PaymentReceipt receipt, String batchId, int batchSize) {
+    public Settlement {
+        Objects.requireNonNull(receipt, "receipt");
+        Objects.requireNonNull(batchId, "batchId");
+    }
+}
@@ -0,0 +1,178 @@
+package assignment2solution.domain.payment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects authorised payments per payment method and settles them through an {@link ISettlementProcessor} in
+ * batches, so the processor's per-call cost is paid once per batch instead of once per payment.
+ *
+ * <p>A method's batch is sent when it reaches the size limit, or when its first payment has waited the time limit,
+ * whichever comes first. Each submitted payment gets a future that completes with its {@link Settlement} when the
+ * processor settles the batch, or exceptionally with the processor's failure when the batch is rejected. No thread
+ * waits for the processor; one scheduler thread sends the batches whose time is up.
+ */
+public final class SettlementBatcher implements AutoCloseable {
+    private final ISettlementProcessor processor;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final long createdNanos = System.nanoTime();
+    private final Map<String, Batch> openBatches = new HashMap<>();
+    private boolean closed;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong settledPayments = new AtomicLong();
+    private final AtomicLong failedPayments = new AtomicLong();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+
+    /**
+     * Initializes a new instance of the {@link SettlementBatcher} class.
+     *
+     * @param maxBatchSize The number of payments that makes a batch be sent at once.
+     * @param maxDelay     The longest a payment waits for its batch to fill.
+     */
+    public SettlementBatcher(ISettlementProcessor processor, int maxBatchSize, Duration maxDelay) {
+        this.processor = Objects.requireNonNull(processor, "processor");
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        Objects.requireNonNull(maxDelay, "maxDelay");
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("maxDelay must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "settlement-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Adds an authorised payment to its method's open batch.
+     *
+     * @return A future that completes when the payment's batch is settled or rejected.
+     * @throws IllegalStateException when the batcher is closed.
+     */
+    public CompletableFuture<Settlement> submit(PaymentReceipt receipt) {
+        Objects.requireNonNull(receipt, "receipt");
+        var settlement = new CompletableFuture<Settlement>();
+        var paymentMethod = receipt.request().paymentMethod();
+        Batch full = null;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The settlement batcher is closed.");
+            }
+            var batch = openBatches.get(paymentMethod);
+            if (batch == null) {
+                var opened = new Batch(paymentMethod);
+                opened.timer = scheduler.schedule(() -> sendIfOpen(opened), maxDelayNanos, TimeUnit.NANOSECONDS);
+                openBatches.put(paymentMethod, opened);
+                batch = opened;
+            }
+            batch.receipts.add(receipt);
+            batch.settlements.add(settlement);
+            if (batch.receipts.size() == maxBatchSize) {
+                openBatches.remove(paymentMethod);
+                batch.timer.cancel(false);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return settlement;
+    }
+
+    /**
+     * Sends every open batch now, whatever its size.
+     */
+    public void flush() {
+        List<Batch> pending;
+        synchronized (this) {
+            pending = new ArrayList<>(openBatches.values());
+            openBatches.clear();
+        }
+        for (var batch : pending) {
+            batch.timer.cancel(false);
+            send(batch);
+        }
+    }
+
+    /**
+     * Gets the batcher's throughput and batch sizes so far.
+     */
+    public SettlementMetrics getMetrics() {
+        var settled = settledPayments.get();
+        return new SettlementMetrics(batches.get(), settled, failedPayments.get(), largestBatch.get(),
+            settled / ((System.nanoTime() - createdNanos) / 1e9));
+    }
+
+    /**
+     * Sends the open batches and stops accepting payments; batches already sent still complete.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        scheduler.shutdown();
+    }
+
+    private void sendIfOpen(Batch batch) {
+        synchronized (this) {
+            if (openBatches.get(batch.paymentMethod) != batch) {
+                return;
+            }
+            openBatches.remove(batch.paymentMethod);
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        var size = batch.receipts.size();
+        largestBatch.accumulateAndGet(size, Math::max);
+        CompletableFuture<String> settled;
+        try {
+            settled = processor.settle(batch.paymentMethod, List.copyOf(batch.receipts));
+        } catch (RuntimeException ex) {
+            settled = CompletableFuture.failedFuture(ex);
+        }
+        settled.whenComplete((batchId, error) -> {
+            batches.incrementAndGet();
+            (error == null ? settledPayments : failedPayments).addAndGet(size);
+            for (int i = 0; i < size; i++) {
+                if (error != null) {
+                    batch.settlements.get(i).completeExceptionally(error);
+                } else {
+                    batch.settlements.get(i).complete(new Settlement(batch.receipts.get(i), batchId, size));
+                }
+            }
+        });
+    }
+
+    private static final class Batch {
+        private final String paymentMethod;
+        private final List<PaymentReceipt> receipts = new ArrayList<>();
+        private final List<CompletableFuture<Settlement>> settlements = new ArrayList<>();
+        private ScheduledFuture<?> timer;
+
+        private Batch(String paymentMethod) {
+            this.paymentMethod = paymentMethod;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package assignment2solution.domain.payment;
+
+/**
+ * A snapshot of a {@link SettlementBatcher}'s throughput and batch sizes.
+ *
+ * @param batches           The number of batches the processor has answered.
+ * @param settledPayments   The number of payments in settled batches.
+ * @param failedPayments    The number of payments in rejected batches.
+ * @param largestBatch      The most payments sent in one batch.
+ * @param paymentsPerSecond The settled payments per second since the batcher was created.
+ */
+public record SettlementMetrics(long batches, long settledPayments, long failedPayments, int largestBatch,
+                                double paymentsPerSecond) {
+    /**
+     * Gets the mean number of payments per batch, or 0 before the first batch.
+     */
+    public double getMeanBatchSize() {
+        return batches == 0 ? 0 : (double) (settledPayments + failedPayments) / batches;
+    }
+}
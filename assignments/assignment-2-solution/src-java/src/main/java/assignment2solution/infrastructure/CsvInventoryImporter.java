@@ -0,0 +1,300 @@
+package assignment2solution.infrastructure;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventory.StarRating;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports a catalogue from a supplier CSV export of {@code id,name,price,quantity,starRating} rows.
+ *
+ * <p>The file is read sequentially in chunks that end on a line break. Each chunk is parsed and validated on a
+ * worker thread, and the parsed chunks are handed to the destination in file order on the calling thread. At most
+ * two chunks per worker are in flight, so the pipeline's memory use depends on the chunk size and worker count,
+ * not on the file size.
+ *
+ * <p>Every error names the line it comes from, including those the destination raises for an item, such as a
+ * name too long for a store record. A duplicate id is found only once the whole file is read, so it names the id.
+ *
+ * <p>Fields may be quoted, with {@code ""} standing for a quote, but may not contain line breaks. A header row is
+ * skipped when it is the first line, and blank lines are ignored.
+ */
+public final class CsvInventoryImporter {
+    /**
+     * The header row written by supplier exports.
+     */
+    public static final String HEADER = "id,name,price,quantity,starRating";
+
+    private static final int DEFAULT_CHUNK_BYTES = 4 * 1024 * 1024;
+    private static final int FIELD_COUNT = 5;
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final int parallelism;
+    private final int chunkBytes;
+
+    /**
+     * Initializes a new instance of the {@link CsvInventoryImporter} class with one worker per processor.
+     */
+    public CsvInventoryImporter() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Initializes a new instance of the {@link CsvInventoryImporter} class.
+     *
+     * @param parallelism The number of worker threads that parse chunks.
+     * @param chunkBytes  The number of bytes read per chunk; a longer line makes its chunk grow to fit.
+     */
+    public CsvInventoryImporter(int parallelism, int chunkBytes) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        if (chunkBytes < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1 byte.");
+        }
+        this.parallelism = parallelism;
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Imports a CSV file into a new in-memory repository.
+     *
+     * @throws IllegalArgumentException when a row is malformed (the message names the line) or an id appears twice
+     *                                  (the message names the id).
+     */
+    public InventoryRepository importRepository(Path csvFile) throws IOException {
+        var items = new ArrayList<InventoryItem>();
+        importChunks(csvFile, items::add);
+        return new InventoryRepository(items);
+    }
+
+    /**
+     * Imports a CSV file into a new {@link MappedInventoryStore} file, replacing it only if the whole import
+     * succeeds. Items are written as they are parsed, so the catalogue is never held in memory.
+     *
+     * @return The number of items imported.
+     * @throws IllegalArgumentException when a row is malformed or cannot be stored (the message names the line), or
+     *                                  an id appears twice (the message names the id).
+     */
+    public int importStore(Path csvFile, Path storeFile) throws IOException {
+        Objects.requireNonNull(storeFile, "storeFile");
+        try (var writer = MappedInventoryStoreWriter.create(storeFile)) {
+            importChunks(csvFile, writer::append);
+            writer.commit();
+            return writer.size();
+        }
+    }
+
+    private void importChunks(Path csvFile, ItemConsumer consumer) throws IOException {
+        Objects.requireNonNull(csvFile, "csvFile");
+        var workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            var thread = new Thread(runnable, "csv-import-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        var pending = new ArrayDeque<Future<ParsedChunk>>();
+        var nextLineNumber = 1L;
+
+        try (var in = Files.newInputStream(csvFile)) {
+            var carry = new byte[0];
+            var isFirstChunk = true;
+            var isEndOfFile = false;
+            while (!isEndOfFile) {
+                var buffer = Arrays.copyOf(carry, Math.max(chunkBytes, carry.length * 2));
+                var filled = carry.length + readFully(in, buffer, carry.length);
+                isEndOfFile = filled < buffer.length;
+                var end = isEndOfFile ? filled : lastLineBreak(buffer, filled) + 1;
+                if (end == 0) {
+                    // no line break yet: read a bigger chunk that can hold the whole line
+                    carry = Arrays.copyOf(buffer, filled);
+                    continue;
+                }
+
+                var skipHeader = isFirstChunk;
+                pending.add(workers.submit(() -> parse(buffer, end, skipHeader)));
+                carry = Arrays.copyOfRange(buffer, end, filled);
+                isFirstChunk = false;
+
+                if (pending.size() >= parallelism * 2) {
+                    nextLineNumber = deliver(pending.remove(), nextLineNumber, consumer);
+                }
+            }
+            while (!pending.isEmpty()) {
+                nextLineNumber = deliver(pending.remove(), nextLineNumber, consumer);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static long deliver(Future<ParsedChunk> future, long firstLineNumber, ItemConsumer consumer)
+        throws IOException {
+        ParsedChunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The import was interrupted.", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("A worker failed while parsing the import.", ex.getCause());
+        }
+
+        if (chunk.error() != null) {
+            throw new IllegalArgumentException("Line " + (firstLineNumber + chunk.errorLine()) + ": " + chunk.error());
+        }
+        for (int i = 0; i < chunk.items().size(); i++) {
+            try {
+                consumer.accept(chunk.items().get(i));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Line " + (firstLineNumber + chunk.itemLines()[i]) + ": "
+                    + ex.getMessage(), ex);
+            }
+        }
+        return firstLineNumber + chunk.lineCount();
+    }
+
+    private static ParsedChunk parse(byte[] bytes, int length, boolean skipHeader) {
+        var items = new ArrayList<InventoryItem>(length / 64);
+        var itemLines = new int[Math.max(1, length / 64)];
+        var line = 0;
+        var start = 0;
+        while (start < length) {
+            var end = start;
+            while (end < length && bytes[end] != '\n') {
+                end++;
+            }
+            var text = new String(bytes, start, end - start, StandardCharsets.UTF_8).strip();
+            if (skipHeader && line == 0 && text.startsWith(BYTE_ORDER_MARK)) {
+                text = text.substring(1);
+            }
+            if (!text.isEmpty() && !(skipHeader && line == 0 && text.equalsIgnoreCase(HEADER))) {
+                try {
+                    items.add(parseItem(text));
+                } catch (IllegalArgumentException ex) {
+                    return new ParsedChunk(List.of(), new int[0], line + 1, line, ex.getMessage());
+                }
+                if (items.size() > itemLines.length) {
+                    itemLines = Arrays.copyOf(itemLines, itemLines.length * 2);
+                }
+                itemLines[items.size() - 1] = line;
+            }
+            line++;
+            start = end + 1;
+        }
+        return new ParsedChunk(items, itemLines, line, -1, null);
+    }
+
+    private static InventoryItem parseItem(String line) {
+        var fields = splitFields(line);
+        if (fields.size() != FIELD_COUNT) {
+            throw new IllegalArgumentException("Expected " + FIELD_COUNT + " fields but found " + fields.size() + ".");
+        }
+
+        UUID id;
+        try {
+            id = UUID.fromString(fields.get(0));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid id: " + fields.get(0));
+        }
+        var name = fields.get(1);
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("Name must not be blank.");
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(fields.get(2));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid price: " + fields.get(2));
+        }
+        if (price.signum() < 0) {
+            throw new IllegalArgumentException("Price must not be negative: " + price);
+        }
+        var quantity = parseInt(fields.get(3), "quantity");
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity must not be negative: " + quantity);
+        }
+        var rating = parseInt(fields.get(4), "star rating");
+        return new InventoryItem(id, name, price, quantity, new StarRating(rating));
+    }
+
+    private static int parseInt(String text, String field) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + text);
+        }
+    }
+
+    private static List<String> splitFields(String line) {
+        var fields = new ArrayList<String>(FIELD_COUNT);
+        var field = new StringBuilder();
+        var isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (isQuoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    isQuoted = false;
+                }
+            } else if (c == '"') {
+                isQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().strip());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (isQuoted) {
+            throw new IllegalArgumentException("Unterminated quoted field.");
+        }
+        fields.add(field.toString().strip());
+        return fields;
+    }
+
+    private static int readFully(InputStream in, byte[] buffer, int offset) throws IOException {
+        return in.readNBytes(buffer, offset, buffer.length - offset);
+    }
+
+    private static int lastLineBreak(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @FunctionalInterface
+    private interface ItemConsumer {
+        void accept(InventoryItem item) throws IOException;
+    }
+
+    /**
+     * A parsed chunk: its items, the line of each within the chunk, and the first error, if any.
+     */
+    private record ParsedChunk(List<InventoryItem> items, int[] itemLines, int lineCount, int errorLine,
+                               String error) {
+    }
+}
@@ -0,0 +1,268 @@
+package assignment2solution.infrastructure;
+
+import assignment2solution.domain.inventory.IInventoryStore;
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.StarRating;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A durable {@link IInventoryStore} backed by a memory-mapped file of fixed-width item records and a
+ * {@link WriteAheadLog} of quantity changes.
+ *
+ * <p>Opening a store maps the file and replays the log; no record is decoded until it is read, so startup time does
+ * not depend on the catalogue size. Items are found by id through an open-addressing hash table stored after the
+ * records. Quantity changes are appended to the log as they happen and written into the mapped records when the
+ * store is next opened or closed, never while a repository may still be reading the old values.
+ *
+ * <p>File layout: a {@value #HEADER_SIZE}-byte header (magic, format version, item count, hash slot count), the
+ * records of {@value #RECORD_SIZE} bytes each, then one int per hash slot holding a position plus one (0 = empty).
+ */
+public final class MappedInventoryStore implements IInventoryStore, Closeable {
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 128;
+    static final int MAGIC = 0x54454153;
+    static final int FORMAT_VERSION = 1;
+    static final int MAX_ITEMS = (Integer.MAX_VALUE - HEADER_SIZE) / (RECORD_SIZE + 4 * Integer.BYTES);
+
+    private static final int ID_MSB_OFFSET = 0;
+    private static final int ID_LSB_OFFSET = 8;
+    private static final int PRICE_UNSCALED_OFFSET = 16;
+    private static final int PRICE_SCALE_OFFSET = 24;
+    private static final int QUANTITY_OFFSET = 28;
+    private static final int RATING_OFFSET = 32;
+    private static final int NAME_LENGTH_OFFSET = 36;
+    private static final int NAME_OFFSET = 40;
+    private static final int MAX_NAME_BYTES = RECORD_SIZE - NAME_OFFSET;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final WriteAheadLog log;
+    private final int size;
+    private final int hashSlots;
+    private final long tableOffset;
+    private final ConcurrentHashMap<Integer, long[]> latestChanges = new ConcurrentHashMap<>();
+
+    private MappedInventoryStore(FileChannel channel, MappedByteBuffer buffer, WriteAheadLog log) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.log = log;
+        this.size = buffer.getInt(8);
+        this.hashSlots = buffer.getInt(12);
+        this.tableOffset = HEADER_SIZE + (long) size * RECORD_SIZE;
+    }
+
+    /**
+     * Writes a new store file holding the items in order, replacing any existing file.
+     *
+     * @throws IllegalArgumentException when an item cannot be stored (duplicate id, or name or price too large).
+     * @throws IllegalStateException    when there are more than {@value #MAX_ITEMS} items.
+     */
+    public static void create(Path file, Collection<InventoryItem> items) throws IOException {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(items, "items");
+
+        try (var writer = MappedInventoryStoreWriter.create(file)) {
+            for (var item : items) {
+                writer.append(item);
+            }
+            writer.commit();
+        }
+    }
+
+    /**
+     * Opens a store file, replaying and then clearing its write-ahead log.
+     *
+     * @param file       The store file written by {@link #create(Path, Collection)}.
+     * @param logFile    The write-ahead log file, created if missing.
+     * @param syncPolicy How often the log forces records to the storage device.
+     * @throws IllegalStateException when the file is not a store file or is too large to map.
+     */
+    public static MappedInventoryStore open(Path file, Path logFile, WriteAheadLogSyncPolicy syncPolicy)
+        throws IOException {
+        Objects.requireNonNull(file, "file");
+        var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        WriteAheadLog log = null;
+        try {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Not a mappable inventory store: " + file);
+            }
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IllegalStateException("Not an inventory store: " + file);
+            }
+            var expectedSize = HEADER_SIZE + (long) buffer.getInt(8) * RECORD_SIZE + (long) buffer.getInt(12) * 4;
+            if (channel.size() != expectedSize) {
+                throw new IllegalStateException("Inventory store is truncated: " + file);
+            }
+
+            log = WriteAheadLog.open(logFile, syncPolicy);
+            var store = new MappedInventoryStore(channel, buffer, log);
+            store.recover();
+            return store;
+        } catch (IOException | RuntimeException ex) {
+            if (log != null) {
+                log.close();
+            }
+            channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public InventoryItem read(int position) {
+        var offset = recordOffset(position);
+        var id = new UUID(buffer.getLong(offset + ID_MSB_OFFSET), buffer.getLong(offset + ID_LSB_OFFSET));
+        var price = BigDecimal.valueOf(buffer.getLong(offset + PRICE_UNSCALED_OFFSET),
+            buffer.getInt(offset + PRICE_SCALE_OFFSET));
+        var name = new byte[buffer.getInt(offset + NAME_LENGTH_OFFSET)];
+        buffer.get(offset + NAME_OFFSET, name);
+        return new InventoryItem(id, new String(name, StandardCharsets.UTF_8), price,
+            buffer.getInt(offset + QUANTITY_OFFSET), new StarRating(buffer.getInt(offset + RATING_OFFSET)));
+    }
+
+    @Override
+    public int findPosition(UUID inventoryItemId) {
+        var mask = hashSlots - 1;
+        var slot = hash(inventoryItemId.getMostSignificantBits(), inventoryItemId.getLeastSignificantBits()) & mask;
+        for (; ; slot = (slot + 1) & mask) {
+            var entry = buffer.getInt((int) (tableOffset + (long) slot * Integer.BYTES));
+            if (entry == 0) {
+                return -1;
+            }
+            var offset = recordOffset(entry - 1);
+            if (buffer.getLong(offset + ID_MSB_OFFSET) == inventoryItemId.getMostSignificantBits()
+                && buffer.getLong(offset + ID_LSB_OFFSET) == inventoryItemId.getLeastSignificantBits()) {
+                return entry - 1;
+            }
+        }
+    }
+
+    @Override
+    public void recordQuantityChange(long version, int position, int quantity) {
+        // the change is already published, so keep it for close() even if the log write below fails
+        latestChanges.merge(position, new long[] {version, quantity},
+            (existing, change) -> existing[0] >= change[0] ? existing : change);
+        log.append(version, position, quantity);
+    }
+
+    @Override
+    public void recordQuantityChanges(long version, int[] positions, int[] quantities) {
+        for (int i = 0; i < positions.length; i++) {
+            latestChanges.merge(positions[i], new long[] {version, quantities[i]},
+                (existing, change) -> existing[0] >= change[0] ? existing : change);
+        }
+        log.appendBatch(version, positions, quantities);
+    }
+
+    @Override
+    public int countInStock(int from, int to) {
+        var count = 0;
+        for (int position = from; position < to; position++) {
+            if (buffer.getInt(recordOffset(position) + QUANTITY_OFFSET) > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int collectByAvailability(int from, int to, boolean isAvailable, int[] positions, int count) {
+        for (int position = from; position < to; position++) {
+            if (buffer.getInt(recordOffset(position) + QUANTITY_OFFSET) > 0 == isAvailable) {
+                positions[count++] = position;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Forces every logged change to the storage device now, regardless of the sync policy.
+     */
+    public void sync() throws IOException {
+        log.sync();
+    }
+
+    /**
+     * Writes the latest quantities into the mapped records, clears the log and closes the files.
+     * The repository using this store must not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            log.sync();
+            for (var change : latestChanges.entrySet()) {
+                buffer.putInt(recordOffset(change.getKey()) + QUANTITY_OFFSET, (int) change.getValue()[1]);
+            }
+            buffer.force();
+            log.truncate();
+        } finally {
+            log.close();
+            channel.close();
+        }
+    }
+
+    private void recover() throws IOException {
+        var replayed = log.replayLatestQuantities();
+        if (replayed.isEmpty()) {
+            return;
+        }
+
+        for (var change : replayed.entrySet()) {
+            buffer.putInt(recordOffset(change.getKey()) + QUANTITY_OFFSET, change.getValue());
+        }
+        buffer.force();
+        log.truncate();
+    }
+
+    private int recordOffset(int position) {
+        Objects.checkIndex(position, size);
+        return HEADER_SIZE + position * RECORD_SIZE;
+    }
+
+    static void encode(InventoryItem item, ByteBuffer record) {
+        var price = item.getPrice();
+        var unscaled = price.unscaledValue();
+        if (unscaled.bitLength() >= Long.SIZE) {
+            throw new IllegalArgumentException("Price is too large to store: " + price);
+        }
+        var name = item.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Name is longer than " + MAX_NAME_BYTES + " bytes: " + item.getName());
+        }
+
+        record.putLong(ID_MSB_OFFSET, item.getInventoryItemId().getMostSignificantBits());
+        record.putLong(ID_LSB_OFFSET, item.getInventoryItemId().getLeastSignificantBits());
+        record.putLong(PRICE_UNSCALED_OFFSET, unscaled.longValue());
+        record.putInt(PRICE_SCALE_OFFSET, price.scale());
+        record.putInt(QUANTITY_OFFSET, item.getQuantity());
+        record.putInt(RATING_OFFSET, item.getStarRating().getRating());
+        record.putInt(NAME_LENGTH_OFFSET, name.length);
+        record.put(NAME_OFFSET, name);
+    }
+
+    static int hash(long idMsb, long idLsb) {
+        var h = idMsb ^ idLsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
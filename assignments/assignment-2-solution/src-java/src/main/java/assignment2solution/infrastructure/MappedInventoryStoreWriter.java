@@ -0,0 +1,152 @@
+package assignment2solution.infrastructure;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Writes a {@link MappedInventoryStore} file one item at a time, without knowing the item count up front.
+ * Records are streamed to a temporary file; {@link #commit()} adds the id hash table and header and moves the file
+ * into place, so a half-written store never replaces a good one. Only the ids are kept in memory.
+ */
+final class MappedInventoryStoreWriter implements Closeable {
+    private static final int RECORDS_PER_WRITE = 1024;
+
+    private final Path file;
+    private final Path temporary;
+    private final FileChannel out;
+    private final ByteBuffer chunk = ByteBuffer.allocate(MappedInventoryStore.RECORD_SIZE * RECORDS_PER_WRITE);
+    private long[] idMsbs = new long[RECORDS_PER_WRITE];
+    private long[] idLsbs = new long[RECORDS_PER_WRITE];
+    private int size;
+    private boolean committed;
+
+    private MappedInventoryStoreWriter(Path file, Path temporary, FileChannel out) {
+        this.file = file;
+        this.temporary = temporary;
+        this.out = out;
+    }
+
+    /**
+     * Starts writing a store file; the file itself is only replaced on {@link #commit()}.
+     */
+    static MappedInventoryStoreWriter create(Path file) throws IOException {
+        var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        var out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        out.position(MappedInventoryStore.HEADER_SIZE);
+        return new MappedInventoryStoreWriter(file, temporary, out);
+    }
+
+    /**
+     * Appends the next item.
+     *
+     * @throws IllegalArgumentException when the name or price is too large to store.
+     * @throws IllegalStateException    when the store would be too large to map.
+     */
+    void append(InventoryItem item) throws IOException {
+        if (size == MappedInventoryStore.MAX_ITEMS) {
+            throw new IllegalStateException("An inventory store holds at most " + MappedInventoryStore.MAX_ITEMS
+                + " items.");
+        }
+        if (!chunk.hasRemaining()) {
+            flushChunk();
+        }
+        MappedInventoryStore.encode(item, chunk.slice(chunk.position(), MappedInventoryStore.RECORD_SIZE));
+        chunk.position(chunk.position() + MappedInventoryStore.RECORD_SIZE);
+
+        if (size == idMsbs.length) {
+            idMsbs = Arrays.copyOf(idMsbs, size * 2);
+            idLsbs = Arrays.copyOf(idLsbs, size * 2);
+        }
+        idMsbs[size] = item.getInventoryItemId().getMostSignificantBits();
+        idLsbs[size] = item.getInventoryItemId().getLeastSignificantBits();
+        size++;
+    }
+
+    /**
+     * Gets the number of items appended so far.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Writes the hash table and header, forces the file to disk and moves it into place.
+     *
+     * @throws IllegalArgumentException when two items share an id.
+     */
+    void commit() throws IOException {
+        flushChunk();
+
+        var hashSlots = Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1;
+        var table = new int[hashSlots];
+        for (int position = 0; position < size; position++) {
+            insert(table, position);
+        }
+        var tableBytes = ByteBuffer.allocate(hashSlots * Integer.BYTES);
+        tableBytes.asIntBuffer().put(table);
+        writeFully(tableBytes, out.position());
+
+        var header = ByteBuffer.allocate(MappedInventoryStore.HEADER_SIZE);
+        header.putInt(MappedInventoryStore.MAGIC).putInt(MappedInventoryStore.FORMAT_VERSION).putInt(size)
+            .putInt(hashSlots).flip();
+        writeFully(header, 0);
+        out.force(true);
+        out.close();
+
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+    }
+
+    /**
+     * Discards the temporary file unless the store was committed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            out.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void insert(int[] table, int position) {
+        var mask = table.length - 1;
+        var slot = MappedInventoryStore.hash(idMsbs[position], idLsbs[position]) & mask;
+        while (table[slot] != 0) {
+            var other = table[slot] - 1;
+            if (idMsbs[other] == idMsbs[position] && idLsbs[other] == idLsbs[position]) {
+                throw new IllegalArgumentException("Duplicate inventory item id: "
+                    + new UUID(idMsbs[position], idLsbs[position]) + ".");
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = position + 1;
+    }
+
+    private void flushChunk() throws IOException {
+        chunk.flip();
+        writeFully(chunk, out.position());
+        chunk.clear();
+    }
+
+    private void writeFully(ByteBuffer bytes, long position) throws IOException {
+        var end = position + bytes.remaining();
+        while (bytes.hasRemaining()) {
+            out.write(bytes, end - bytes.remaining());
+        }
+        if (out.position() < end) {
+            out.position(end);
+        }
+    }
+}
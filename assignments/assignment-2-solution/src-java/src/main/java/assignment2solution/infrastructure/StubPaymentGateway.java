@@ -0,0 +1,172 @@
+package assignment2solution.infrastructure;
+
+import assignment2solution.domain.payment.IPaymentGateway;
+import assignment2solution.domain.payment.PaymentReceipt;
+import assignment2solution.domain.payment.PaymentRequest;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A local stand-in for a payment gateway, for tests and load runs. Each charge completes after a latency drawn from
+ * a configurable distribution, and is declined with a configurable probability.
+ *
+ * <p>Like a real remote service, the stub holds no thread per charge: one scheduler thread completes every pending
+ * charge when its latency has passed, so any number of charges can be in flight at once. It counts the charges in
+ * flight per payment method, so tests can check the limits callers put on it. Each approved charge can be voided
+ * once, as a caller does with a charge approved after it stopped waiting.
+ */
+public final class StubPaymentGateway implements IPaymentGateway, AutoCloseable {
+    private final Supplier<Duration> latency;
+    private final double declineRate;
+    private final Random random;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final AtomicLong nextTransaction = new AtomicLong(1);
+    private final AtomicLong approved = new AtomicLong();
+    private final AtomicLong declined = new AtomicLong();
+    private final AtomicLong voided = new AtomicLong();
+    private final Set<String> voidable = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> maxInFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes a new instance of the {@link StubPaymentGateway} class.
+     *
+     * @param latency     The distribution of the time each charge takes; see {@link #fixedLatency(Duration)},
+     *                    {@link #uniformLatency(Duration, Duration, long)} and
+     *                    {@link #exponentialLatency(Duration, long)}.
+     * @param declineRate The chance that a charge is declined, between 0 and 1.
+     * @param seed        The seed of the decline decisions.
+     */
+    public StubPaymentGateway(Supplier<Duration> latency, double declineRate, long seed) {
+        this.latency = Objects.requireNonNull(latency, "latency");
+        if (declineRate < 0 || declineRate > 1) {
+            throw new IllegalArgumentException("declineRate must be between 0 and 1");
+        }
+        this.declineRate = declineRate;
+        this.random = new Random(seed);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "stub-payment-gateway");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets a latency distribution where every charge takes the same time.
+     */
+    public static Supplier<Duration> fixedLatency(Duration latency) {
+        Objects.requireNonNull(latency, "latency");
+        return () -> latency;
+    }
+
+    /**
+     * Gets a latency distribution uniform between two durations.
+     */
+    public static Supplier<Duration> uniformLatency(Duration min, Duration max, long seed) {
+        if (max.compareTo(min) < 0) {
+            throw new IllegalArgumentException("max must not be less than min");
+        }
+        var random = new Random(seed);
+        var spreadNanos = max.minus(min).toNanos();
+        return () -> min.plusNanos((long) (random.nextDouble() * spreadNanos));
+    }
+
+    /**
+     * Gets an exponential latency distribution, where most charges are quick and a few take many times the mean.
+     */
+    public static Supplier<Duration> exponentialLatency(Duration mean, long seed) {
+        var random = new Random(seed);
+        var meanNanos = mean.toNanos();
+        return () -> Duration.ofNanos((long) (-Math.log(1 - random.nextDouble()) * meanNanos));
+    }
+
+    @Override
+    public CompletableFuture<PaymentReceipt> charge(PaymentRequest request) {
+        Objects.requireNonNull(request, "request");
+        var result = new CompletableFuture<PaymentReceipt>();
+        var method = request.paymentMethod();
+        var running = inFlight.computeIfAbsent(method, key -> new AtomicInteger()).incrementAndGet();
+        maxInFlight.computeIfAbsent(method, key -> new AtomicInteger()).accumulateAndGet(running, Math::max);
+
+        var declines = random.nextDouble() < declineRate;
+        scheduler.schedule(() -> {
+            inFlight.get(method).decrementAndGet();
+            if (declines) {
+                declined.incrementAndGet();
+                result.completeExceptionally(new IllegalStateException("Payment declined."));
+            } else {
+                approved.incrementAndGet();
+                var transactionId = "T" + nextTransaction.getAndIncrement();
+                voidable.add(transactionId);
+                result.complete(new PaymentReceipt(request, transactionId));
+            }
+        }, latency.get().toNanos(), TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Voids an approved charge after the same latency as a charge. Each charge can be voided once.
+     */
+    @Override
+    public CompletableFuture<Void> voidCharge(PaymentReceipt receipt) {
+        Objects.requireNonNull(receipt, "receipt");
+        var result = new CompletableFuture<Void>();
+        scheduler.schedule(() -> {
+            if (voidable.remove(receipt.transactionId())) {
+                voided.incrementAndGet();
+                result.complete(null);
+            } else {
+                result.completeExceptionally(new IllegalStateException(
+                    "Transaction " + receipt.transactionId() + " is not an open charge."));
+            }
+        }, latency.get().toNanos(), TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Gets the number of charges approved so far, including those voided since.
+     */
+    public long getApproved() {
+        return approved.get();
+    }
+
+    /**
+     * Gets the number of charges declined so far.
+     */
+    public long getDeclined() {
+        return declined.get();
+    }
+
+    /**
+     * Gets the number of approved charges voided so far.
+     */
+    public long getVoided() {
+        return voided.get();
+    }
+
+    /**
+     * Gets the most charges of a payment method that were in flight at once.
+     */
+    public int getMaxInFlight(String paymentMethod) {
+        var max = maxInFlight.get(paymentMethod);
+        return max == null ? 0 : max.get();
+    }
+
+    /**
+     * Stops the scheduler; charges still pending never complete.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,97 @@
+package assignment2solution.infrastructure;
+
+import assignment2solution.domain.payment.ISettlementProcessor;
+import assignment2solution.domain.payment.PaymentReceipt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local stand-in for a settlement processor, for tests and load runs. Like a real processor it charges per call:
+ * a batch takes a fixed overhead plus a small cost per payment, and is rejected whole with a configurable
+ * probability. One scheduler thread completes every pending batch, so no thread is held per call.
+ */
+public final class StubSettlementProcessor implements ISettlementProcessor, AutoCloseable {
+    private final Duration callOverhead;
+    private final Duration costPerPayment;
+    private final double rejectRate;
+    private final Random random;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong payments = new AtomicLong();
+
+    /**
+     * Initializes a new instance of the {@link StubSettlementProcessor} class.
+     *
+     * @param callOverhead   The time every call takes, whatever its size.
+     * @param costPerPayment The time each payment in a batch adds.
+     * @param rejectRate     The chance that a batch is rejected, between 0 and 1.
+     * @param seed           The seed of the reject decisions.
+     */
+    public StubSettlementProcessor(Duration callOverhead, Duration costPerPayment, double rejectRate, long seed) {
+        this.callOverhead = Objects.requireNonNull(callOverhead, "callOverhead");
+        this.costPerPayment = Objects.requireNonNull(costPerPayment, "costPerPayment");
+        if (rejectRate < 0 || rejectRate > 1) {
+            throw new IllegalArgumentException("rejectRate must be between 0 and 1");
+        }
+        this.rejectRate = rejectRate;
+        this.random = new Random(seed);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "stub-settlement-processor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> settle(String paymentMethod, List<PaymentReceipt> receipts) {
+        Objects.requireNonNull(paymentMethod, "paymentMethod");
+        for (var receipt : receipts) {
+            if (!receipt.request().paymentMethod().equals(paymentMethod)) {
+                throw new IllegalArgumentException("A batch must hold payments of one method.");
+            }
+        }
+        var batchId = "B" + calls.incrementAndGet();
+        payments.addAndGet(receipts.size());
+
+        var result = new CompletableFuture<String>();
+        var rejects = random.nextDouble() < rejectRate;
+        var delay = callOverhead.plus(costPerPayment.multipliedBy(receipts.size()));
+        scheduler.schedule(() -> {
+            if (rejects) {
+                result.completeExceptionally(new IllegalStateException("Settlement batch " + batchId + " rejected."));
+            } else {
+                result.complete(batchId);
+            }
+        }, delay.toNanos(), TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    /**
+     * Gets the number of calls made to the processor.
+     */
+    public long getCalls() {
+        return calls.get();
+    }
+
+    /**
+     * Gets the number of payments sent to the processor.
+     */
+    public long getPayments() {
+        return payments.get();
+    }
+
+    /**
+     * Stops the scheduler; batches still pending never complete.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
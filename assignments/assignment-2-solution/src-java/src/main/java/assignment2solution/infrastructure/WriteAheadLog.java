@@ -0,0 +1,238 @@
+package assignment2solution.infrastructure;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only log of absolute quantity changes.
+ * Each record holds the catalogue version, the item position and its new quantity, followed by a CRC32 checksum.
+ * Because quantities are absolute and versions increase, replaying the log any number of times, in any order,
+ * yields the same latest quantity per item.
+ *
+ * <p>Changes published together are written as a batch: a marker record with position -1 and the number of
+ * records that follow, then the records. Replay applies a batch only when all of its records are intact, so a crash
+ * mid-batch never recovers part of a transaction.
+ */
+public final class WriteAheadLog implements Closeable {
+    private static final int PAYLOAD_SIZE = Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final int RECORD_SIZE = PAYLOAD_SIZE + Integer.BYTES;
+    private static final int BATCH_MARKER = -1;
+
+    private final FileChannel channel;
+    private final WriteAheadLogSyncPolicy policy;
+    private final ScheduledExecutorService flusher;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32 checksum = new CRC32();
+    private int pendingRecords;
+
+    private WriteAheadLog(FileChannel channel, WriteAheadLogSyncPolicy policy) {
+        this.channel = channel;
+        this.policy = policy;
+        if (policy.maxDelay().isZero()) {
+            this.flusher = null;
+        } else {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "wal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            var delayNanos = policy.maxDelay().toNanos();
+            flusher.scheduleWithFixedDelay(this::syncQuietly, delayNanos, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Opens (creating if needed) a log file.
+     */
+    public static WriteAheadLog open(Path file, WriteAheadLogSyncPolicy policy) throws IOException {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(policy, "policy");
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return new WriteAheadLog(channel, policy);
+    }
+
+    /**
+     * Reads every intact record and returns the latest quantity for each position. A torn or corrupt record or an
+     * incomplete batch at the end of the file (from a crash mid-write) ends the replay and is cut off.
+     */
+    public synchronized Map<Integer, Integer> replayLatestQuantities() throws IOException {
+        var latestVersions = new HashMap<Integer, Long>();
+        var latestQuantities = new HashMap<Integer, Integer>();
+        var buffer = ByteBuffer.allocate(RECORD_SIZE);
+        long offset = 0;
+
+        while (offset + RECORD_SIZE <= channel.size()) {
+            if (!readRecord(buffer, offset)) {
+                break;
+            }
+            var version = buffer.getLong();
+            var position = buffer.getInt();
+            var quantity = buffer.getInt();
+            if (position != BATCH_MARKER) {
+                apply(latestVersions, latestQuantities, version, position, quantity);
+                offset += RECORD_SIZE;
+                continue;
+            }
+
+            // a batch marker's quantity is its record count; apply the batch only when every record is intact
+            var batch = new long[quantity][];
+            var batchOffset = offset + RECORD_SIZE;
+            var isComplete = true;
+            for (int i = 0; i < quantity && isComplete; i++) {
+                isComplete = batchOffset + RECORD_SIZE <= channel.size() && readRecord(buffer, batchOffset);
+                if (isComplete) {
+                    batch[i] = new long[] {buffer.getLong(), buffer.getInt(), buffer.getInt()};
+                    batchOffset += RECORD_SIZE;
+                }
+            }
+            if (!isComplete) {
+                break;
+            }
+            for (var record : batch) {
+                apply(latestVersions, latestQuantities, record[0], (int) record[1], (int) record[2]);
+            }
+            offset = batchOffset;
+        }
+
+        if (offset < channel.size()) {
+            channel.truncate(offset);
+        }
+        channel.position(offset);
+        return latestQuantities;
+    }
+
+    /**
+     * Appends a record and syncs when the policy's record limit is reached.
+     *
+     * @throws UncheckedIOException when the record cannot be written.
+     */
+    public synchronized void append(long version, int position, int quantity) {
+        record.clear();
+        putRecord(record, version, position, quantity);
+        record.flip();
+        write(record, 1);
+    }
+
+    /**
+     * Appends the changes of one version as a batch with a single write, counting it as one record towards the
+     * sync policy, so a batch of any size costs at most one sync.
+     *
+     * @throws UncheckedIOException when the batch cannot be written.
+     */
+    public synchronized void appendBatch(long version, int[] positions, int[] quantities) {
+        if (positions.length == 1) {
+            append(version, positions[0], quantities[0]);
+            return;
+        }
+        var batch = ByteBuffer.allocate((positions.length + 1) * RECORD_SIZE);
+        putRecord(batch, version, BATCH_MARKER, positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            putRecord(batch, version, positions[i], quantities[i]);
+        }
+        batch.flip();
+        write(batch, 1);
+    }
+
+    /**
+     * Forces every written record to the storage device.
+     */
+    public synchronized void sync() throws IOException {
+        if (pendingRecords == 0) {
+            return;
+        }
+        channel.force(false);
+        pendingRecords = 0;
+    }
+
+    /**
+     * Discards every record, typically after their changes have been checkpointed elsewhere.
+     */
+    public synchronized void truncate() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        pendingRecords = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        synchronized (this) {
+            sync();
+            channel.close();
+        }
+    }
+
+    private void write(ByteBuffer records, int recordCount) {
+        try {
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+            pendingRecords += recordCount;
+            if (pendingRecords >= policy.maxPendingRecords()) {
+                sync();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append to the write-ahead log.", ex);
+        }
+    }
+
+    /**
+     * Reads the record at an offset into the buffer, positioned after its checksum is verified.
+     *
+     * @return false when the record is corrupt.
+     */
+    private boolean readRecord(ByteBuffer buffer, long offset) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) > 0) {
+            // keep reading until the record is complete
+        }
+        buffer.flip();
+        return buffer.getInt(PAYLOAD_SIZE) == checksumOf(buffer.array(), 0);
+    }
+
+    private void putRecord(ByteBuffer buffer, long version, int position, int quantity) {
+        var start = buffer.position();
+        buffer.putLong(version).putInt(position).putInt(quantity);
+        buffer.putInt(checksumOf(buffer.array(), start));
+    }
+
+    private static void apply(Map<Integer, Long> latestVersions, Map<Integer, Integer> latestQuantities,
+                              long version, int position, int quantity) {
+        var previous = latestVersions.get(position);
+        if (previous == null || previous < version) {
+            latestVersions.put(position, version);
+            latestQuantities.put(position, quantity);
+        }
+    }
+
+    private int checksumOf(byte[] bytes, int offset) {
+        checksum.reset();
+        checksum.update(bytes, offset, PAYLOAD_SIZE);
+        return (int) checksum.getValue();
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException ex) {
+            // the next append or close reports persistent failures
+        }
+    }
+}
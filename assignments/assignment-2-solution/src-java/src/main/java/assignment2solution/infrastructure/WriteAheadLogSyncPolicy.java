@@ -0,0 +1,34 @@
+package assignment2solution.infrastructure;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Controls how often a {@link WriteAheadLog} forces its records to the storage device.
+ * Records are always written to the operating system immediately, so they survive a process crash; only records
+ * written since the last sync can be lost if the machine itself fails.
+ *
+ * @param maxPendingRecords Sync once this many records are waiting; 1 syncs every record.
+ * @param maxDelay          Sync waiting records at least this often, or {@link Duration#ZERO} for no timer.
+ */
+public record WriteAheadLogSyncPolicy(int maxPendingRecords, Duration maxDelay) {
+    /**
+     * Initializes a new instance of the {@link WriteAheadLogSyncPolicy} record.
+     */
+    public WriteAheadLogSyncPolicy {
+        if (maxPendingRecords < 1) {
+            throw new IllegalArgumentException("maxPendingRecords must be positive");
+        }
+        Objects.requireNonNull(maxDelay, "maxDelay");
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("maxDelay cannot be negative");
+        }
+    }
+
+    /**
+     * Gets a policy that syncs every record before {@code append} returns.
+     */
+    public static WriteAheadLogSyncPolicy everyRecord() {
+        return new WriteAheadLogSyncPolicy(1, Duration.ZERO);
+    }
+}
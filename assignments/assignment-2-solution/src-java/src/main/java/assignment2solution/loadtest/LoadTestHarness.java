@@ -0,0 +1,185 @@
+package assignment2solution.loadtest;
+
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventoryquery.InventoryQueryCache;
+import assignment2solution.userinterface.Application;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs many scripted customer sessions of the console {@link Application} at once against one shared repository,
+ * in-process, and reports latency, throughput and consistency.
+ *
+ * <p>Every session is a real {@code Application} reading from a {@link ScriptedCustomer}, so the prompts, query
+ * building, result rendering and checkout are exactly those of the console. The sessions share one query cache,
+ * as the requests of one server would. After the run, each item's fall in stock must equal the units the
+ * application confirmed as bought, and no quantity may be negative.
+ */
+public final class LoadTestHarness {
+    private static final int QUERY_CACHE_CAPACITY = 256;
+
+    private final int sessionCount;
+    private final int concurrency;
+    private final double purchaseRate;
+    private final long seed;
+
+    /**
+     * Initializes a new instance of the {@link LoadTestHarness} class.
+     *
+     * @param sessionCount The number of customer sessions to run.
+     * @param concurrency  The number of sessions running at once.
+     * @param purchaseRate The chance that a customer buys something from a non-empty search result.
+     * @param seed         The seed of the customers' random choices.
+     */
+    public LoadTestHarness(int sessionCount, int concurrency, double purchaseRate, long seed) {
+        if (sessionCount < 1) {
+            throw new IllegalArgumentException("sessionCount must be positive");
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        if (purchaseRate < 0 || purchaseRate > 1) {
+            throw new IllegalArgumentException("purchaseRate must be between 0 and 1");
+        }
+        this.sessionCount = sessionCount;
+        this.concurrency = concurrency;
+        this.purchaseRate = purchaseRate;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the sessions against the repository; purchases change its stock.
+     */
+    public LoadTestReport run(InventoryRepository repository) throws InterruptedException {
+        var initialStock = stockByName(repository);
+        var nameFragments = nameFragments(repository);
+        var queryCache = new InventoryQueryCache(repository, QUERY_CACHE_CAPACITY);
+
+        var executor = Executors.newFixedThreadPool(concurrency);
+        var sessions = new ArrayList<Future<Session>>(sessionCount);
+        var started = System.nanoTime();
+        for (int i = 0; i < sessionCount; i++) {
+            var customer = new ScriptedCustomer(new Random(seed + i), nameFragments, purchaseRate);
+            sessions.add(executor.submit(() -> runSession(repository, queryCache, customer)));
+        }
+
+        var latencies = new PhaseLatencies();
+        var unitsBought = new HashMap<String, Integer>();
+        var violations = new ArrayList<String>();
+        int failedSessions = 0;
+        int searches = 0;
+        int purchases = 0;
+        int rejectedPurchases = 0;
+        int unknownPrompts = 0;
+        try {
+            for (var future : sessions) {
+                Session session;
+                try {
+                    session = future.get();
+                } catch (ExecutionException ex) {
+                    failedSessions++;
+                    violations.add("Session failed: " + ex.getCause());
+                    continue;
+                }
+                var customer = session.customer;
+                latencies.addAll(session.latencies);
+                searches += customer.getSearches();
+                purchases += customer.getPurchases();
+                rejectedPurchases += customer.getRejectedPurchases();
+                unknownPrompts += customer.getUnknownPrompts();
+                customer.getUnitsBought().forEach((name, units) -> unitsBought.merge(name, units, Integer::sum));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        var elapsedNanos = System.nanoTime() - started;
+
+        if (unknownPrompts > 0) {
+            violations.add(unknownPrompts + " prompts were not recognised by the scripted customers");
+        }
+        checkStock(initialStock, stockByName(repository), unitsBought, violations);
+        return new LoadTestReport(sessionCount, failedSessions, searches, purchases, rejectedPurchases,
+            elapsedNanos, latencies, violations);
+    }
+
+    /**
+     * Runs a load test on the default catalogue and prints the report.
+     * Arguments: session count (default 5000), concurrency (default 200), purchase rate (default 0.3).
+     */
+    public static void main(String[] args) throws InterruptedException {
+        var sessionCount = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        var concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        var purchaseRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.3;
+
+        var repository = new InventoryRepository();
+        var report = new LoadTestHarness(sessionCount, concurrency, purchaseRate, 1).run(repository);
+        System.out.print(report.format());
+        System.out.println(String.format(Locale.US, "Stock left: %d packages",
+            repository.get().stream().mapToInt(item -> item.getQuantity()).sum()));
+    }
+
+    private static Session runSession(InventoryRepository repository, InventoryQueryCache queryCache,
+                                      ScriptedCustomer customer) {
+        var latencies = new PhaseLatencies();
+        new Application(repository, queryCache, customer.getInput(), customer.getOutput(), latencies).run();
+        return new Session(customer, latencies);
+    }
+
+    private static void checkStock(Map<String, Integer> initialStock, Map<String, Integer> finalStock,
+                                   Map<String, Integer> unitsBought, List<String> violations) {
+        for (var entry : initialStock.entrySet()) {
+            var name = entry.getKey();
+            var remaining = finalStock.get(name);
+            var bought = unitsBought.getOrDefault(name, 0);
+            if (remaining < 0) {
+                violations.add("Negative stock for " + name + ": " + remaining);
+            }
+            if (entry.getValue() - remaining != bought) {
+                violations.add("Stock of " + name + " fell by " + (entry.getValue() - remaining)
+                    + " but customers were confirmed " + bought);
+            }
+        }
+    }
+
+    private static Map<String, Integer> stockByName(InventoryRepository repository) {
+        var stock = new HashMap<String, Integer>();
+        for (var item : repository.get()) {
+            stock.merge(item.getName(), item.getQuantity(), Integer::sum);
+        }
+        return stock;
+    }
+
+    /**
+     * Collects the lower-case words of the item names, the texts customers search for.
+     */
+    private static List<String> nameFragments(InventoryRepository repository) {
+        var fragments = new TreeSet<String>();
+        for (var item : repository.get()) {
+            for (var word : item.getName().split(" ")) {
+                if (word.length() >= 3) {
+                    fragments.add(word.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return List.copyOf(fragments);
+    }
+
+    private static final class Session {
+        private final ScriptedCustomer customer;
+        private final PhaseLatencies latencies;
+
+        private Session(ScriptedCustomer customer, PhaseLatencies latencies) {
+            this.customer = customer;
+            this.latencies = latencies;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package assignment2solution.loadtest;
+
+import assignment2solution.userinterface.ApplicationPhase;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The results of a {@link LoadTestHarness} run: counts, throughput, per-phase latency percentiles and any
+ * consistency violations found.
+ */
+public final class LoadTestReport {
+    private final int sessions;
+    private final int failedSessions;
+    private final int searches;
+    private final int purchases;
+    private final int rejectedPurchases;
+    private final long elapsedNanos;
+    private final Map<ApplicationPhase, long[]> sortedNanos;
+    private final List<String> violations;
+
+    LoadTestReport(int sessions, int failedSessions, int searches, int purchases, int rejectedPurchases,
+                   long elapsedNanos, PhaseLatencies latencies, List<String> violations) {
+        this.sessions = sessions;
+        this.failedSessions = failedSessions;
+        this.searches = searches;
+        this.purchases = purchases;
+        this.rejectedPurchases = rejectedPurchases;
+        this.elapsedNanos = elapsedNanos;
+        this.sortedNanos = new EnumMap<>(ApplicationPhase.class);
+        for (var phase : ApplicationPhase.values()) {
+            sortedNanos.put(phase, latencies.getSortedNanos(phase));
+        }
+        this.violations = List.copyOf(violations);
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Gets the number of sessions that ended with an exception.
+     */
+    public int getFailedSessions() {
+        return failedSessions;
+    }
+
+    public int getSearches() {
+        return searches;
+    }
+
+    /**
+     * Gets the number of purchases the application confirmed.
+     */
+    public int getPurchases() {
+        return purchases;
+    }
+
+    /**
+     * Gets the number of purchases cancelled because other customers bought the stock first.
+     */
+    public int getRejectedPurchases() {
+        return rejectedPurchases;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the completed searches per second of wall-clock time.
+     */
+    public double getSearchesPerSecond() {
+        return searches / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Gets the number of times a phase ran.
+     */
+    public int getCount(ApplicationPhase phase) {
+        return sortedNanos.get(phase).length;
+    }
+
+    /**
+     * Gets a latency percentile of a phase by the nearest-rank method, or 0 when the phase never ran.
+     *
+     * @param percentile A percentile between 0 (exclusive) and 100 (inclusive).
+     */
+    public long getPercentileNanos(ApplicationPhase phase, double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in (0, 100]");
+        }
+        var sorted = sortedNanos.get(phase);
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.ceil(percentile / 100 * sorted.length) - 1];
+    }
+
+    /**
+     * Gets the consistency violations found: oversold or negative stock, stock changes that do not match the
+     * confirmed purchases, failed sessions and unrecognised prompts. An empty list means the run was consistent.
+     */
+    public List<String> getViolations() {
+        return violations;
+    }
+
+    /**
+     * Formats the report as a text table.
+     */
+    public String format() {
+        var builder = new StringBuilder();
+        builder.append(String.format(Locale.US,
+            "%d sessions (%d failed), %d searches, %d purchases, %d sold out at checkout in %.2f s%n",
+            sessions, failedSessions, searches, purchases, rejectedPurchases, elapsedNanos / 1e9));
+        builder.append(String.format(Locale.US, "Throughput: %.1f searches/s, %.1f sessions/s%n",
+            getSearchesPerSecond(), sessions / (elapsedNanos / 1e9)));
+        builder.append(String.format(Locale.US, "%-12s %8s %10s %10s %10s %10s%n",
+            "Phase", "Count", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (var phase : ApplicationPhase.values()) {
+            builder.append(String.format(Locale.US, "%-12s %8d %10.3f %10.3f %10.3f %10.3f%n",
+                phase, getCount(phase),
+                millis(phase, 50), millis(phase, 90), millis(phase, 99), millis(phase, 100)));
+        }
+        if (violations.isEmpty()) {
+            builder.append("No consistency violations.").append(System.lineSeparator());
+        } else {
+            builder.append(violations.size()).append(" consistency violations:").append(System.lineSeparator());
+            for (var violation : violations) {
+                builder.append("- ").append(violation).append(System.lineSeparator());
+            }
+        }
+        return builder.toString();
+    }
+
+    private double millis(ApplicationPhase phase, double percentile) {
+        return getPercentileNanos(phase, percentile) / 1e6;
+    }
+}
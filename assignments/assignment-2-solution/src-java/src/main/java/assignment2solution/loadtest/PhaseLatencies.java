@@ -0,0 +1,47 @@
+package assignment2solution.loadtest;
+
+import assignment2solution.userinterface.ApplicationPhase;
+import assignment2solution.userinterface.IApplicationPhaseListener;
+
+import java.util.Arrays;
+
+/**
+ * Records the duration of every application phase of one session, and later of all sessions merged together.
+ * Each session has its own instance, so recording needs no synchronization.
+ */
+final class PhaseLatencies implements IApplicationPhaseListener {
+    private final long[][] nanos = new long[ApplicationPhase.values().length][16];
+    private final int[] counts = new int[ApplicationPhase.values().length];
+
+    @Override
+    public void onPhaseCompleted(ApplicationPhase phase, long elapsedNanos) {
+        add(phase.ordinal(), elapsedNanos);
+    }
+
+    /**
+     * Adds every duration recorded by another instance.
+     */
+    void addAll(PhaseLatencies other) {
+        for (int phase = 0; phase < counts.length; phase++) {
+            for (int i = 0; i < other.counts[phase]; i++) {
+                add(phase, other.nanos[phase][i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the recorded durations of a phase in ascending order.
+     */
+    long[] getSortedNanos(ApplicationPhase phase) {
+        var sorted = Arrays.copyOf(nanos[phase.ordinal()], counts[phase.ordinal()]);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private void add(int phase, long elapsedNanos) {
+        if (counts[phase] == nanos[phase].length) {
+            nanos[phase] = Arrays.copyOf(nanos[phase], counts[phase] * 2);
+        }
+        nanos[phase][counts[phase]++] = elapsedNanos;
+    }
+}
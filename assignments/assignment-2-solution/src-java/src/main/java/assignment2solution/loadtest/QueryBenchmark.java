@@ -0,0 +1,128 @@
+package assignment2solution.loadtest;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventory.StarRating;
+import assignment2solution.domain.inventoryquery.AllInventoryQuery;
+import assignment2solution.domain.inventoryquery.IInventoryQuery;
+import assignment2solution.domain.inventoryquery.InventoryQueryParallelism;
+import assignment2solution.domain.inventoryquery.InventoryQueryPlanner;
+import assignment2solution.domain.inventoryquery.filters.AvailabilityFilterDecorator;
+import assignment2solution.domain.inventoryquery.filters.MinStarRatingFilterDecorator;
+import assignment2solution.domain.inventoryquery.filters.NameContainsFilterDecorator;
+import assignment2solution.domain.inventoryquery.filters.PriceRangeFilterDecorator;
+import assignment2solution.domain.inventoryquery.filters.StarRatingRangeFilterDecorator;
+import assignment2solution.domain.inventoryquery.sorts.SortByPriceDecorator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Times one builder-shaped query over a large generated catalogue three ways: the decorator chain run layer by layer,
+ * the planned query over the same items without an index (one pass through the compiled filter kernel), and the
+ * planned query over the repository, which also starts from the most selective index.
+ */
+public final class QueryBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+
+    private QueryBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark and prints the median time of each way.
+     * Arguments: catalogue size (default 1000000), measured rounds (default 15).
+     */
+    public static void main(String[] args) {
+        var size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        var rounds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+
+        var repository = new InventoryRepository(generate(new InventoryRepository().get(), size, new Random(1)));
+        var items = repository.get();
+        IInventoryQuery unindexed = new ListQuery(items);
+
+        var interpreted = query(unindexed);
+        var fused = InventoryQueryPlanner.plan(query(unindexed), InventoryQueryParallelism.sequential());
+        var indexed = InventoryQueryPlanner.plan(
+            query(new AllInventoryQuery(repository)), InventoryQueryParallelism.sequential());
+
+        var expected = interpreted.execute();
+        if (!fused.execute().equals(expected) || !indexed.execute().equals(expected)) {
+            throw new IllegalStateException("The planned queries returned different results.");
+        }
+
+        System.out.println(String.format(Locale.US, "%,d items, %,d matches", size, expected.size()));
+        report("Decorator chain", interpreted, rounds);
+        report("Planned, no index", fused, rounds);
+        report("Planned, indexed", indexed, rounds);
+    }
+
+    /**
+     * Builds the query the console builder makes for "in stock, $5-$30, 2-5 stars, at least 3 stars, name contains
+     * 'tea', cheapest first".
+     */
+    private static IInventoryQuery query(IInventoryQuery source) {
+        IInventoryQuery query = new AvailabilityFilterDecorator(source, true);
+        query = new PriceRangeFilterDecorator(query, new BigDecimal("5.00"), new BigDecimal("30.00"));
+        query = new StarRatingRangeFilterDecorator(query, 2, 5);
+        query = new MinStarRatingFilterDecorator(query, 3);
+        query = new NameContainsFilterDecorator(query, "tea");
+        return new SortByPriceDecorator(query);
+    }
+
+    private static void report(String name, IInventoryQuery query, int rounds) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            query.execute();
+        }
+        var nanos = new long[rounds];
+        for (int i = 0; i < rounds; i++) {
+            var started = System.nanoTime();
+            query.execute();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        System.out.println(String.format(Locale.US, "%-18s %8.2f ms", name, nanos[rounds / 2] / 1e6));
+    }
+
+    /**
+     * Copies the catalogue under new ids until it has the given size, varying price, stock and rating.
+     */
+    private static List<InventoryItem> generate(List<InventoryItem> templates, int size, Random random) {
+        var items = new ArrayList<InventoryItem>(size);
+        for (int i = 0; i < size; i++) {
+            var template = templates.get(i % templates.size());
+            items.add(new InventoryItem(
+                new UUID(random.nextLong(), random.nextLong()),
+                template.getName(),
+                BigDecimal.valueOf(100 + random.nextInt(4900), 2),
+                random.nextInt(4) == 0 ? 0 : random.nextInt(100),
+                new StarRating(1 + random.nextInt(5))));
+        }
+        return items;
+    }
+
+    /**
+     * A fixed list of items as a query source, so the planner has no index to start from.
+     */
+    private static final class ListQuery implements IInventoryQuery {
+        private final List<InventoryItem> items;
+
+        private ListQuery(List<InventoryItem> items) {
+            this.items = items;
+        }
+
+        @Override
+        public List<InventoryItem> execute() {
+            return items;
+        }
+
+        @Override
+        public List<String> getAppliedFiltersAndSorts() {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package assignment2solution.loadtest;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A simulated customer that answers the console application's prompts.
+ *
+ * <p>The application writes to {@link #getOutput()} and reads from {@link #getInput()} on the same thread. Each time
+ * it asks for a line, the customer looks at the prompt at the end of the text written since its last answer and
+ * decides what to type. It searches one to three times with random criteria and buys a random item from some
+ * results. It records the purchases the application confirmed, so the harness can check them against the stock.
+ */
+final class ScriptedCustomer {
+    private static final String PURCHASE_COMPLETE = "*** Purchase complete.";
+    private static final String SOLD_OUT = "sold out before checkout";
+
+    private final Random random;
+    private final List<String> nameFragments;
+    private final double purchaseRate;
+    private final int plannedSearches;
+    private final StringBuilder transcript = new StringBuilder();
+    private final Map<String, Integer> unitsBought = new HashMap<>();
+    private int searches;
+    private int purchases;
+    private int rejectedPurchases;
+    private int unknownPrompts;
+    private String pendingName;
+    private int pendingQuantity;
+    private int minPrice;
+    private String answer = "";
+    private int answerOffset;
+
+    /**
+     * Initializes a new instance of the {@link ScriptedCustomer} class.
+     *
+     * @param random        The source of the customer's choices.
+     * @param nameFragments The words the customer may search for.
+     * @param purchaseRate  The chance of buying something from a non-empty result.
+     */
+    ScriptedCustomer(Random random, List<String> nameFragments, double purchaseRate) {
+        this.random = random;
+        this.nameFragments = nameFragments;
+        this.purchaseRate = purchaseRate;
+        this.plannedSearches = 1 + random.nextInt(3);
+    }
+
+    Reader getInput() {
+        return new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                if (answerOffset == answer.length()) {
+                    var line = answer();
+                    if (line == null) {
+                        return -1;
+                    }
+                    answer = line + "\n";
+                    answerOffset = 0;
+                }
+                var count = Math.min(length, answer.length() - answerOffset);
+                answer.getChars(answerOffset, answerOffset + count, buffer, offset);
+                answerOffset += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    Writer getOutput() {
+        return new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                transcript.append(buffer, offset, length);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    int getSearches() {
+        return searches;
+    }
+
+    int getPurchases() {
+        return purchases;
+    }
+
+    int getRejectedPurchases() {
+        return rejectedPurchases;
+    }
+
+    /**
+     * Gets the number of prompts the customer did not recognise; each was answered with end of input.
+     */
+    int getUnknownPrompts() {
+        return unknownPrompts;
+    }
+
+    /**
+     * Gets the confirmed units bought, by item name.
+     */
+    Map<String, Integer> getUnitsBought() {
+        return unitsBought;
+    }
+
+    private String answer() {
+        var text = transcript.toString();
+        transcript.setLength(0);
+        settlePendingPurchase(text);
+        var prompt = text.substring(text.lastIndexOf('\n') + 1);
+
+        if (prompt.startsWith("* Tea name contains")) {
+            searches++;
+            return random.nextInt(5) < 2 ? "" : nameFragments.get(random.nextInt(nameFragments.size()));
+        }
+        if (prompt.startsWith("* Is available?")) {
+            return random.nextInt(10) == 0 ? "N" : "Y";
+        }
+        if (prompt.startsWith("* Price minimum")) {
+            minPrice = random.nextBoolean() ? 0 : random.nextInt(20);
+            return minPrice == 0 ? "" : Integer.toString(minPrice);
+        }
+        if (prompt.startsWith("* Price maximum")) {
+            return random.nextBoolean() ? "" : Integer.toString(minPrice + 5 + random.nextInt(50));
+        }
+        if (prompt.startsWith("* Star rating minimum")) {
+            return Integer.toString(1 + random.nextInt(3));
+        }
+        if (prompt.startsWith("* Star rating maximum")) {
+            return "";
+        }
+        if (prompt.startsWith("* Sort by")) {
+            return random.nextBoolean() ? "" : random.nextBoolean() ? "A" : "D";
+        }
+        if (prompt.startsWith("Purchase an item?")) {
+            var itemCount = Integer.parseInt(between(prompt, "1-", " "));
+            return random.nextDouble() < purchaseRate ? Integer.toString(1 + random.nextInt(itemCount)) : "0";
+        }
+        if (prompt.startsWith("Quantity for ")) {
+            pendingName = between(prompt, "\"", "\" (1-");
+            pendingQuantity = 1 + random.nextInt(Math.min(3, Integer.parseInt(between(prompt, "\" (1-", "):"))));
+            return Integer.toString(pendingQuantity);
+        }
+        if (prompt.startsWith("Selection:")) {
+            return Integer.toString(1 + random.nextInt(3));
+        }
+        if (prompt.startsWith("Enter Credit Card Number:")) {
+            return "4111111111111111";
+        }
+        if (prompt.startsWith("Enter Apple Username:")) {
+            return "customer@example.com";
+        }
+        if (prompt.startsWith("Enter Wallet Address:")) {
+            return "0x52908400098527886E0F7030069857D2E4169EE7";
+        }
+        if (prompt.startsWith("Enter Transaction Signature:")) {
+            return "0x" + Long.toHexString(random.nextLong());
+        }
+        if (prompt.startsWith("Search for more tea?")) {
+            return searches < plannedSearches ? "Y" : "N";
+        }
+
+        unknownPrompts++;
+        return null;
+    }
+
+    private void settlePendingPurchase(String text) {
+        if (pendingName == null) {
+            return;
+        }
+        if (text.contains(PURCHASE_COMPLETE)) {
+            purchases++;
+            unitsBought.merge(pendingName, pendingQuantity, Integer::sum);
+            pendingName = null;
+        } else if (text.contains(SOLD_OUT)) {
+            rejectedPurchases++;
+            pendingName = null;
+        } else if (text.contains("Search for more tea?")) {
+            pendingName = null;
+        }
+    }
+
+    private static String between(String text, String start, String end) {
+        var from = text.indexOf(start) + start.length();
+        return text.substring(from, text.indexOf(end, from));
+    }
+}
@@ -1,6 +1,9 @@
 package assignment2solution.userinterface;
 
+import assignment2solution.domain.cart.Cart;
+import assignment2solution.domain.cart.CartCheckout;
 import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventoryquery.InventoryQueryCache;
 import assignment2solution.domain.inventoryquery.QueriedInventoryItem;
 import assignment2solution.userinterface.paymentbuilder.IPaymentBuilder;
 import assignment2solution.userinterface.paymentbuilder.PaymentBuilderListFactory;
@@ -12,23 +15,24 @@ import java.io.BufferedReader;
 import java.io.Reader;
 import java.io.Writer;
 import java.io.PrintWriter;
-import java.math.BigDecimal;
-import java.text.NumberFormat;
 import java.util.List;
-import java.util.Locale;
 import java.util.Objects;
 
 /**
  * The main application class that coordinates the user interface and domain logic.
  */
 public final class Application {
+    private static final int QUERY_CACHE_CAPACITY = 64;
+
     private final BufferedReader input;
     private final PrintWriter output;
-    private final InventoryRepository repository;
+    private final CartCheckout cartCheckout;
     private final InventoryQueryBuilder inventoryQueryBuilder;
+    private final InventoryQueryCache inventoryQueryCache;
     private final InventoryQueryOutputWriter inventoryQueryOutputWriter;
     private final List<IPaymentBuilder> paymentMethods;
-    private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+    private final IApplicationPhaseListener phaseListener;
+    private final boolean explainQueries;
 
     /**
      * Initializes a new instance of the {@link Application} class.
@@ -37,15 +41,63 @@ public final class Application {
      * @param output The text writer for application output.
      */
     public Application(Reader input, Writer output) {
+        this(new InventoryRepository(), input, output);
+    }
+
+    /**
+     * Initializes a new instance of the {@link Application} class over an existing repository.
+     *
+     * @param repository The inventory repository to search and update.
+     * @param input      The text reader for user input.
+     * @param output     The text writer for application output.
+     */
+    public Application(InventoryRepository repository, Reader input, Writer output) {
+        this(repository, new InventoryQueryCache(Objects.requireNonNull(repository, "repository"),
+            QUERY_CACHE_CAPACITY), input, output, null);
+    }
+
+    /**
+     * Initializes a new instance of the {@link Application} class that shares a query cache with other sessions
+     * over the same repository and reports how long each phase takes.
+     *
+     * @param repository    The inventory repository to search and update.
+     * @param queryCache    The cache of query results over the repository.
+     * @param input         The text reader for user input.
+     * @param output        The text writer for application output.
+     * @param phaseListener The listener told how long each phase took, or null.
+     */
+    public Application(InventoryRepository repository, InventoryQueryCache queryCache, Reader input, Writer output,
+                       IApplicationPhaseListener phaseListener) {
+        this(repository, queryCache, input, output, phaseListener, false);
+    }
+
+    /**
+     * Initializes a new instance of the {@link Application} class that can print how each layer of every query
+     * performed.
+     *
+     * @param repository     The inventory repository to search and update.
+     * @param queryCache     The cache of query results over the repository.
+     * @param input          The text reader for user input.
+     * @param output         The text writer for application output.
+     * @param phaseListener  The listener told how long each phase took, or null.
+     * @param explainQueries Whether to run each query layer by layer and print its profile with the results.
+     */
+    public Application(InventoryRepository repository, InventoryQueryCache queryCache, Reader input, Writer output,
+                       IApplicationPhaseListener phaseListener, boolean explainQueries) {
+        Objects.requireNonNull(repository, "repository");
+        Objects.requireNonNull(queryCache, "queryCache");
         Objects.requireNonNull(input, "input");
         Objects.requireNonNull(output, "output");
 
         this.input = new BufferedReader(input);
         this.output = new PrintWriter(output, true);
-        this.repository = new InventoryRepository();
+        this.cartCheckout = new CartCheckout(repository);
         this.inventoryQueryBuilder = new InventoryQueryBuilder(repository, this.input, this.output);
+        this.inventoryQueryCache = queryCache;
         this.inventoryQueryOutputWriter = new InventoryQueryOutputWriter(this.output);
         this.paymentMethods = PaymentBuilderListFactory.get();
+        this.phaseListener = phaseListener;
+        this.explainQueries = explainQueries;
     }
 
     /**
@@ -55,9 +107,13 @@ public final class Application {
         displayWelcomeMessage();
 
         while (true) {
-            var query = inventoryQueryBuilder.build();
-            var output = InventoryQueryOutput.from(query);
+            var started = System.nanoTime();
+            var query = inventoryQueryCache.wrap(inventoryQueryBuilder.build());
+            started = completePhase(ApplicationPhase.QUERY_BUILD, started);
+            var output = explainQueries ? InventoryQueryOutput.explain(query) : InventoryQueryOutput.from(query);
+            started = completePhase(ApplicationPhase.EXECUTE, started);
             inventoryQueryOutputWriter.write(output);
+            completePhase(ApplicationPhase.RENDER, started);
             this.output.println();
 
             if (output.items().isEmpty()) {
@@ -137,10 +193,12 @@ public final class Application {
                 continue;
             }
 
-            var totalPrice = selected.getPrice().multiply(BigDecimal.valueOf(quantity));
-            this.output.println("*** Total Price: " + currencyFormatter.format(totalPrice));
+            var totalPrice = selected.getUnitPrice().multiply(quantity);
+            this.output.println("*** Total Price: " + totalPrice.format());
 
+            var started = System.nanoTime();
             processCheckout(selected, quantity);
+            completePhase(ApplicationPhase.CHECKOUT, started);
             break;
         }
     }
@@ -168,15 +226,30 @@ public final class Application {
         }
 
         var strategy = paymentMethods.get(index - 1).createStrategy(input, output);
-        strategy.checkout(item, quantity, output);
 
-        // Decrease inventory quantity (using negative value for decrease)
-        repository.updateQuantity(item.getInventoryItemId(), -1 * quantity);
+        // the cart checkout takes the stock before paying: other customers may have bought it since the search, and
+        // the reservation fails rather than oversell
+        var cart = new Cart();
+        cart.add(item, quantity);
+        try {
+            cartCheckout.checkout(cart, strategy, output);
+        } catch (IllegalStateException ex) {
+            this.output.println("!!! Sorry, " + item.getName() + " sold out before checkout. Checkout cancelled.");
+            return;
+        }
 
         var purchaseDesc = quantity + " packages of " + item.getName();
         this.output.println("*** Purchase complete. Your " + purchaseDesc + " is on the way ***");
     }
 
+    private long completePhase(ApplicationPhase phase, long started) {
+        var completed = System.nanoTime();
+        if (phaseListener != null) {
+            phaseListener.onPhaseCompleted(phase, completed - started);
+        }
+        return completed;
+    }
+
     private boolean readYesNo(String prompt, boolean defaultValue) {
         while (true) {
             printPrompt(prompt);
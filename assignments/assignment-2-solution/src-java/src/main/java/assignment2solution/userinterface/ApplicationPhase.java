@@ -0,0 +1,26 @@
+package assignment2solution.userinterface;
+
+/**
+ * A phase of one search-and-purchase round of the {@link Application} loop.
+ */
+public enum ApplicationPhase {
+    /**
+     * Reading the search criteria and building the query.
+     */
+    QUERY_BUILD,
+
+    /**
+     * Running the query.
+     */
+    EXECUTE,
+
+    /**
+     * Writing the results.
+     */
+    RENDER,
+
+    /**
+     * Choosing a payment method, paying and taking the stock.
+     */
+    CHECKOUT
+}
@@ -0,0 +1,15 @@
+package assignment2solution.userinterface;
+
+/**
+ * Receives how long each phase of the {@link Application} loop took, for example to measure latency under load.
+ */
+@FunctionalInterface
+public interface IApplicationPhaseListener {
+    /**
+     * Called on the application's thread after a phase completes.
+     *
+     * @param phase        The completed phase.
+     * @param elapsedNanos The phase's wall-clock time in nanoseconds.
+     */
+    void onPhaseCompleted(ApplicationPhase phase, long elapsedNanos);
+}
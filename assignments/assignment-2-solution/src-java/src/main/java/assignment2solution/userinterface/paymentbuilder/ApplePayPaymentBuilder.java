@@ -7,6 +7,8 @@ import java.io.BufferedReader;
 import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Represents the Apple Pay payment method.
@@ -17,6 +19,16 @@ public final class ApplePayPaymentBuilder implements IPaymentBuilder {
         return "Apple Pay";
     }
 
+    @Override
+    public List<String> getDetailNames() {
+        return List.of("appleUsername");
+    }
+
+    @Override
+    public IPaymentStrategy createStrategy(Map<String, String> details) {
+        return new ApplePayStrategy(details.get("appleUsername"));
+    }
+
     @Override
     public IPaymentStrategy createStrategy(Reader input, Writer output) {
         var reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
@@ -7,6 +7,8 @@ import java.io.BufferedReader;
 import java.io.PrintWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Represents the cryptocurrency payment method.
@@ -17,6 +19,16 @@ public final class CryptoCurrencyPaymentBuilder implements IPaymentBuilder {
         return "CryptoCurrency";
     }
 
+    @Override
+    public List<String> getDetailNames() {
+        return List.of("walletAddress", "transactionSignature");
+    }
+
+    @Override
+    public IPaymentStrategy createStrategy(Map<String, String> details) {
+        return new CryptoCurrencyStrategy(details.get("walletAddress"), details.get("transactionSignature"));
+    }
+
     @Override
     public IPaymentStrategy createStrategy(Reader input, Writer output) {
         var reader = input instanceof BufferedReader ? (BufferedReader) input : new BufferedReader(input);
@@ -4,6 +4,8 @@ import assignment2solution.domain.payment.IPaymentStrategy;
 
 import java.io.Reader;
 import java.io.Writer;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Defines a payment method that can create a corresponding payment strategy.
@@ -14,6 +16,18 @@ public interface IPaymentBuilder {
      */
     String getName();
 
+    /**
+     * Gets the names of the details {@link #createStrategy(Map)} reads.
+     */
+    List<String> getDetailNames();
+
+    /**
+     * Creates a payment strategy from details supplied all at once, such as the members of a web request.
+     *
+     * @throws IllegalArgumentException when a detail is missing or invalid.
+     */
+    IPaymentStrategy createStrategy(Map<String, String> details);
+
     /**
      * Creates a payment strategy by prompting the user for necessary information.
      */
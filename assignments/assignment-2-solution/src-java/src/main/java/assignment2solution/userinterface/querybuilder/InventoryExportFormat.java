@@ -0,0 +1,52 @@
+package assignment2solution.userinterface.querybuilder;
+
+/**
+ * Specifies the layout {@link InventoryExportWriter} writes query results in.
+ */
+public enum InventoryExportFormat {
+    /**
+     * The console's result table, between the applied filters and a count of the items.
+     */
+    TEXT(null, "${index:2}. ${name:-20}  ${price:6}  ${stock}  ${stars}", System.lineSeparator()),
+
+    /**
+     * Comma-separated values with a header row; names are quoted when needed.
+     */
+    CSV("index,inventoryItemId,name,price,quantity,starRating",
+        "${index},${id},${name},${price},${quantity},${stars}", "\n"),
+
+    /**
+     * One JSON object per line.
+     */
+    JSON_LINES(null,
+        "{\"index\":${index},\"inventoryItemId\":\"${id}\",\"name\":\"${name}\",\"price\":${price},"
+            + "\"quantity\":${quantity},\"starRating\":${stars}}", "\n");
+
+    private final String header;
+    private final String rowPattern;
+    private final String lineTerminator;
+
+    InventoryExportFormat(String header, String rowPattern, String lineTerminator) {
+        this.header = header;
+        this.rowPattern = rowPattern;
+        this.lineTerminator = lineTerminator;
+    }
+
+    /**
+     * Gets the header row, or null when the format has none.
+     */
+    String getHeader() {
+        return header;
+    }
+
+    /**
+     * Gets the row pattern {@link RowTemplate#compile} reads.
+     */
+    String getRowPattern() {
+        return rowPattern;
+    }
+
+    String getLineTerminator() {
+        return lineTerminator;
+    }
+}
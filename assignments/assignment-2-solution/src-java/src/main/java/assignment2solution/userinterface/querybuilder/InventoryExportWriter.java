@@ -0,0 +1,112 @@
+package assignment2solution.userinterface.querybuilder;
+
+import assignment2solution.domain.inventoryquery.IInventoryQuery;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Streams query results to a writer as text, CSV or JSON Lines, for exports of any size.
+ *
+ * <p>Rows are rendered straight from {@link IInventoryQuery#stream()}, without building an
+ * {@link InventoryQueryOutput} or any per-row object. Each row goes through the format's precompiled
+ * {@link RowTemplate} into a reused buffer, and the buffer is written out in chunks, so memory stays constant
+ * whatever the number of rows and the garbage per row is close to none.
+ */
+public final class InventoryExportWriter {
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final Writer output;
+    private final InventoryExportFormat format;
+    private final RowTemplate template;
+    private final int chunkSize;
+    private final StringBuilder buffer;
+    private final StringBuilder field = new StringBuilder(64);
+    private final char[] chunk;
+
+    /**
+     * Initializes a new instance of the {@link InventoryExportWriter} class.
+     */
+    public InventoryExportWriter(Writer output, InventoryExportFormat format) {
+        this(output, format, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Initializes a new instance of the {@link InventoryExportWriter} class.
+     *
+     * @param chunkSize The number of characters buffered before they are written out.
+     */
+    public InventoryExportWriter(Writer output, InventoryExportFormat format, int chunkSize) {
+        this.output = Objects.requireNonNull(output, "output");
+        this.format = Objects.requireNonNull(format, "format");
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.template = RowTemplate.compile(format);
+        this.chunkSize = chunkSize;
+        this.buffer = new StringBuilder(chunkSize + 256);
+        this.chunk = new char[chunkSize + 256];
+    }
+
+    /**
+     * Writes every result of the query and flushes the writer.
+     *
+     * @return the number of rows written.
+     * @throws UncheckedIOException when the writer fails.
+     */
+    public long write(IInventoryQuery query) {
+        Objects.requireNonNull(query, "query");
+        var terminator = format.getLineTerminator();
+
+        if (format == InventoryExportFormat.TEXT) {
+            buffer.append(terminator).append("Applied Filters and Sorts:").append(terminator);
+            var descriptions = query.getAppliedFiltersAndSorts();
+            if (descriptions.isEmpty()) {
+                buffer.append("- (none)").append(terminator);
+            }
+            for (var description : descriptions) {
+                buffer.append("- ").append(description).append(terminator);
+            }
+            buffer.append(terminator);
+        } else if (format.getHeader() != null) {
+            buffer.append(format.getHeader()).append(terminator);
+        }
+
+        var rows = 0;
+        var iterator = query.stream().iterator();
+        while (iterator.hasNext()) {
+            template.render(++rows, iterator.next(), buffer, field);
+            buffer.append(terminator);
+            if (buffer.length() >= chunkSize) {
+                drain();
+            }
+        }
+
+        if (format == InventoryExportFormat.TEXT) {
+            buffer.append(rows).append(rows == 1 ? " item" : " items").append(" matched your query.")
+                .append(terminator);
+        }
+        drain();
+        try {
+            output.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return rows;
+    }
+
+    private void drain() {
+        try {
+            for (int start = 0; start < buffer.length(); start += chunk.length) {
+                var end = Math.min(buffer.length(), start + chunk.length);
+                buffer.getChars(start, end, chunk, 0);
+                output.write(chunk, 0, end - start);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        buffer.setLength(0);
+    }
+}
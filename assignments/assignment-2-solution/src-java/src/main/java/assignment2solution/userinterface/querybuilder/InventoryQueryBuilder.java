@@ -3,6 +3,7 @@ package assignment2solution.userinterface.querybuilder;
 import assignment2solution.domain.inventory.InventoryRepository;
 import assignment2solution.domain.inventoryquery.AllInventoryQuery;
 import assignment2solution.domain.inventoryquery.IInventoryQuery;
+import assignment2solution.domain.inventoryquery.InventoryQueryPlanner;
 import assignment2solution.domain.inventoryquery.filters.AvailabilityFilterDecorator;
 import assignment2solution.domain.inventoryquery.filters.NameContainsFilterDecorator;
 import assignment2solution.domain.inventoryquery.filters.PriceRangeFilterDecorator;
@@ -62,7 +63,7 @@ public final class InventoryQueryBuilder {
         var starSort = readSortDirection("* Sort by Star rating (A/D, default D): ", SortDirection.DESCENDING);
         query = new SortByStarRatingDecorator(query, starSort);
 
-        return query;
+        return InventoryQueryPlanner.plan(query);
     }
 
     private String readOptionalString(String prompt) {
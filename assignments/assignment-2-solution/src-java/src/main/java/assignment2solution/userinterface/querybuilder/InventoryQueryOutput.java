@@ -1,6 +1,9 @@
 package assignment2solution.userinterface.querybuilder;
 
+import assignment2solution.domain.inventory.InventoryItem;
 import assignment2solution.domain.inventoryquery.IInventoryQuery;
+import assignment2solution.domain.inventoryquery.InventoryQueryExplainer;
+import assignment2solution.domain.inventoryquery.InventoryQueryProfile;
 import assignment2solution.domain.inventoryquery.QueriedInventoryItem;
 
 import java.util.List;
@@ -8,23 +11,51 @@ import java.util.Objects;
 
 /**
  * Represents the result of an inventory query, ready for display.
+ *
+ * @param profiles How the query performed, empty when it was not explained.
  */
 public record InventoryQueryOutput(
     List<QueriedInventoryItem> items,
-    List<String> appliedFiltersAndSorts
+    List<String> appliedFiltersAndSorts,
+    List<InventoryQueryProfile> profiles
 ) {
+    /**
+     * Initializes a new instance of the {@link InventoryQueryOutput} class without profiles.
+     */
+    public InventoryQueryOutput(List<QueriedInventoryItem> items, List<String> appliedFiltersAndSorts) {
+        this(items, appliedFiltersAndSorts, List.of());
+    }
+
     /**
      * Creates an {@link InventoryQueryOutput} from an {@link IInventoryQuery}.
      */
     public static InventoryQueryOutput from(IInventoryQuery query) {
         Objects.requireNonNull(query, "query");
 
-        var results = query.execute();
+        return create(query.execute(), query, List.of());
+    }
+
+    /**
+     * Creates an {@link InventoryQueryOutput} from an {@link IInventoryQuery} run through the
+     * {@link InventoryQueryExplainer}. The output includes two profiles: the stages of the execution as it really
+     * ran, and what each decorator of the unplanned chain costs on its own.
+     */
+    public static InventoryQueryOutput explain(IInventoryQuery query) {
+        Objects.requireNonNull(query, "query");
+
+        var execution = InventoryQueryExplainer.analyze(query);
+        var layers = InventoryQueryExplainer.analyzeLayers(query);
+        return create(execution.items(), query, List.of(execution, layers));
+    }
+
+    private static InventoryQueryOutput create(List<InventoryItem> results, IInventoryQuery query,
+                                               List<InventoryQueryProfile> profiles) {
         var indexed = new java.util.ArrayList<QueriedInventoryItem>(results.size());
         for (int i = 0; i < results.size(); i++) {
             indexed.add(new QueriedInventoryItem(i + 1, results.get(i)));
         }
 
-        return new InventoryQueryOutput(List.copyOf(indexed), List.copyOf(query.getAppliedFiltersAndSorts()));
+        return new InventoryQueryOutput(List.copyOf(indexed), List.copyOf(query.getAppliedFiltersAndSorts()),
+            List.copyOf(profiles));
     }
 }
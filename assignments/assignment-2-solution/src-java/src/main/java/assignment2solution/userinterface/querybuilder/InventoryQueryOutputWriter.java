@@ -2,16 +2,17 @@ package assignment2solution.userinterface.querybuilder;
 
 import java.io.PrintWriter;
 import java.io.Writer;
-import java.text.NumberFormat;
-import java.util.Locale;
 import java.util.Objects;
 
 /**
  * A writer for displaying query results to the user.
  */
 public final class InventoryQueryOutputWriter {
+    private static final RowTemplate ROW_TEMPLATE = RowTemplate.compile(InventoryExportFormat.TEXT);
+
     private final PrintWriter output;
-    private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.US);
+    private final StringBuilder row = new StringBuilder(80);
+    private final StringBuilder field = new StringBuilder(32);
 
     /**
      * Initializes a new instance of the {@link InventoryQueryOutputWriter} class.
@@ -37,20 +38,22 @@ public final class InventoryQueryOutputWriter {
             }
         }
 
+        if (!output.profiles().isEmpty()) {
+            this.output.println();
+            this.output.println("Query Profile:");
+            for (var profile : output.profiles()) {
+                this.output.println();
+                this.output.print(profile.format());
+            }
+        }
+
         this.output.println();
         this.output.println(output.items().size() + " items matched your query:");
 
         for (var item : output.items()) {
-            var quantityAvailable = item.getQuantity() == 0
-                ? "(OUT OF STOCK)"
-                : String.format(Locale.US, "Qty: %-4d", item.getQuantity());
-            var price = currencyFormatter.format(item.getPrice());
-            this.output.println(String.format(Locale.US, "%2d. %-20s  %6s  %s  %s",
-                item.getIndex(),
-                item.getName(),
-                price,
-                quantityAvailable,
-                item.getStarRating()));
+            row.setLength(0);
+            ROW_TEMPLATE.render(item.getIndex(), item, row, field);
+            this.output.println(row);
         }
     }
 }
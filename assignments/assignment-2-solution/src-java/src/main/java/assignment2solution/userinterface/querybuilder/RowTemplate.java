@@ -0,0 +1,218 @@
+package assignment2solution.userinterface.querybuilder;
+
+import assignment2solution.domain.inventory.InventoryItem;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * A result row layout, parsed once and then rendered for every row without {@code String.format}, number formatters
+ * or intermediate strings: each field is appended straight into caller-owned, reusable builders.
+ *
+ * <p>A pattern is literal text with {@code ${field}} or {@code ${field:width}} placeholders. A positive width
+ * right-aligns the field, a negative one left-aligns it. The fields are {@code index}, {@code id}, {@code name},
+ * {@code price}, {@code quantity}, {@code stock} ("Qty: n" or "(OUT OF STOCK)") and {@code stars}. The format
+ * decides how text is escaped and how prices and ratings look.
+ */
+final class RowTemplate {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final InventoryExportFormat format;
+    private final String[] literals;
+    private final Field[] fields;
+    private final int[] widths;
+
+    private RowTemplate(InventoryExportFormat format, String[] literals, Field[] fields, int[] widths) {
+        this.format = format;
+        this.literals = literals;
+        this.fields = fields;
+        this.widths = widths;
+    }
+
+    /**
+     * Parses a format's row pattern.
+     *
+     * @throws IllegalArgumentException when the pattern has an unknown field or an unclosed placeholder.
+     */
+    static RowTemplate compile(InventoryExportFormat format) {
+        var pattern = format.getRowPattern();
+        var literals = new ArrayList<String>();
+        var fields = new ArrayList<Field>();
+        var widths = new ArrayList<Integer>();
+
+        var offset = 0;
+        while (true) {
+            var start = pattern.indexOf("${", offset);
+            if (start < 0) {
+                literals.add(pattern.substring(offset));
+                break;
+            }
+            var end = pattern.indexOf('}', start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + start + ".");
+            }
+            literals.add(pattern.substring(offset, start));
+
+            var placeholder = pattern.substring(start + 2, end);
+            var colon = placeholder.indexOf(':');
+            var name = colon < 0 ? placeholder : placeholder.substring(0, colon);
+            try {
+                fields.add(Field.valueOf(name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            widths.add(colon < 0 ? 0 : Integer.parseInt(placeholder.substring(colon + 1)));
+            offset = end + 1;
+        }
+
+        return new RowTemplate(format, literals.toArray(String[]::new), fields.toArray(Field[]::new),
+            widths.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Appends one row, without a line terminator.
+     *
+     * @param row   The builder the row is appended to.
+     * @param field A scratch builder, reused for every field.
+     */
+    void render(int index, InventoryItem item, StringBuilder row, StringBuilder field) {
+        for (int i = 0; i < fields.length; i++) {
+            row.append(literals[i]);
+            field.setLength(0);
+            appendField(fields[i], index, item, field);
+
+            var padding = Math.abs(widths[i]) - field.length();
+            if (widths[i] > 0) {
+                appendSpaces(row, padding);
+            }
+            row.append(field);
+            if (widths[i] < 0) {
+                appendSpaces(row, padding);
+            }
+        }
+        row.append(literals[fields.length]);
+    }
+
+    private void appendField(Field field, int index, InventoryItem item, StringBuilder builder) {
+        switch (field) {
+            case INDEX -> builder.append(index);
+            case ID -> appendUuid(builder, item.getInventoryItemId());
+            case NAME -> appendText(builder, item.getName());
+            case PRICE -> appendPrice(builder, item.getUnitPrice().getCents());
+            case QUANTITY -> builder.append(item.getQuantity());
+            case STOCK -> {
+                if (item.getQuantity() == 0) {
+                    builder.append("(OUT OF STOCK)");
+                } else {
+                    var start = builder.length();
+                    builder.append("Qty: ").append(item.getQuantity());
+                    appendSpaces(builder, 9 - (builder.length() - start));
+                }
+            }
+            case STARS -> {
+                var rating = item.getStarRating().getRating();
+                builder.append(rating);
+                if (format == InventoryExportFormat.TEXT) {
+                    for (int i = 0; i < rating; i++) {
+                        builder.append('*');
+                    }
+                }
+            }
+        }
+    }
+
+    private void appendText(StringBuilder builder, String text) {
+        if (format == InventoryExportFormat.JSON_LINES) {
+            for (int i = 0; i < text.length(); i++) {
+                var c = text.charAt(i);
+                if (c == '"' || c == '\\') {
+                    builder.append('\\').append(c);
+                } else if (c < 0x20) {
+                    builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+                } else {
+                    builder.append(c);
+                }
+            }
+        } else if (format == InventoryExportFormat.CSV && needsCsvQuotes(text)) {
+            builder.append('"');
+            for (int i = 0; i < text.length(); i++) {
+                var c = text.charAt(i);
+                builder.append(c);
+                if (c == '"') {
+                    builder.append('"');
+                }
+            }
+            builder.append('"');
+        } else {
+            builder.append(text);
+        }
+    }
+
+    /**
+     * Appends a price in cents: "$1,234.50" as text, "1234.50" in the data formats.
+     */
+    private void appendPrice(StringBuilder builder, long cents) {
+        if (cents < 0) {
+            builder.append('-');
+        }
+        var dollars = Math.abs(cents / 100);
+        var remainder = Math.abs(cents % 100);
+        if (format == InventoryExportFormat.TEXT) {
+            builder.append('$');
+            appendGrouped(builder, dollars);
+        } else {
+            builder.append(dollars);
+        }
+        builder.append('.').append((char) ('0' + remainder / 10)).append((char) ('0' + remainder % 10));
+    }
+
+    private static void appendGrouped(StringBuilder builder, long value) {
+        if (value < 1000) {
+            builder.append(value);
+            return;
+        }
+        appendGrouped(builder, value / 1000);
+        var group = value % 1000;
+        builder.append(',').append((char) ('0' + group / 100)).append((char) ('0' + group / 10 % 10))
+            .append((char) ('0' + group % 10));
+    }
+
+    private static void appendUuid(StringBuilder builder, UUID id) {
+        appendHex(builder, id.getMostSignificantBits() >>> 32, 8);
+        builder.append('-');
+        appendHex(builder, id.getMostSignificantBits() >>> 16, 4);
+        builder.append('-');
+        appendHex(builder, id.getMostSignificantBits(), 4);
+        builder.append('-');
+        appendHex(builder, id.getLeastSignificantBits() >>> 48, 4);
+        builder.append('-');
+        appendHex(builder, id.getLeastSignificantBits(), 12);
+    }
+
+    private static void appendHex(StringBuilder builder, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            builder.append(HEX[(int) (value >>> shift) & 0xf]);
+        }
+    }
+
+    private static boolean needsCsvQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendSpaces(StringBuilder builder, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(' ');
+        }
+    }
+
+    private enum Field {
+        INDEX, ID, NAME, PRICE, QUANTITY, STOCK, STARS
+    }
+}
@@ -0,0 +1,202 @@
+package assignment2solution.userinterface.webapi;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventoryquery.AllInventoryQuery;
+import assignment2solution.domain.inventoryquery.IInventoryQuery;
+import assignment2solution.domain.inventoryquery.InventoryPager;
+import assignment2solution.domain.inventoryquery.InventoryQueryCache;
+import assignment2solution.domain.inventoryquery.InventoryQueryPlanner;
+import assignment2solution.domain.inventoryquery.filters.AvailabilityFilterDecorator;
+import assignment2solution.domain.inventoryquery.filters.NameContainsFilterDecorator;
+import assignment2solution.domain.inventoryquery.filters.PriceRangeFilterDecorator;
+import assignment2solution.domain.inventoryquery.filters.StarRatingRangeFilterDecorator;
+import assignment2solution.domain.inventoryquery.sorts.SortByPriceDecorator;
+import assignment2solution.domain.inventoryquery.sorts.SortByStarRatingDecorator;
+import assignment2solution.domain.inventoryquery.sorts.SortDirection;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Serves {@code GET /inventory}, the console query flow with its prompts as query parameters, and
+ * {@code GET /inventory/{id}}.
+ *
+ * <p>Parameters left out take the console's defaults: any name, in stock, priced $0 to $1000, rated 3 to 5 stars,
+ * sorted by price ascending and then by star rating descending. {@code pageSize} and {@code cursor} return one
+ * page at a time through {@link InventoryPager}; otherwise the whole result is served through a shared
+ * {@link InventoryQueryCache}.
+ */
+final class InventoryHandler extends JsonHandlerBase {
+    static final String PATH = "/inventory";
+
+    private static final BigDecimal DEFAULT_MIN_PRICE = BigDecimal.ZERO;
+    private static final BigDecimal DEFAULT_MAX_PRICE = new BigDecimal("1000");
+
+    private final InventoryRepository repository;
+    private final InventoryQueryCache queryCache;
+
+    /**
+     * Initializes a new instance of the {@link InventoryHandler} class.
+     */
+    InventoryHandler(InventoryRepository repository, InventoryQueryCache queryCache) {
+        this.repository = Objects.requireNonNull(repository, "repository");
+        this.queryCache = Objects.requireNonNull(queryCache, "queryCache");
+    }
+
+    @Override
+    protected int handleRequest(HttpExchange exchange, StringBuilder response) {
+        requireMethod(exchange, "GET");
+
+        var path = exchange.getRequestURI().getPath();
+        if (path.equals(PATH) || path.equals(PATH + "/")) {
+            writeQueryResult(readQueryParameters(exchange), response);
+            return 200;
+        }
+        if (!path.startsWith(PATH + "/")) {
+            throw new WebApiException(404, "Not found.");
+        }
+
+        InventoryItem item;
+        try {
+            item = repository.get(UUID.fromString(path.substring(PATH.length() + 1)));
+        } catch (IllegalArgumentException ex) {
+            throw new WebApiException(404, "Item not found.");
+        }
+        appendItem(response, item);
+        return 200;
+    }
+
+    /**
+     * Builds the same decorator chain as the console's query builder from request parameters.
+     */
+    static IInventoryQuery buildQuery(InventoryRepository repository, Map<String, String> parameters) {
+        IInventoryQuery query = new AllInventoryQuery(repository);
+
+        query = new NameContainsFilterDecorator(query, parameters.getOrDefault("name", ""),
+            readBoolean(parameters, "fuzzy", false));
+
+        var isAvailable = "any".equals(parameters.get("available"))
+            ? null
+            : readBoolean(parameters, "available", true);
+        query = new AvailabilityFilterDecorator(query, isAvailable);
+
+        var minPrice = readPrice(parameters, "minPrice", DEFAULT_MIN_PRICE);
+        var maxPrice = readPrice(parameters, "maxPrice", DEFAULT_MAX_PRICE);
+        if (minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("Minimum price cannot be greater than maximum price.");
+        }
+        query = new PriceRangeFilterDecorator(query, minPrice, maxPrice);
+
+        var minStars = readStarRating(parameters, "minStars", 3);
+        var maxStars = readStarRating(parameters, "maxStars", 5);
+        if (minStars > maxStars) {
+            throw new IllegalArgumentException("Minimum star rating cannot be greater than maximum star rating.");
+        }
+        query = new StarRatingRangeFilterDecorator(query, minStars, maxStars);
+
+        query = new SortByPriceDecorator(query, readSortDirection(parameters, "priceSort", SortDirection.ASCENDING));
+        query = new SortByStarRatingDecorator(query,
+            readSortDirection(parameters, "starSort", SortDirection.DESCENDING));
+
+        return InventoryQueryPlanner.plan(query);
+    }
+
+    private void writeQueryResult(Map<String, String> parameters, StringBuilder response) {
+        var query = buildQuery(repository, parameters);
+
+        response.append("{\"appliedFiltersAndSorts\":[");
+        var descriptions = query.getAppliedFiltersAndSorts();
+        for (int i = 0; i < descriptions.size(); i++) {
+            Json.appendString(i == 0 ? response : response.append(','), descriptions.get(i));
+        }
+        response.append("],\"items\":[");
+
+        List<InventoryItem> items;
+        String nextCursor = null;
+        var pageSize = parameters.get("pageSize");
+        if (pageSize != null) {
+            var page = new InventoryPager(query).getPage(parameters.get("cursor"), readInt(pageSize, "pageSize"));
+            items = page.items();
+            nextCursor = page.nextCursor();
+        } else if (parameters.containsKey("cursor")) {
+            throw new IllegalArgumentException("A cursor requires a pageSize.");
+        } else {
+            items = queryCache.wrap(query).execute();
+        }
+        for (int i = 0; i < items.size(); i++) {
+            appendItem(i == 0 ? response : response.append(','), items.get(i));
+        }
+
+        response.append("],\"nextCursor\":");
+        Json.appendString(response, nextCursor).append('}');
+    }
+
+    private static boolean readBoolean(Map<String, String> parameters, String name, boolean defaultValue) {
+        var value = parameters.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        if (value.equals("true")) {
+            return true;
+        }
+        if (value.equals("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException(name + " must be true or false.");
+    }
+
+    private static BigDecimal readPrice(Map<String, String> parameters, String name, BigDecimal defaultValue) {
+        var value = parameters.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            var price = new BigDecimal(value);
+            if (price.signum() >= 0) {
+                return price;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException(name + " must be a non-negative number.");
+    }
+
+    private static int readStarRating(Map<String, String> parameters, String name, int defaultValue) {
+        var value = parameters.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        var rating = readInt(value, name);
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException(name + " must be a whole number between 1 and 5.");
+        }
+        return rating;
+    }
+
+    private static SortDirection readSortDirection(Map<String, String> parameters, String name,
+                                                   SortDirection defaultValue) {
+        var value = parameters.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        if (value.equals("asc")) {
+            return SortDirection.ASCENDING;
+        }
+        if (value.equals("desc")) {
+            return SortDirection.DESCENDING;
+        }
+        throw new IllegalArgumentException(name + " must be asc or desc.");
+    }
+
+    private static int readInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(name + " must be a whole number.");
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package assignment2solution.userinterface.webapi;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The small part of JSON the web API needs: escaping strings for responses and reading request bodies that are a
+ * single object of strings, numbers, booleans, nulls, arrays and nested objects.
+ */
+final class Json {
+    /**
+     * The most arrays and objects that may be nested in each other, so a hostile body cannot overflow the stack.
+     */
+    static final int MAX_DEPTH = 32;
+
+    private final String text;
+    private int offset;
+    private int depth;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses a JSON object, keeping its members in order. Numbers become {@link BigDecimal}s and arrays
+     * {@link List}s.
+     *
+     * @throws IllegalArgumentException when the text is not a single JSON object.
+     */
+    static Map<String, Object> parseObject(String text) {
+        var parser = new Json(text);
+        parser.skipWhitespace();
+        var result = parser.readObject();
+        parser.skipWhitespace();
+        if (parser.offset != text.length()) {
+            throw parser.error("Unexpected text after the object");
+        }
+        return result;
+    }
+
+    /**
+     * Appends a string as a quoted JSON string.
+     */
+    static StringBuilder appendString(StringBuilder builder, String value) {
+        if (value == null) {
+            return builder.append("null");
+        }
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"');
+    }
+
+    private Map<String, Object> readObject() {
+        expect('{');
+        enter();
+        try {
+            return readMembers();
+        } finally {
+            depth--;
+        }
+    }
+
+    private Map<String, Object> readMembers() {
+        var members = new LinkedHashMap<String, Object>();
+        skipWhitespace();
+        if (peek() == '}') {
+            offset++;
+            return members;
+        }
+        while (true) {
+            skipWhitespace();
+            var name = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            if (members.put(name, readValue()) != null) {
+                throw error("Duplicate member \"" + name + "\"");
+            }
+            skipWhitespace();
+            if (peek() == ',') {
+                offset++;
+                continue;
+            }
+            expect('}');
+            return members;
+        }
+    }
+
+    private Object readValue() {
+        var c = peek();
+        if (c == '{') {
+            return readObject();
+        }
+        if (c == '[') {
+            return readArray();
+        }
+        if (c == '"') {
+            return readString();
+        }
+        if (text.startsWith("true", offset)) {
+            offset += 4;
+            return Boolean.TRUE;
+        }
+        if (text.startsWith("false", offset)) {
+            offset += 5;
+            return Boolean.FALSE;
+        }
+        if (text.startsWith("null", offset)) {
+            offset += 4;
+            return null;
+        }
+        return readNumber();
+    }
+
+    private List<Object> readArray() {
+        expect('[');
+        enter();
+        try {
+            return readElements();
+        } finally {
+            depth--;
+        }
+    }
+
+    private List<Object> readElements() {
+        var elements = new ArrayList<Object>();
+        skipWhitespace();
+        if (peek() == ']') {
+            offset++;
+            return elements;
+        }
+        while (true) {
+            skipWhitespace();
+            elements.add(readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                offset++;
+                continue;
+            }
+            expect(']');
+            return elements;
+        }
+    }
+
+    private String readString() {
+        expect('"');
+        var builder = new StringBuilder();
+        while (true) {
+            var c = next();
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c < 0x20) {
+                throw error("Unescaped control character in string");
+            }
+            if (c != '\\') {
+                builder.append(c);
+                continue;
+            }
+            var escaped = next();
+            switch (escaped) {
+                case '"', '\\', '/' -> builder.append(escaped);
+                case 'b' -> builder.append('\b');
+                case 'f' -> builder.append('\f');
+                case 'n' -> builder.append('\n');
+                case 'r' -> builder.append('\r');
+                case 't' -> builder.append('\t');
+                case 'u' -> {
+                    if (offset + 4 > text.length()) {
+                        throw error("Incomplete unicode escape");
+                    }
+                    try {
+                        builder.append((char) Integer.parseInt(text.substring(offset, offset + 4), 16));
+                    } catch (NumberFormatException ex) {
+                        throw error("Invalid unicode escape");
+                    }
+                    offset += 4;
+                }
+                default -> throw error("Invalid escape \\" + escaped);
+            }
+        }
+    }
+
+    private BigDecimal readNumber() {
+        var start = offset;
+        while (offset < text.length() && "+-0123456789.eE".indexOf(text.charAt(offset)) >= 0) {
+            offset++;
+        }
+        try {
+            return new BigDecimal(text.substring(start, offset));
+        } catch (NumberFormatException ex) {
+            offset = start;
+            throw error("Expected a value");
+        }
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw error("Nesting is too deep");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (offset < text.length() && " \t\r\n".indexOf(text.charAt(offset)) >= 0) {
+            offset++;
+        }
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+        offset++;
+    }
+
+    private char peek() {
+        return offset < text.length() ? text.charAt(offset) : '\0';
+    }
+
+    private char next() {
+        if (offset >= text.length()) {
+            throw error("Unexpected end of text");
+        }
+        return text.charAt(offset++);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + offset + ".");
+    }
+}
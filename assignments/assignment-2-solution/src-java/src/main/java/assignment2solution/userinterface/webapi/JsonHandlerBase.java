@@ -0,0 +1,116 @@
+package assignment2solution.userinterface.webapi;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Base class for the web API's handlers: it reads the request, turns exceptions into JSON error responses and
+ * writes the JSON body.
+ *
+ * <p>{@link IllegalArgumentException} means the request was invalid (400) and {@link IllegalStateException} that it
+ * conflicts with the current inventory (409), matching how the domain classes report them. Anything else a handler
+ * throws, {@link Error}s and {@link IOException}s included, is a 500, so every exchange gets a response and is closed.
+ */
+abstract class JsonHandlerBase implements HttpHandler {
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    @Override
+    public final void handle(HttpExchange exchange) throws IOException {
+        int status;
+        String body;
+        try {
+            var response = new StringBuilder();
+            status = handleRequest(exchange, response);
+            body = response.toString();
+        } catch (WebApiException ex) {
+            status = ex.getStatus();
+            body = error(ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            status = 400;
+            body = error(ex.getMessage());
+        } catch (IllegalStateException ex) {
+            status = 409;
+            body = error(ex.getMessage());
+        } catch (Throwable ex) {
+            status = 500;
+            body = error("Internal server error.");
+        }
+
+        try (exchange) {
+            var bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    /**
+     * Handles one request, appending the JSON response body.
+     *
+     * @return The HTTP status code of a successful response.
+     */
+    protected abstract int handleRequest(HttpExchange exchange, StringBuilder response) throws IOException;
+
+    /**
+     * Rejects a request whose method is not the expected one.
+     */
+    protected static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equals(method)) {
+            throw new WebApiException(405, "Method " + exchange.getRequestMethod() + " is not allowed.");
+        }
+    }
+
+    /**
+     * Reads the request's query string. A parameter given more than once keeps its last value.
+     */
+    protected static Map<String, String> readQueryParameters(HttpExchange exchange) {
+        var parameters = new LinkedHashMap<String, String>();
+        var query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return parameters;
+        }
+        for (var pair : query.split("&")) {
+            var separator = pair.indexOf('=');
+            var name = separator < 0 ? pair : pair.substring(0, separator);
+            var value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    /**
+     * Reads the request body as a JSON object.
+     */
+    protected static Map<String, Object> readJsonBody(HttpExchange exchange) throws IOException {
+        var bytes = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) {
+            throw new WebApiException(413, "Request body is too large.");
+        }
+        return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Appends an item as a JSON object. Prices are exact decimal numbers.
+     */
+    protected static StringBuilder appendItem(StringBuilder builder, InventoryItem item) {
+        builder.append("{\"inventoryItemId\":");
+        Json.appendString(builder, item.getInventoryItemId().toString());
+        builder.append(",\"name\":");
+        Json.appendString(builder, item.getName());
+        return builder.append(",\"price\":").append(item.getUnitPrice())
+            .append(",\"quantity\":").append(item.getQuantity())
+            .append(",\"starRating\":").append(item.getStarRating().getRating())
+            .append('}');
+    }
+
+    private static String error(String message) {
+        return Json.appendString(new StringBuilder("{\"error\":"), message).append('}').toString();
+    }
+}
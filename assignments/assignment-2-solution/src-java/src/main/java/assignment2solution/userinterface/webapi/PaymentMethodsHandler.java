@@ -0,0 +1,44 @@
+package assignment2solution.userinterface.webapi;
+
+import assignment2solution.userinterface.paymentbuilder.IPaymentBuilder;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.util.List;
+
+/**
+ * Serves {@code GET /payment-methods}: each payment method's name and the details a purchase must supply for it.
+ */
+final class PaymentMethodsHandler extends JsonHandlerBase {
+    static final String PATH = "/payment-methods";
+
+    private final List<IPaymentBuilder> paymentMethods;
+
+    /**
+     * Initializes a new instance of the {@link PaymentMethodsHandler} class.
+     */
+    PaymentMethodsHandler(List<IPaymentBuilder> paymentMethods) {
+        this.paymentMethods = List.copyOf(paymentMethods);
+    }
+
+    @Override
+    protected int handleRequest(HttpExchange exchange, StringBuilder response) {
+        requireMethod(exchange, "GET");
+        if (!exchange.getRequestURI().getPath().equals(PATH)) {
+            throw new WebApiException(404, "Not found.");
+        }
+
+        response.append('[');
+        for (int i = 0; i < paymentMethods.size(); i++) {
+            var paymentMethod = paymentMethods.get(i);
+            Json.appendString(response.append(i == 0 ? "{\"name\":" : ",{\"name\":"), paymentMethod.getName());
+            response.append(",\"details\":[");
+            var detailNames = paymentMethod.getDetailNames();
+            for (int j = 0; j < detailNames.size(); j++) {
+                Json.appendString(j == 0 ? response : response.append(','), detailNames.get(j));
+            }
+            response.append("]}");
+        }
+        response.append(']');
+        return 200;
+    }
+}
@@ -0,0 +1,160 @@
+package assignment2solution.userinterface.webapi;
+
+import assignment2solution.domain.cart.Cart;
+import assignment2solution.domain.cart.CartCheckout;
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.userinterface.paymentbuilder.IPaymentBuilder;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Serves {@code POST /purchases}, the console checkout as one request for one or many items:
+ * <pre>{@code
+ * {"lines": [{"inventoryItemId": "...", "quantity": 2}, ...],
+ *  "paymentMethod": "Credit Card", "paymentDetails": {"cardNumber": "4111"}}
+ * }</pre>
+ * A single item may also be given as top-level {@code inventoryItemId} and {@code quantity} members.
+ *
+ * <p>The order goes through {@link CartCheckout}: every line's stock is taken in one transaction, whose
+ * compare-and-set never oversells, and the whole order is then charged once. An order that loses the race for any
+ * line gets 409 without being charged or taking any stock, and a payment that fails puts the stock back.
+ */
+final class PurchaseHandler extends JsonHandlerBase {
+    static final String PATH = "/purchases";
+
+    private static final int MAX_LINES = 100;
+
+    private final InventoryRepository repository;
+    private final CartCheckout cartCheckout;
+    private final List<IPaymentBuilder> paymentMethods;
+
+    /**
+     * Initializes a new instance of the {@link PurchaseHandler} class.
+     */
+    PurchaseHandler(InventoryRepository repository, List<IPaymentBuilder> paymentMethods) {
+        this.repository = Objects.requireNonNull(repository, "repository");
+        this.cartCheckout = new CartCheckout(repository);
+        this.paymentMethods = List.copyOf(paymentMethods);
+    }
+
+    @Override
+    protected int handleRequest(HttpExchange exchange, StringBuilder response) throws IOException {
+        requireMethod(exchange, "POST");
+        if (!exchange.getRequestURI().getPath().equals(PATH)) {
+            throw new WebApiException(404, "Not found.");
+        }
+
+        var request = readJsonBody(exchange);
+        var strategy = findPaymentMethod(request.get("paymentMethod"))
+            .createStrategy(readDetails(request.get("paymentDetails")));
+        var cart = readCart(request);
+
+        var confirmation = new StringWriter();
+        cartCheckout.checkout(cart, strategy, new PrintWriter(confirmation, true));
+
+        response.append("{\"lines\":[");
+        var lines = cart.getLines();
+        for (int i = 0; i < lines.size(); i++) {
+            var line = lines.get(i);
+            response.append(i == 0 ? "{\"inventoryItemId\":" : ",{\"inventoryItemId\":");
+            Json.appendString(response, line.item().getInventoryItemId().toString());
+            response.append(",\"name\":");
+            Json.appendString(response, line.item().getName());
+            response.append(",\"quantity\":").append(line.quantity())
+                .append(",\"total\":").append(line.getTotalAmount()).append('}');
+        }
+        response.append("],\"total\":").append(cart.getTotalAmount()).append(",\"confirmation\":");
+        Json.appendString(response, confirmation.toString().trim()).append('}');
+        return 201;
+    }
+
+    /**
+     * Reads the items to buy: either a {@code lines} array of {@code inventoryItemId} and {@code quantity} pairs, or
+     * one such pair at the top level.
+     */
+    private Cart readCart(Map<String, Object> request) {
+        var lines = request.get("lines");
+        if (lines == null) {
+            lines = List.of(request);
+        } else if (!(lines instanceof List) || ((List<?>) lines).isEmpty()) {
+            throw new IllegalArgumentException("lines must be a non-empty array.");
+        }
+        if (((List<?>) lines).size() > MAX_LINES) {
+            throw new IllegalArgumentException("An order can have at most " + MAX_LINES + " lines.");
+        }
+
+        var cart = new Cart();
+        for (var line : (List<?>) lines) {
+            if (!(line instanceof Map)) {
+                throw new IllegalArgumentException("Each line must be an object.");
+            }
+            var inventoryItemId = readId(((Map<?, ?>) line).get("inventoryItemId"));
+            var quantity = readQuantity(((Map<?, ?>) line).get("quantity"));
+            try {
+                cart.add(repository.get(inventoryItemId), quantity);
+            } catch (IllegalArgumentException ex) {
+                throw new WebApiException(404, "Item not found: " + inventoryItemId);
+            }
+        }
+        return cart;
+    }
+
+    private IPaymentBuilder findPaymentMethod(Object name) {
+        for (var paymentMethod : paymentMethods) {
+            if (paymentMethod.getName().equals(name)) {
+                return paymentMethod;
+            }
+        }
+        throw new IllegalArgumentException("Unknown payment method: " + name);
+    }
+
+    private static UUID readId(Object value) {
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("inventoryItemId must be a string.");
+        }
+        try {
+            return UUID.fromString((String) value);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("inventoryItemId is not a valid id.");
+        }
+    }
+
+    private static int readQuantity(Object value) {
+        if (value instanceof BigDecimal) {
+            try {
+                var quantity = ((BigDecimal) value).intValueExact();
+                if (quantity >= 1) {
+                    return quantity;
+                }
+            } catch (ArithmeticException ignored) {
+            }
+        }
+        throw new IllegalArgumentException("quantity must be a positive whole number.");
+    }
+
+    private static Map<String, String> readDetails(Object value) {
+        var details = new HashMap<String, String>();
+        if (value == null) {
+            return details;
+        }
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("paymentDetails must be an object.");
+        }
+        for (var entry : ((Map<?, ?>) value).entrySet()) {
+            if (!(entry.getValue() instanceof String)) {
+                throw new IllegalArgumentException("paymentDetails." + entry.getKey() + " must be a string.");
+            }
+            details.put((String) entry.getKey(), (String) entry.getValue());
+        }
+        return details;
+    }
+}
@@ -0,0 +1,102 @@
+package assignment2solution.userinterface.webapi;
+
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventoryquery.InventoryQueryCache;
+import assignment2solution.userinterface.paymentbuilder.PaymentBuilderListFactory;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An embedded HTTP server that exposes the tea shop's search and checkout as JSON endpoints over one shared
+ * {@link InventoryRepository}:
+ * <ul>
+ *     <li>{@code GET /inventory} searches, see {@link InventoryHandler};</li>
+ *     <li>{@code GET /inventory/{id}} reads one item;</li>
+ *     <li>{@code GET /payment-methods} lists the payment methods and their details;</li>
+ *     <li>{@code POST /purchases} buys an item, see {@link PurchaseHandler}.</li>
+ * </ul>
+ *
+ * <p>Each request runs on its own virtual thread when the JDK has them (Java 21 and later), so thousands of
+ * concurrent customers cost little more than their requests' memory. Older JDKs fall back to a cached pool of
+ * platform threads. Handlers never block one another: searches read an immutable snapshot and purchases update
+ * stock with a compare-and-set.
+ */
+public final class TeaShopHttpServer implements AutoCloseable {
+    private static final int QUERY_CACHE_CAPACITY = 256;
+    private static final int BACKLOG = 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private TeaShopHttpServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts a server over a repository.
+     *
+     * @param repository The inventory repository to search and update.
+     * @param address    The address to listen on; port 0 picks a free port.
+     */
+    public static TeaShopHttpServer start(InventoryRepository repository, InetSocketAddress address)
+        throws IOException {
+        Objects.requireNonNull(repository, "repository");
+        Objects.requireNonNull(address, "address");
+
+        var paymentMethods = PaymentBuilderListFactory.get();
+        var server = HttpServer.create(address, BACKLOG);
+        server.createContext(InventoryHandler.PATH,
+            new InventoryHandler(repository, new InventoryQueryCache(repository, QUERY_CACHE_CAPACITY)));
+        server.createContext(PaymentMethodsHandler.PATH, new PaymentMethodsHandler(paymentMethods));
+        server.createContext(PurchaseHandler.PATH, new PurchaseHandler(repository, paymentMethods));
+
+        var executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.start();
+        return new TeaShopHttpServer(server, executor);
+    }
+
+    /**
+     * Gets the port the server listens on.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, waits up to a second for running ones to finish, and releases the threads.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Creates a virtual-thread-per-request executor when the JDK has one. The project targets Java 17, so the
+     * factory is looked up reflectively.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newCachedThreadPool(task -> {
+                var thread = new Thread(task, "tea-shop-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package assignment2solution.userinterface.webapi;
+
+/**
+ * A request failure with a specific HTTP status code.
+ */
+final class WebApiException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    /**
+     * Initializes a new instance of the {@link WebApiException} class.
+     */
+    WebApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    int getStatus() {
+        return status;
+    }
+}
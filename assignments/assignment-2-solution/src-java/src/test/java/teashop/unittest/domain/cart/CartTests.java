@@ -0,0 +1,96 @@
+package teashop.unittest.domain.cart;
+
+import assignment2solution.domain.cart.Cart;
+import assignment2solution.domain.cart.CartCheckout;
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventory.StarRating;
+import assignment2solution.domain.payment.CreditCardStrategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CartTests {
+    @Test
+    public void checkoutReservesEveryLineInOneVersionAndChargesOnce() {
+        var repository = new InventoryRepository();
+        var items = repository.get().stream().filter(InventoryItem::isAvailable).limit(20).toList();
+        var cart = new Cart();
+        for (var item : items) {
+            cart.add(item, 1);
+        }
+        cart.add(items.get(0), 1);
+        var version = repository.snapshot().getVersion();
+        var output = new StringWriter();
+
+        new CartCheckout(repository).checkout(cart, new CreditCardStrategy("4111"), output);
+
+        assertEquals(version + 1, repository.snapshot().getVersion());
+        assertEquals(items.get(0).getQuantity() - 2, repository.get(items.get(0).getInventoryItemId()).getQuantity());
+        for (var item : items.subList(1, items.size())) {
+            assertEquals(item.getQuantity() - 1, repository.get(item.getInventoryItemId()).getQuantity());
+        }
+        assertEquals(1, output.toString().lines().count());
+        assertTrue(output.toString().contains(cart.getTotalAmount().format()));
+    }
+
+    @Test
+    public void checkoutTakesNothingWhenAnyLineIsShort() {
+        var repository = new InventoryRepository();
+        var plenty = repository.get().get(0);
+        var scarce = repository.get().get(1);
+        var cart = new Cart();
+        cart.add(plenty, 1);
+        cart.add(scarce, scarce.getQuantity() + 1);
+        var output = new StringWriter();
+
+        assertThrows(IllegalStateException.class,
+            () -> new CartCheckout(repository).checkout(cart, new CreditCardStrategy("4111"), output));
+
+        assertEquals(plenty.getQuantity(), repository.get(plenty.getInventoryItemId()).getQuantity());
+        assertEquals(scarce.getQuantity(), repository.get(scarce.getInventoryItemId()).getQuantity());
+        assertEquals("", output.toString());
+    }
+
+    @Test
+    public void concurrentCartsNeverOversellAnyLine() throws Exception {
+        var first = new InventoryItem(UUID.randomUUID(), "Sencha", new BigDecimal("3.00"), 30, new StarRating(4));
+        var second = new InventoryItem(UUID.randomUUID(), "Hojicha", new BigDecimal("4.00"), 20, new StarRating(4));
+        var repository = new InventoryRepository(List.of(first, second));
+        var checkout = new CartCheckout(repository);
+        var executor = Executors.newFixedThreadPool(8);
+        var results = new ArrayList<Future<Boolean>>();
+        for (int i = 0; i < 40; i++) {
+            results.add(executor.submit(() -> {
+                var cart = new Cart();
+                cart.add(first, 1);
+                cart.add(second, 1);
+                try {
+                    checkout.checkout(cart, new CreditCardStrategy("4111"), new StringWriter());
+                    return true;
+                } catch (IllegalStateException ex) {
+                    return false;
+                }
+            }));
+        }
+
+        var completed = 0;
+        for (var result : results) {
+            completed += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(20, completed);
+        assertEquals(10, repository.get(first.getInventoryItemId()).getQuantity());
+        assertEquals(0, repository.get(second.getInventoryItemId()).getQuantity());
+    }
+}
@@ -1,16 +1,31 @@
 package teashop.unittest.domain.inventory;
 
+import assignment2solution.domain.inventory.ColumnarInventoryStore;
+import assignment2solution.domain.inventory.IInventoryStore;
 import assignment2solution.domain.inventory.InventoryItem;
 import assignment2solution.domain.inventory.InventoryRepository;
 import assignment2solution.domain.inventory.StarRating;
+import assignment2solution.domain.inventoryquery.AllInventoryQuery;
+import assignment2solution.domain.inventoryquery.InventoryQueryCache;
+import assignment2solution.domain.inventoryquery.filters.AvailabilityFilterDecorator;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -113,4 +128,225 @@ public class InventoryTests {
         assertThrows(IllegalArgumentException.class,
             () -> repository.updateQuantity(UUID.randomUUID(), 1));
     }
+
+    @Test
+    public void inventoryRepositoryFindByPriceRangeReturnsMatchesInCatalogueOrder() {
+        var repository = new InventoryRepository();
+        var min = new BigDecimal("13.99");
+        var max = new BigDecimal("20.00");
+
+        var expected = repository.get().stream()
+            .filter(i -> i.getPrice().compareTo(min) >= 0 && i.getPrice().compareTo(max) <= 0)
+            .collect(Collectors.toList());
+
+        assertEquals(expected, repository.findByPriceRange(min, max));
+        assertEquals(repository.get(), repository.findByPriceRange(null, null));
+    }
+
+    @Test
+    public void inventoryRepositoryFindByStarRatingRangeReturnsMatchesInCatalogueOrder() {
+        var repository = new InventoryRepository();
+
+        var expected = repository.get().stream()
+            .filter(i -> i.getStarRating().getRating() >= 2 && i.getStarRating().getRating() <= 4)
+            .collect(Collectors.toList());
+
+        assertEquals(expected, repository.findByStarRatingRange(2, 4));
+    }
+
+    @Test
+    public void inventoryRepositoryFindByAvailabilityReflectsQuantityUpdates() {
+        var repository = new InventoryRepository();
+        var item = repository.get().stream()
+            .filter(InventoryItem::isAvailable)
+            .findFirst()
+            .orElseThrow();
+        var inStockBefore = repository.findByAvailability(true).size();
+
+        repository.updateQuantity(item.getInventoryItemId(), -item.getQuantity());
+
+        assertEquals(inStockBefore - 1, repository.findByAvailability(true).size());
+        assertTrue(repository.findByAvailability(false).stream()
+            .anyMatch(i -> i.getInventoryItemId().equals(item.getInventoryItemId())));
+    }
+
+    @Test
+    public void inventoryRepositoryConcurrentUpdatesNeverOversell() throws Exception {
+        var item = new InventoryItem(UUID.randomUUID(), "Green Tea", new BigDecimal("15.00"), 1000, new StarRating(4));
+        var repository = new InventoryRepository(List.of(item));
+        var threads = 8;
+        var attemptsPerThread = 500;
+        var sold = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            var tasks = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        try {
+                            repository.updateQuantity(item.getInventoryItemId(), -1);
+                            sold.incrementAndGet();
+                        } catch (IllegalStateException ignored) {
+                            // sold out
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1000, sold.get());
+        assertEquals(0, repository.get(item.getInventoryItemId()).getQuantity());
+        assertTrue(repository.findByAvailability(true).isEmpty());
+        assertEquals(0, repository.countByAvailability(true));
+    }
+
+    @Test
+    public void inventorySnapshotIsUnaffectedByLaterUpdates() {
+        var repository = new InventoryRepository();
+        var item = repository.get().get(0);
+        var snapshot = repository.snapshot();
+
+        repository.updateQuantity(item.getInventoryItemId(), -item.getQuantity());
+
+        assertEquals(item.getQuantity(), snapshot.get(0).getQuantity());
+        assertEquals(0, repository.get(item.getInventoryItemId()).getQuantity());
+        assertEquals(snapshot.getVersion() + 1, repository.snapshot().getVersion());
+        assertEquals(snapshot.countByAvailability(true) - 1, repository.snapshot().countByAvailability(true));
+    }
+
+    @Test
+    public void inventorySnapshotAvailabilityMatchesScanAcrossManyItems() {
+        var random = new Random(7);
+        var items = new ArrayList<InventoryItem>();
+        for (int i = 0; i < 2500; i++) {
+            var price = new BigDecimal(random.nextInt(5000)).movePointLeft(2);
+            items.add(new InventoryItem(UUID.randomUUID(), "Tea " + i, price, random.nextInt(3),
+                new StarRating(1 + random.nextInt(5))));
+        }
+        var repository = new InventoryRepository(items);
+        for (int i = 0; i < 500; i++) {
+            var item = items.get(random.nextInt(items.size()));
+            repository.updateQuantity(item.getInventoryItemId(), random.nextInt(2));
+        }
+
+        var snapshot = repository.snapshot();
+        for (var isAvailable : List.of(true, false)) {
+            var expected = snapshot.getItems().stream()
+                .filter(i -> i.isAvailable() == isAvailable)
+                .collect(Collectors.toList());
+            assertEquals(expected, snapshot.findByAvailability(isAvailable));
+            assertEquals(expected.size(), snapshot.countByAvailability(isAvailable));
+        }
+    }
+
+    @Test
+    public void columnarStoreAnswersFiltersLikeTheObjectLayout() {
+        var random = new Random(11);
+        var items = new ArrayList<InventoryItem>();
+        for (int i = 0; i < 2500; i++) {
+            var price = new BigDecimal(random.nextInt(5000)).movePointLeft(2);
+            items.add(new InventoryItem(UUID.randomUUID(), "Tea " + i + " \u00e9", price, random.nextInt(3),
+                new StarRating(1 + random.nextInt(5))));
+        }
+        var objects = new InventoryRepository(items);
+        var columns = new InventoryRepository(new ColumnarInventoryStore(items));
+        for (int i = 0; i < 500; i++) {
+            var item = items.get(random.nextInt(items.size()));
+            var change = random.nextInt(2);
+            objects.updateQuantity(item.getInventoryItemId(), change);
+            columns.updateQuantity(item.getInventoryItemId(), change);
+        }
+
+        var expected = objects.snapshot();
+        var actual = columns.snapshot();
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(expected.get(i).getInventoryItemId(), actual.get(i).getInventoryItemId());
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals(0, expected.get(i).getPrice().compareTo(actual.get(i).getPrice()));
+            assertEquals(expected.get(i).getQuantity(), actual.get(i).getQuantity());
+        }
+        var min = new BigDecimal("12.345");
+        var max = new BigDecimal("30.001");
+        assertEquals(ids(expected.findByPriceRange(min, max)), ids(actual.findByPriceRange(min, max)));
+        assertEquals(ids(expected.findByPriceRange(null, max)), ids(actual.findByPriceRange(null, max)));
+        assertEquals(expected.countByPriceRange(min, null), actual.countByPriceRange(min, null));
+        assertEquals(ids(expected.findByStarRatingRange(2, 4)), ids(actual.findByStarRatingRange(2, 4)));
+        assertEquals(expected.countByStarRatingRange(5, null), actual.countByStarRatingRange(5, null));
+        for (var isAvailable : List.of(true, false)) {
+            assertEquals(ids(expected.findByAvailability(isAvailable)), ids(actual.findByAvailability(isAvailable)));
+            assertEquals(expected.countByAvailability(isAvailable), actual.countByAvailability(isAvailable));
+        }
+    }
+
+    private static List<UUID> ids(List<InventoryItem> items) {
+        return items.stream().map(InventoryItem::getInventoryItemId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void storeFailureAfterPublishKeepsTheChangeAndNotifiesListeners() {
+        var items = new InventoryRepository().get();
+        var failure = new UncheckedIOException(new IOException("Disk full"));
+        var repository = new InventoryRepository(new FailingLogStore(items, failure));
+        var cache = new InventoryQueryCache(repository, 4);
+        var query = cache.wrap(new AvailabilityFilterDecorator(new AllInventoryQuery(repository), true));
+        var inStock = query.execute().size();
+        var changes = new AtomicInteger();
+        repository.addChangeListener((snapshot, previous, current) -> changes.incrementAndGet());
+        var first = items.get(0);
+        var second = items.get(1);
+
+        repository.updateQuantities(Map.of(
+            first.getInventoryItemId(), -first.getQuantity(),
+            second.getInventoryItemId(), -1));
+
+        assertEquals(0, repository.get(first.getInventoryItemId()).getQuantity());
+        assertEquals(second.getQuantity() - 1, repository.get(second.getInventoryItemId()).getQuantity());
+        assertEquals(2, changes.get());
+        assertEquals(inStock - 1, query.execute().size());
+        assertSame(failure, repository.getStoreFailure());
+    }
+
+    /**
+     * An in-memory catalogue whose write-ahead log cannot be written.
+     */
+    private static final class FailingLogStore implements IInventoryStore {
+        private final List<InventoryItem> items;
+        private final RuntimeException failure;
+
+        private FailingLogStore(List<InventoryItem> items, RuntimeException failure) {
+            this.items = List.copyOf(items);
+            this.failure = failure;
+        }
+
+        @Override
+        public int size() {
+            return items.size();
+        }
+
+        @Override
+        public InventoryItem read(int position) {
+            return items.get(position);
+        }
+
+        @Override
+        public int findPosition(UUID inventoryItemId) {
+            for (int position = 0; position < items.size(); position++) {
+                if (items.get(position).getInventoryItemId().equals(inventoryItemId)) {
+                    return position;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public void recordQuantityChange(long version, int position, int quantity) {
+            throw failure;
+        }
+    }
 }
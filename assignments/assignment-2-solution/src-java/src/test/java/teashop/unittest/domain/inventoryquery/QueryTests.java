@@ -2,13 +2,30 @@ package teashop.unittest.domain.inventoryquery;
 
 import assignment2solution.domain.inventory.InventoryItem;
 import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventory.NameSearch;
 import assignment2solution.domain.inventory.StarRating;
 import assignment2solution.domain.inventoryquery.AllInventoryQuery;
 import assignment2solution.domain.inventoryquery.IInventoryQuery;
+import assignment2solution.domain.inventoryquery.InventoryFilterDecoratorBase;
+import assignment2solution.domain.inventoryquery.InventoryPager;
+import assignment2solution.domain.inventoryquery.InventoryQueryCache;
+import assignment2solution.domain.inventoryquery.InventoryQueryDecoratorBase;
+import assignment2solution.domain.inventoryquery.InventoryQueryExplainer;
+import assignment2solution.domain.inventoryquery.InventoryQueryLayerProfile;
+import assignment2solution.domain.inventoryquery.InventoryQueryParallelism;
+import assignment2solution.domain.inventoryquery.InventoryQueryPlanner;
+import assignment2solution.domain.inventoryquery.InventoryQueryProfile;
+import assignment2solution.domain.inventoryquery.InventoryQueryProfiler;
+import assignment2solution.domain.inventoryquery.InventoryQuerySubscriptions;
+import assignment2solution.domain.inventoryquery.InventoryResultChange;
+import assignment2solution.domain.inventoryquery.InventorySortDecoratorBase;
 import assignment2solution.domain.inventoryquery.filters.AvailabilityFilterDecorator;
+import assignment2solution.domain.inventoryquery.filters.MinStarRatingFilterDecorator;
 import assignment2solution.domain.inventoryquery.filters.NameContainsFilterDecorator;
 import assignment2solution.domain.inventoryquery.filters.PriceRangeFilterDecorator;
+import assignment2solution.domain.inventoryquery.filters.StarRatingRangeFilterDecorator;
 import assignment2solution.domain.inventoryquery.sorts.SortByPriceDecorator;
+import assignment2solution.domain.inventoryquery.sorts.SortByStarRatingDecorator;
 import assignment2solution.domain.inventoryquery.sorts.SortDirection;
 
 import org.junit.jupiter.api.Test;
@@ -16,8 +33,20 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -119,4 +148,488 @@ public class QueryTests {
         assertEquals("Oolong Tea", result.get(1).getName());
         assertEquals(3, sort.getAppliedFiltersAndSorts().size());
     }
+
+    @Test
+    public void indexedFiltersOverRepositoryMatchStubResults() {
+        var repository = new InventoryRepository(testItems);
+        var indexed = new AvailabilityFilterDecorator(
+            new PriceRangeFilterDecorator(
+                new NameContainsFilterDecorator(new AllInventoryQuery(repository), " "),
+                new BigDecimal("12.00"), null),
+            true);
+        var scanned = new AvailabilityFilterDecorator(
+            new PriceRangeFilterDecorator(getStubQuery(), new BigDecimal("12.00"), null),
+            true);
+
+        assertEquals(scanned.execute(), indexed.execute());
+        assertEquals(List.of("Green Tea", "Oolong Tea", "Matcha"),
+            indexed.execute().stream().map(InventoryItem::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void plannedQueryMatchesDecoratorChain() {
+        var repository = new InventoryRepository();
+        IInventoryQuery query = new AllInventoryQuery(repository);
+        query = new NameContainsFilterDecorator(query, "tea");
+        query = new SortByPriceDecorator(query, SortDirection.DESCENDING);
+        query = new AvailabilityFilterDecorator(query, true);
+        query = new PriceRangeFilterDecorator(query, new BigDecimal("11.00"), new BigDecimal("20.00"));
+        query = new SortByStarRatingDecorator(query, SortDirection.DESCENDING);
+
+        var planned = InventoryQueryPlanner.plan(query);
+
+        assertEquals(query.execute(), planned.execute());
+        assertEquals(query.getAppliedFiltersAndSorts(), planned.getAppliedFiltersAndSorts());
+    }
+
+    @Test
+    public void plannedQueryKeepsUnknownDecoratorAsBarrier() {
+        IInventoryQuery query = new SortByPriceDecorator(getStubQuery(), SortDirection.DESCENDING);
+        query = new InventoryQueryDecoratorBase(query) {
+            @Override
+            protected List<InventoryItem> decorate(List<InventoryItem> items) {
+                return items.subList(0, 2);
+            }
+        };
+        query = new AvailabilityFilterDecorator(query, true);
+
+        var result = InventoryQueryPlanner.plan(query).execute();
+
+        assertEquals(List.of("Matcha", "Oolong Tea"),
+            result.stream().map(InventoryItem::getName).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void queryCacheServesRepeatedQueriesAndInvalidatesOnlyAffectedEntries() {
+        var repository = new InventoryRepository(testItems);
+        var cache = new InventoryQueryCache(repository, 8);
+        var matchaOnly = cache.wrap(new NameContainsFilterDecorator(new AllInventoryQuery(repository), "Matcha"));
+        var greenOnly = cache.wrap(new NameContainsFilterDecorator(new AllInventoryQuery(repository), "Green"));
+
+        matchaOnly.execute();
+        greenOnly.execute();
+        var cachedGreen = greenOnly.execute();
+        repository.updateQuantity(testItems.get(3).getInventoryItemId(), -1);
+        var refreshedMatcha = matchaOnly.execute();
+
+        assertSame(cachedGreen, greenOnly.execute());
+        assertEquals(1, refreshedMatcha.get(0).getQuantity());
+        var statistics = cache.getStatistics();
+        assertEquals(2, statistics.hits());
+        assertEquals(3, statistics.misses());
+        assertEquals(1, statistics.invalidations());
+        assertEquals(0.4, statistics.hitRate(), 1e-9);
+    }
+
+    @Test
+    public void queryCacheKeysOnExactPriceBoundsAndEvictsLeastRecentlyUsed() {
+        var repository = new InventoryRepository(testItems);
+        var cache = new InventoryQueryCache(repository, 1);
+        var roundedDown = cache.wrap(new PriceRangeFilterDecorator(
+            new AllInventoryQuery(repository), new BigDecimal("15.001"), null));
+        var exact = cache.wrap(new PriceRangeFilterDecorator(
+            new AllInventoryQuery(repository), new BigDecimal("15.00"), null));
+
+        assertEquals(3, exact.execute().size());
+        assertEquals(2, roundedDown.execute().size());
+        assertEquals(1, cache.getStatistics().evictions());
+        assertEquals(0, cache.getStatistics().hits());
+    }
+
+    @Test
+    public void pagerReturnsSortedPagesThatStayStableAcrossQuantityChanges() {
+        var repository = new InventoryRepository();
+        IInventoryQuery query = new AllInventoryQuery(repository);
+        query = new SortByPriceDecorator(query, SortDirection.ASCENDING);
+        query = new SortByStarRatingDecorator(query, SortDirection.DESCENDING);
+        var pager = new InventoryPager(InventoryQueryPlanner.plan(query));
+        var expectedOrder = query.execute().stream()
+            .sorted(Comparator.comparing((InventoryItem i) -> -i.getStarRating().getRating())
+                .thenComparing(InventoryItem::getPrice)
+                .thenComparing(InventoryItem::getInventoryItemId))
+            .map(InventoryItem::getInventoryItemId)
+            .collect(Collectors.toList());
+
+        var seen = new ArrayList<UUID>();
+        var page = pager.getFirstPage(20);
+        seen.addAll(page.items().stream().map(InventoryItem::getInventoryItemId).collect(Collectors.toList()));
+        var restocked = repository.get().get(0);
+        repository.updateQuantity(restocked.getInventoryItemId(), 100);
+        while (page.hasNextPage()) {
+            page = pager.getPage(page.nextCursor(), 20);
+            seen.addAll(page.items().stream().map(InventoryItem::getInventoryItemId).collect(Collectors.toList()));
+        }
+
+        assertEquals(expectedOrder, seen);
+    }
+
+    @Test
+    public void pagerRejectsCursorFromAnotherQuery() {
+        var repository = new InventoryRepository();
+        var byPrice = new InventoryPager(new SortByPriceDecorator(new AllInventoryQuery(repository)));
+        var inStock = new InventoryPager(new AvailabilityFilterDecorator(new AllInventoryQuery(repository), true));
+
+        var cursor = byPrice.getFirstPage(5).nextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> inStock.getPage(cursor, 5));
+        assertThrows(IllegalArgumentException.class, () -> byPrice.getPage("not a cursor", 5));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "tea,false",
+        "oo,false",
+        "o,false",
+        "green t,false",
+        "lemon,false",
+        "oolnog,true",
+        "earl gery,true",
+        "chamomlie,true",
+        "brekfast blend,true",
+        "mint,true"
+    })
+    public void nameIndexMatchesScanForVerbatimAndFuzzySearches(String text, boolean isFuzzy) {
+        var random = new Random(3);
+        var syllables = List.of("oo", "long", "tea", "ch", "ai", "mat", "cha", "ear", "grey", "mint", "lem", "on");
+        var items = new ArrayList<>(new InventoryRepository().get());
+        for (int i = 0; i < 3000; i++) {
+            var name = new StringBuilder();
+            for (int j = 0; j < 2 + random.nextInt(4); j++) {
+                name.append(syllables.get(random.nextInt(syllables.size())));
+            }
+            items.add(new InventoryItem(UUID.randomUUID(), name.toString(), BigDecimal.ONE, 1, new StarRating(3)));
+        }
+        var repository = new InventoryRepository(items);
+        var search = isFuzzy ? NameSearch.similarTo(text) : NameSearch.contains(text);
+
+        var indexed = new NameContainsFilterDecorator(new AllInventoryQuery(repository), text, isFuzzy).execute();
+        var scanned = items.stream().filter(i -> search.matches(i.getName())).collect(Collectors.toList());
+
+        assertEquals(scanned, indexed);
+        assertFalse(indexed.isEmpty());
+    }
+
+    @Test
+    public void fuzzyNameFilterToleratesTypos() {
+        var repository = new InventoryRepository();
+
+        var result = new NameContainsFilterDecorator(new AllInventoryQuery(repository), "oolnog", true).execute();
+
+        assertEquals(List.of("Oolong Tea", "Peach Oolong"),
+            result.stream().map(InventoryItem::getName).collect(Collectors.toList()));
+        assertTrue(new NameContainsFilterDecorator(new AllInventoryQuery(repository), "oolnog").execute().isEmpty());
+    }
+
+    @Test
+    public void subscriptionDiffsReplayToTheResultsOfReRunningTheQuery() {
+        var repository = new InventoryRepository();
+        var all = new AllInventoryQuery(repository);
+        var queries = List.<IInventoryQuery>of(
+            new SortByPriceDecorator(new PriceRangeFilterDecorator(new MinStarRatingFilterDecorator(
+                new AvailabilityFilterDecorator(all, true), 4), null, new BigDecimal("20.00"))),
+            new SortByStarRatingDecorator(all, SortDirection.DESCENDING),
+            new SortByQuantityDecorator(new AvailabilityFilterDecorator(all, true)),
+            new AvailabilityFilterDecorator(all, false)
+        );
+        var replays = new ArrayList<List<InventoryItem>>();
+        var subscriptions = new InventoryQuerySubscriptions(repository, Runnable::run);
+        var kinds = new HashSet<String>();
+        for (var query : queries) {
+            var replay = new ArrayList<>(query.execute());
+            replays.add(replay);
+            subscriptions.subscribe(query, change -> {
+                kinds.add(change.kind().name());
+                applyChange(replay, change);
+            });
+        }
+
+        var random = new Random(45);
+        var items = repository.get();
+        for (int i = 0; i < 500; i++) {
+            var item = repository.get(items.get(random.nextInt(items.size())).getInventoryItemId());
+            var change = random.nextInt(4) == 0 ? -item.getQuantity() : random.nextInt(7) - 3;
+            if (item.getQuantity() + change >= 0) {
+                repository.updateQuantity(item.getInventoryItemId(), change);
+            }
+        }
+
+        for (int i = 0; i < queries.size(); i++) {
+            assertEquals(queries.get(i).execute(), replays.get(i), "query " + i);
+        }
+        assertEquals(Set.of("INSERT", "DELETE", "MOVE", "UPDATE"), kinds);
+        subscriptions.close();
+    }
+
+    @Test
+    public void subscriptionsShareViewsAndIgnoreItemsOutsideTheirFilters() {
+        var repository = new InventoryRepository();
+        var subscriptions = new InventoryQuerySubscriptions(repository, Runnable::run);
+        var cheap = new PriceRangeFilterDecorator(new AvailabilityFilterDecorator(
+            new AllInventoryQuery(repository), true), null, new BigDecimal("13.00"));
+        var changes = new ArrayList<InventoryResultChange>();
+
+        var first = subscriptions.subscribe(cheap, changes::add);
+        var second = subscriptions.subscribe(new PriceRangeFilterDecorator(new AvailabilityFilterDecorator(
+            new AllInventoryQuery(repository), true), null, new BigDecimal("13.00")), changes::add);
+        assertEquals(1, subscriptions.getViewCount());
+        assertEquals(cheap.execute(), first.getItems());
+
+        var expensive = repository.get().stream()
+            .filter(item -> item.getUnitPrice().getCents() > 1300 && item.getQuantity() > 0).findFirst().orElseThrow();
+        repository.updateQuantity(expensive.getInventoryItemId(), -expensive.getQuantity());
+        assertTrue(changes.isEmpty());
+
+        var target = first.getItems().get(0);
+        repository.updateQuantity(target.getInventoryItemId(), -target.getQuantity());
+        assertEquals(2, changes.size());
+        assertEquals(cheap.execute(), second.getItems());
+
+        first.close();
+        second.close();
+        assertEquals(0, subscriptions.getViewCount());
+        assertThrows(IllegalArgumentException.class, () -> subscriptions.subscribe(
+            new InventoryQueryCache(repository, 4).wrap(cheap), changes::add));
+        subscriptions.close();
+    }
+
+    @Test
+    public void slowSubscriberDelaysNeitherUpdatesNorOtherSubscribers() throws Exception {
+        var repository = new InventoryRepository();
+        var query = new AvailabilityFilterDecorator(new AllInventoryQuery(repository), true);
+        var release = new CountDownLatch(1);
+        var slowChanges = new LinkedBlockingQueue<InventoryResultChange>();
+        var fastChanges = new LinkedBlockingQueue<InventoryResultChange>();
+        var replay = new ArrayList<>(query.execute());
+
+        try (var subscriptions = new InventoryQuerySubscriptions(repository)) {
+            subscriptions.subscribe(query, change -> {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                slowChanges.add(change);
+            });
+            subscriptions.subscribe(new PriceRangeFilterDecorator(query, null, null), fastChanges::add);
+
+            var inStock = query.execute();
+            for (int i = 0; i < 3; i++) {
+                var item = inStock.get(i);
+                repository.updateQuantity(item.getInventoryItemId(), -item.getQuantity());
+            }
+            for (int i = 0; i < 3; i++) {
+                assertNotNull(fastChanges.poll(5, TimeUnit.SECONDS));
+            }
+            assertTrue(slowChanges.isEmpty());
+
+            release.countDown();
+            for (int i = 0; i < 3; i++) {
+                applyChange(replay, slowChanges.poll(5, TimeUnit.SECONDS));
+            }
+            assertEquals(query.execute(), replay);
+        }
+    }
+
+    @Test
+    public void partitionedExecutionKeepsTheSequentialOrderIncludingTies() {
+        var random = new Random(46);
+        var items = new ArrayList<InventoryItem>();
+        for (int i = 0; i < 40_000; i++) {
+            items.add(new InventoryItem(UUID.randomUUID(), "Tea " + i, BigDecimal.valueOf(500 + random.nextInt(40), 2),
+                random.nextInt(5), new StarRating(1 + random.nextInt(5))));
+        }
+        var repository = new InventoryRepository(items);
+        var all = new AllInventoryQuery(repository);
+        var queries = List.<IInventoryQuery>of(
+            new SortByPriceDecorator(all),
+            new SortByStarRatingDecorator(new SortByPriceDecorator(new AvailabilityFilterDecorator(all, true),
+                SortDirection.DESCENDING)),
+            new SortByPriceDecorator(new SortByStarRatingDecorator(
+                new PriceRangeFilterDecorator(all, new BigDecimal("5.10"), null), SortDirection.DESCENDING)),
+            new MinStarRatingFilterDecorator(new AvailabilityFilterDecorator(all, false), 3)
+        );
+        var pool = new ForkJoinPool(4);
+        try {
+            var parallelism = new InventoryQueryParallelism(pool, 1, 1_000);
+            for (var query : queries) {
+                var sequential = InventoryQueryPlanner.plan(query, InventoryQueryParallelism.sequential()).execute();
+
+                assertEquals(query.execute(), sequential);
+                assertEquals(sequential, InventoryQueryPlanner.plan(query, parallelism).execute());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void lazyExecutionPullsOnlyTheItemsItNeeds() {
+        var pulled = new AtomicInteger();
+        var source = new IInventoryQuery() {
+            @Override
+            public List<String> getAppliedFiltersAndSorts() {
+                return List.of();
+            }
+
+            @Override
+            public List<InventoryItem> execute() {
+                return testItems;
+            }
+
+            @Override
+            public Stream<InventoryItem> stream() {
+                return testItems.stream().peek(item -> pulled.incrementAndGet());
+            }
+        };
+        var inStock = new AvailabilityFilterDecorator(source, true);
+
+        assertEquals("Green Tea", inStock.stream().findFirst().orElseThrow().getName());
+        assertEquals(1, pulled.get());
+
+        pulled.set(0);
+        assertEquals(List.of("Green Tea", "Oolong Tea"),
+            inStock.execute(2).stream().map(InventoryItem::getName).collect(Collectors.toList()));
+        assertEquals(3, pulled.get());
+        assertThrows(IllegalArgumentException.class, () -> inStock.execute(-1));
+    }
+
+    @Test
+    public void limitedSortedExecutionMatchesThePrefixOfTheFullSort() {
+        var random = new Random(47);
+        var items = new ArrayList<InventoryItem>();
+        for (int i = 0; i < 5_000; i++) {
+            var name = i % 3 == 0 ? "Green Tea " + i : "Black Tea " + i;
+            items.add(new InventoryItem(UUID.randomUUID(), name, BigDecimal.valueOf(500 + random.nextInt(20), 2),
+                random.nextInt(3), new StarRating(1 + random.nextInt(5))));
+        }
+        var all = new AllInventoryQuery(new InventoryRepository(items));
+        var cheapestGreen = new SortByPriceDecorator(new NameContainsFilterDecorator(
+            new AvailabilityFilterDecorator(all, true), "green"));
+        var byRatingThenPrice = new SortByStarRatingDecorator(new SortByPriceDecorator(all), SortDirection.DESCENDING);
+
+        for (var query : List.<IInventoryQuery>of(cheapestGreen, byRatingThenPrice)) {
+            var full = query.execute();
+            for (var planned : List.of(query, InventoryQueryPlanner.plan(query))) {
+                assertEquals(full.subList(0, 10), planned.execute(10));
+                assertEquals(full, planned.execute(full.size() + 1));
+                assertEquals(List.of(), planned.execute(0));
+            }
+        }
+    }
+
+    @Test
+    public void compiledFiltersMatchTheDecoratorChain() {
+        var random = new Random(49);
+        var items = new ArrayList<InventoryItem>();
+        for (int i = 0; i < 3_000; i++) {
+            var name = i % 4 == 0 ? "Green Tea " + i : "Herbal Blend " + i;
+            items.add(new InventoryItem(UUID.randomUUID(), name, BigDecimal.valueOf(100 + random.nextInt(3000), 2),
+                random.nextInt(4), new StarRating(1 + random.nextInt(5))));
+        }
+        var all = new AllInventoryQuery(new InventoryRepository(items));
+        var queries = List.<IInventoryQuery>of(
+            new MinStarRatingFilterDecorator(new StarRatingRangeFilterDecorator(
+                new PriceRangeFilterDecorator(all, new BigDecimal("4.995"), new BigDecimal("20.001")), null, 4), 2),
+            new PriceRangeFilterDecorator(new PriceRangeFilterDecorator(
+                new AvailabilityFilterDecorator(all, false), new BigDecimal("10.00"), null),
+                null, new BigDecimal("9.99")),
+            new NameContainsFilterDecorator(new StarRatingRangeFilterDecorator(
+                new AvailabilityFilterDecorator(all, true), 3, 3), "tea"),
+            new SortByPriceDecorator(new InventoryFilterDecoratorBase(new MinStarRatingFilterDecorator(all, 4)) {
+                @Override
+                protected boolean matches(InventoryItem item) {
+                    return item.getName().endsWith("7");
+                }
+            })
+        );
+
+        for (var query : queries) {
+            var expected = query.execute();
+
+            assertEquals(expected, InventoryQueryPlanner.plan(query).execute());
+            assertEquals(expected, InventoryQueryPlanner.plan(query).stream().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void explainerProfilesRealStagesAndUnplannedLayersAndProfilerSamplesRealExecutions() {
+        var repository = new InventoryRepository(testItems);
+        IInventoryQuery query = new AllInventoryQuery(repository);
+        query = new NameContainsFilterDecorator(query, "tea");
+        query = new AvailabilityFilterDecorator(query, true);
+        query = new SortByPriceDecorator(query, SortDirection.DESCENDING);
+        var wrapped = new InventoryQueryCache(repository, 4).wrap(InventoryQueryPlanner.plan(query));
+
+        var execution = InventoryQueryExplainer.analyze(wrapped);
+
+        assertEquals(InventoryQueryExplainer.EXECUTION_TITLE, execution.title());
+        assertEquals(query.execute(), execution.items());
+        assertEquals(List.of("Filter: Name contains \"tea\"", "Fused filter: 1 compiled, 0 called",
+                "Sort: Price (descending)"),
+            execution.layers().stream().map(InventoryQueryLayerProfile::description).collect(Collectors.toList()));
+        assertEquals(List.of(4, 3, 2),
+            execution.layers().stream().map(InventoryQueryLayerProfile::inputCount).collect(Collectors.toList()));
+        assertEquals(List.of(3, 2, 2),
+            execution.layers().stream().map(InventoryQueryLayerProfile::outputCount).collect(Collectors.toList()));
+        assertEquals(List.of(true, false, false),
+            execution.layers().stream().map(InventoryQueryLayerProfile::usedIndex).collect(Collectors.toList()));
+        assertEquals(List.of("Cache hit"), InventoryQueryExplainer.analyze(wrapped).layers().stream()
+            .map(InventoryQueryLayerProfile::description).collect(Collectors.toList()));
+
+        var layers = InventoryQueryExplainer.analyzeLayers(wrapped);
+
+        assertEquals(InventoryQueryExplainer.LAYERS_TITLE, layers.title());
+        assertEquals(query.execute(), layers.items());
+        var descriptions = layers.layers().stream().map(InventoryQueryLayerProfile::description)
+            .collect(Collectors.toList());
+        assertEquals("Source: All items", descriptions.get(0));
+        assertEquals(query.getAppliedFiltersAndSorts(), descriptions.subList(1, descriptions.size()));
+        assertEquals(List.of(-1, 4, 3, 2),
+            layers.layers().stream().map(InventoryQueryLayerProfile::inputCount).collect(Collectors.toList()));
+        assertEquals(List.of(4, 3, 2, 2),
+            layers.layers().stream().map(InventoryQueryLayerProfile::outputCount).collect(Collectors.toList()));
+        assertTrue(layers.format().startsWith(InventoryQueryExplainer.LAYERS_TITLE + ":"));
+        assertTrue(layers.format().contains("Filter: Name contains \"tea\" [index]"));
+
+        var sampled = new ArrayList<InventoryQueryProfile>();
+        var profiled = new InventoryQueryProfiler(3, sampled::add).wrap(wrapped);
+        for (int i = 0; i < 7; i++) {
+            assertEquals(execution.items(), profiled.execute());
+        }
+        assertEquals(2, sampled.size());
+        for (var profile : sampled) {
+            assertEquals(InventoryQueryExplainer.EXECUTION_TITLE, profile.title());
+            assertEquals("Cache hit", profile.layers().get(0).description());
+        }
+        assertEquals(query.getAppliedFiltersAndSorts(), profiled.getAppliedFiltersAndSorts());
+        assertThrows(IllegalArgumentException.class, () -> new InventoryQueryProfiler(0, sampled::add));
+    }
+
+    private static void applyChange(List<InventoryItem> items, InventoryResultChange change) {
+        switch (change.kind()) {
+            case INSERT -> items.add(change.toIndex(), change.item());
+            case DELETE -> items.remove(change.fromIndex());
+            case MOVE -> {
+                items.remove(change.fromIndex());
+                items.add(change.toIndex(), change.item());
+            }
+            case UPDATE -> items.set(change.fromIndex(), change.item());
+        }
+    }
+
+    private static final class SortByQuantityDecorator extends InventorySortDecoratorBase {
+        private SortByQuantityDecorator(IInventoryQuery inner) {
+            super(inner);
+        }
+
+        @Override
+        protected String getAppliedDescription() {
+            return "Sort: Quantity";
+        }
+
+        @Override
+        protected Comparator<InventoryItem> getComparator() {
+            return Comparator.comparingInt(InventoryItem::getQuantity);
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package teashop.unittest.domain.money;
+
+import assignment2solution.domain.money.Money;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTests {
+    @Test
+    public void moneyKeepsExactCentsAndRequiresExplicitRounding() {
+        assertEquals(1050, Money.of(new BigDecimal("10.5")).getCents());
+        assertEquals(Money.ofCents(3150), Money.of(new BigDecimal("10.50")).multiply(3));
+        assertEquals(new BigDecimal("31.50"), Money.ofCents(3150).toBigDecimal());
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("10.505")));
+        assertEquals(1051, Money.of(new BigDecimal("10.505"), RoundingMode.HALF_UP).getCents());
+        assertEquals(1050, Money.of(new BigDecimal("10.505"), RoundingMode.HALF_EVEN).getCents());
+        assertEquals(108, Money.ofCents(100).multiply(new BigDecimal("1.075"), RoundingMode.HALF_EVEN).getCents());
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).add(Money.ofCents(1)));
+    }
+
+    @Test
+    public void moneyBoundsMatchDecimalComparisons() {
+        assertEquals(1235, Money.ceilingCents(new BigDecimal("12.345")));
+        assertEquals(1234, Money.floorCents(new BigDecimal("12.345")));
+        assertEquals(1200, Money.ceilingCents(new BigDecimal("12")));
+        assertEquals(Long.MAX_VALUE, Money.floorCents(new BigDecimal("1e40")));
+        assertEquals(Long.MIN_VALUE, Money.ceilingCents(new BigDecimal("-1e40")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "0.99", "12.49", "1234.50", "1234567.89", "-0.99", "-1234.5"})
+    public void moneyFormatMatchesUsCurrencyFormat(String amount) {
+        var expected = NumberFormat.getCurrencyInstance(Locale.US).format(new BigDecimal(amount));
+        assertEquals(expected, Money.of(new BigDecimal(amount)).format());
+    }
+}
@@ -0,0 +1,141 @@
+package teashop.unittest.domain.paymentstrategy;
+
+import assignment2solution.domain.cart.Cart;
+import assignment2solution.domain.cart.CartCheckout;
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.payment.ApplePayStrategy;
+import assignment2solution.domain.payment.CreditCardStrategy;
+import assignment2solution.domain.payment.CryptoCurrencyStrategy;
+import assignment2solution.domain.payment.IPaymentStrategy;
+import assignment2solution.domain.payment.PaymentPipeline;
+import assignment2solution.domain.payment.PaymentReceipt;
+import assignment2solution.infrastructure.StubPaymentGateway;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaymentPipelineTests {
+    private final InventoryRepository repository = new InventoryRepository();
+    private final InventoryItem item = repository.get().stream()
+        .filter(candidate -> candidate.getQuantity() >= 10).findFirst().orElseThrow();
+
+    @Test
+    public void checkoutCompletesWithTheGatewaysReceipt() throws Exception {
+        try (var gateway = new StubPaymentGateway(StubPaymentGateway.fixedLatency(Duration.ofMillis(5)), 0, 1)) {
+            var pipeline = new PaymentPipeline(gateway, 4, Duration.ofSeconds(5));
+
+            var receipt = new CartCheckout(repository)
+                .checkoutAsync(cartOf(2), new CreditCardStrategy("4111"), pipeline).get();
+
+            assertEquals("Credit Card", receipt.request().paymentMethod());
+            assertEquals(item.getUnitPrice().multiply(2), receipt.request().amount());
+            assertTrue(receipt.format().contains("Number: 4111"));
+            assertEquals(item.getQuantity() - 2, repository.get(item.getInventoryItemId()).getQuantity());
+        }
+    }
+
+    @Test
+    public void concurrencyIsBoundedPerStrategyWithoutBlockingThreads() {
+        var latency = Duration.ofMillis(20);
+        try (var gateway = new StubPaymentGateway(StubPaymentGateway.fixedLatency(latency), 0, 1)) {
+            var pipeline = new PaymentPipeline(gateway, 8, Duration.ofSeconds(30));
+            var strategies = new IPaymentStrategy[] {
+                new CreditCardStrategy("4111"), new ApplePayStrategy("user@example.com"),
+                new CryptoCurrencyStrategy("wallet", "signature")
+            };
+            var charges = new ArrayList<CompletableFuture<PaymentReceipt>>();
+
+            var started = System.nanoTime();
+            for (int i = 0; i < 240; i++) {
+                charges.add(pipeline.checkout(strategies[i % strategies.length], cartOf(1)));
+            }
+            assertTrue(pipeline.getInFlight(CreditCardStrategy.class) <= 8);
+            CompletableFuture.allOf(charges.toArray(CompletableFuture[]::new)).join();
+            var elapsed = Duration.ofNanos(System.nanoTime() - started);
+            assertEquals(0, pipeline.getQueued(CreditCardStrategy.class));
+
+            assertEquals(240, gateway.getApproved());
+            for (var method : new String[] {"Credit Card", "Apple Pay", "CryptoCurrency"}) {
+                assertEquals(8, gateway.getMaxInFlight(method));
+            }
+            // 80 charges per strategy, 8 at a time: 10 rounds of the latency, not 240 of them back to back.
+            assertTrue(elapsed.compareTo(latency.multipliedBy(120)) < 0, "took " + elapsed);
+        }
+    }
+
+    @Test
+    public void timedOutChargeKeepsItsSlotAndStockUntilTheGatewayAnswersAndIsVoidedWhenApproved() throws Exception {
+        try (var gateway = new StubPaymentGateway(StubPaymentGateway.fixedLatency(Duration.ofMillis(300)), 0, 1)) {
+            var pipeline = new PaymentPipeline(gateway, 1, Duration.ofMillis(20));
+            var checkout = new CartCheckout(repository);
+
+            var first = checkout.checkoutAsync(cartOf(3), new CreditCardStrategy("4111"), pipeline);
+            var second = checkout.checkoutAsync(cartOf(3), new CreditCardStrategy("4111"), pipeline);
+
+            var error = assertThrows(ExecutionException.class, first::get);
+            assertInstanceOf(TimeoutException.class, error.getCause());
+            error = assertThrows(ExecutionException.class, second::get);
+            assertInstanceOf(TimeoutException.class, error.getCause());
+            // the gateway is still working on the first charge: its slot and stock stay taken
+            assertEquals(1, pipeline.getInFlight(CreditCardStrategy.class));
+            assertTrue(repository.get(item.getInventoryItemId()).getQuantity() <= item.getQuantity() - 3);
+
+            awaitUntil(() -> gateway.getVoided() == 1 && pipeline.getInFlight(CreditCardStrategy.class) == 0
+                && repository.get(item.getInventoryItemId()).getQuantity() == item.getQuantity());
+            assertEquals(1, gateway.getApproved());
+            assertEquals(1, gateway.getMaxInFlight("Credit Card"));
+            assertEquals(0, pipeline.getQueued(CreditCardStrategy.class));
+        }
+    }
+
+    @Test
+    public void declinedChargesPutTheStockBack() {
+        var latency = StubPaymentGateway.uniformLatency(Duration.ZERO, Duration.ofMillis(10), 7);
+        try (var gateway = new StubPaymentGateway(latency, 0.5, 7)) {
+            var pipeline = new PaymentPipeline(gateway, 4, Duration.ofSeconds(5));
+            var checkout = new CartCheckout(repository);
+            var charges = new ArrayList<CompletableFuture<PaymentReceipt>>();
+
+            for (int i = 0; i < 10; i++) {
+                charges.add(checkout.checkoutAsync(cartOf(1), new ApplePayStrategy("user@example.com"), pipeline));
+            }
+            long approved = 0;
+            for (var charge : charges) {
+                try {
+                    charge.join();
+                    approved++;
+                } catch (RuntimeException ex) {
+                    assertInstanceOf(IllegalStateException.class, ex.getCause());
+                }
+            }
+
+            assertEquals(gateway.getApproved(), approved);
+            assertEquals(10, gateway.getApproved() + gateway.getDeclined());
+            assertTrue(gateway.getDeclined() > 0);
+            assertEquals(item.getQuantity() - approved, repository.get(item.getInventoryItemId()).getQuantity());
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private Cart cartOf(int quantity) {
+        var cart = new Cart();
+        cart.add(item, quantity);
+        return cart;
+    }
+}
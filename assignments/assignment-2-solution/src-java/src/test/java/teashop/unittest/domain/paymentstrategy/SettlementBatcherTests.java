@@ -0,0 +1,98 @@
+package teashop.unittest.domain.paymentstrategy;
+
+import assignment2solution.domain.money.Money;
+import assignment2solution.domain.payment.PaymentReceipt;
+import assignment2solution.domain.payment.PaymentRequest;
+import assignment2solution.domain.payment.Settlement;
+import assignment2solution.domain.payment.SettlementBatcher;
+import assignment2solution.infrastructure.StubSettlementProcessor;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SettlementBatcherTests {
+    private static final String[] METHODS = {"Credit Card", "Apple Pay", "CryptoCurrency"};
+
+    @Test
+    public void fullBatchesAreSentPerMethodInOneCallEach() {
+        try (var processor = new StubSettlementProcessor(Duration.ofMillis(5), Duration.ZERO, 0, 1);
+             var batcher = new SettlementBatcher(processor, 50, Duration.ofSeconds(30))) {
+            var settlements = new ArrayList<CompletableFuture<Settlement>>();
+
+            for (int i = 0; i < 600; i++) {
+                settlements.add(batcher.submit(receipt(METHODS[i % METHODS.length], i)));
+            }
+            CompletableFuture.allOf(settlements.toArray(CompletableFuture[]::new)).join();
+
+            assertEquals(12, processor.getCalls());
+            var batchIds = new HashSet<String>();
+            for (var settlement : settlements) {
+                assertEquals(50, settlement.join().batchSize());
+                batchIds.add(settlement.join().batchId());
+            }
+            assertEquals(12, batchIds.size());
+            var metrics = batcher.getMetrics();
+            assertEquals(12, metrics.batches());
+            assertEquals(600, metrics.settledPayments());
+            assertEquals(50, metrics.largestBatch());
+            assertEquals(50.0, metrics.getMeanBatchSize());
+            assertTrue(metrics.paymentsPerSecond() > 0);
+        }
+    }
+
+    @Test
+    public void partialBatchIsSentWhenItsTimeIsUp() throws Exception {
+        try (var processor = new StubSettlementProcessor(Duration.ZERO, Duration.ZERO, 0, 1);
+             var batcher = new SettlementBatcher(processor, 100, Duration.ofMillis(20))) {
+            var first = batcher.submit(receipt("Credit Card", 1));
+            var second = batcher.submit(receipt("Credit Card", 2));
+
+            assertEquals(first.get().batchId(), second.get().batchId());
+            assertEquals(2, first.get().batchSize());
+            assertEquals(1, processor.getCalls());
+        }
+    }
+
+    @Test
+    public void rejectedBatchFailsEveryPaymentInIt() {
+        try (var processor = new StubSettlementProcessor(Duration.ZERO, Duration.ZERO, 1, 1);
+             var batcher = new SettlementBatcher(processor, 3, Duration.ofSeconds(30))) {
+            var settlements = new ArrayList<CompletableFuture<Settlement>>();
+            for (int i = 0; i < 3; i++) {
+                settlements.add(batcher.submit(receipt("Apple Pay", i)));
+            }
+
+            for (var settlement : settlements) {
+                var error = assertThrows(ExecutionException.class, settlement::get);
+                assertInstanceOf(IllegalStateException.class, error.getCause());
+            }
+            assertEquals(3, batcher.getMetrics().failedPayments());
+            assertEquals(0, batcher.getMetrics().settledPayments());
+        }
+    }
+
+    @Test
+    public void closeSendsOpenBatchesAndRefusesNewPayments() {
+        try (var processor = new StubSettlementProcessor(Duration.ZERO, Duration.ZERO, 0, 1)) {
+            var batcher = new SettlementBatcher(processor, 100, Duration.ofSeconds(30));
+            var settlement = batcher.submit(receipt("CryptoCurrency", 1));
+
+            batcher.close();
+
+            assertEquals(1, settlement.join().batchSize());
+            assertThrows(IllegalStateException.class, () -> batcher.submit(receipt("CryptoCurrency", 2)));
+        }
+    }
+
+    private static PaymentReceipt receipt(String paymentMethod, int transaction) {
+        var request = new PaymentRequest(paymentMethod, "Account: " + transaction, Money.ofCents(999));
+        return new PaymentReceipt(request, "T" + transaction);
+    }
+}
@@ -0,0 +1,122 @@
+package teashop.unittest.infrastructure;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventory.StarRating;
+import assignment2solution.infrastructure.CsvInventoryImporter;
+import assignment2solution.infrastructure.MappedInventoryStore;
+import assignment2solution.infrastructure.WriteAheadLogSyncPolicy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvInventoryImporterTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void importKeepsFileOrderAcrossChunksAndWorkers() throws Exception {
+        var items = new ArrayList<>(new InventoryRepository().get());
+        for (int i = 0; i < 5000; i++) {
+            items.add(new InventoryItem(UUID.randomUUID(), "Blend \"" + i + "\", loose leaf",
+                new BigDecimal(i + ".25"), i % 7, new StarRating(i % 5 + 1)));
+        }
+        var csvFile = writeCsv(items);
+
+        var repository = new CsvInventoryImporter(4, 256).importRepository(csvFile);
+
+        assertEquals(items.size(), repository.get().size());
+        for (int i = 0; i < items.size(); i++) {
+            assertSameItem(items.get(i), repository.get().get(i));
+        }
+    }
+
+    @Test
+    public void importStoreWritesAnOpenableStore() throws Exception {
+        var items = new InventoryRepository().get();
+        var storeFile = directory.resolve("inventory.db");
+
+        var count = new CsvInventoryImporter(2, 128).importStore(writeCsv(items), storeFile);
+
+        assertEquals(items.size(), count);
+        try (var store = MappedInventoryStore.open(storeFile, directory.resolve("inventory.wal"),
+            WriteAheadLogSyncPolicy.everyRecord())) {
+            for (int i = 0; i < items.size(); i++) {
+                assertSameItem(items.get(i), store.read(i));
+                assertEquals(i, store.findPosition(items.get(i).getInventoryItemId()));
+            }
+        }
+    }
+
+    @Test
+    public void invalidRowReportsItsLineAndLeavesNoStore() throws Exception {
+        var lines = new ArrayList<String>();
+        lines.add(CsvInventoryImporter.HEADER);
+        for (int i = 0; i < 200; i++) {
+            lines.add(UUID.randomUUID() + ",Tea " + i + ",9.99,3," + (i == 150 ? 6 : 4));
+        }
+        var csvFile = Files.write(directory.resolve("catalogue.csv"), lines);
+        var storeFile = directory.resolve("inventory.db");
+
+        var ex = assertThrows(IllegalArgumentException.class,
+            () -> new CsvInventoryImporter(3, 100).importStore(csvFile, storeFile));
+
+        assertTrue(ex.getMessage().startsWith("Line 152:"), ex.getMessage());
+        assertFalse(Files.exists(storeFile));
+        assertFalse(Files.exists(directory.resolve("inventory.db.tmp")));
+    }
+
+    @Test
+    public void storeRejectionsReportTheirLineAndDuplicatesTheirId() throws Exception {
+        var ids = new ArrayList<UUID>();
+        var lines = new ArrayList<String>();
+        lines.add(CsvInventoryImporter.HEADER);
+        for (int i = 0; i < 200; i++) {
+            ids.add(UUID.randomUUID());
+            lines.add(ids.get(i) + "," + (i == 120 ? "Tea ".repeat(30) : "Tea " + i) + ",9.99,3,4");
+        }
+        var csvFile = Files.write(directory.resolve("catalogue.csv"), lines);
+        var storeFile = directory.resolve("inventory.db");
+
+        var ex = assertThrows(IllegalArgumentException.class,
+            () -> new CsvInventoryImporter(3, 100).importStore(csvFile, storeFile));
+        assertTrue(ex.getMessage().startsWith("Line 122: Name is longer than"), ex.getMessage());
+
+        lines.set(121, ids.get(7) + ",Tea 120,9.99,3,4");
+        Files.write(csvFile, lines);
+        ex = assertThrows(IllegalArgumentException.class,
+            () -> new CsvInventoryImporter(3, 100).importStore(csvFile, storeFile));
+        assertTrue(ex.getMessage().contains(ids.get(7).toString()), ex.getMessage());
+        ex = assertThrows(IllegalArgumentException.class,
+            () -> new CsvInventoryImporter(3, 100).importRepository(csvFile));
+        assertTrue(ex.getMessage().contains(ids.get(7).toString()), ex.getMessage());
+        assertFalse(Files.exists(storeFile));
+    }
+
+    private Path writeCsv(List<InventoryItem> items) throws Exception {
+        var lines = new ArrayList<String>();
+        lines.add(CsvInventoryImporter.HEADER);
+        for (var item : items) {
+            lines.add(item.getInventoryItemId() + ",\"" + item.getName().replace("\"", "\"\"") + "\","
+                + item.getPrice() + "," + item.getQuantity() + "," + item.getStarRating().getRating());
+        }
+        return Files.write(directory.resolve("catalogue.csv"), lines);
+    }
+
+    private static void assertSameItem(InventoryItem expected, InventoryItem actual) {
+        assertEquals(expected.getInventoryItemId(), actual.getInventoryItemId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getPrice(), actual.getPrice());
+        assertEquals(expected.getQuantity(), actual.getQuantity());
+        assertEquals(expected.getStarRating().getRating(), actual.getStarRating().getRating());
+    }
+}
@@ -0,0 +1,99 @@
+package teashop.unittest.infrastructure;
+
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.infrastructure.MappedInventoryStore;
+import assignment2solution.infrastructure.WriteAheadLogSyncPolicy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedInventoryStoreTests {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void storeReadsItemsAndFindsThemById() throws Exception {
+        var items = new InventoryRepository().get();
+        var file = directory.resolve("inventory.db");
+        MappedInventoryStore.create(file, items);
+
+        try (var store = MappedInventoryStore.open(file, directory.resolve("inventory.wal"),
+            WriteAheadLogSyncPolicy.everyRecord())) {
+            assertEquals(items.size(), store.size());
+            for (int i = 0; i < items.size(); i++) {
+                var expected = items.get(i);
+                var actual = store.read(i);
+                assertEquals(expected.getInventoryItemId(), actual.getInventoryItemId());
+                assertEquals(expected.getName(), actual.getName());
+                assertEquals(expected.getPrice(), actual.getPrice());
+                assertEquals(expected.getQuantity(), actual.getQuantity());
+                assertEquals(expected.getStarRating().getRating(), actual.getStarRating().getRating());
+                assertEquals(i, store.findPosition(expected.getInventoryItemId()));
+            }
+            assertEquals(-1, store.findPosition(UUID.randomUUID()));
+        }
+    }
+
+    @Test
+    public void quantityChangesSurviveCloseAndCrash() throws Exception {
+        var items = new InventoryRepository().get();
+        var file = directory.resolve("inventory.db");
+        var logFile = directory.resolve("inventory.wal");
+        MappedInventoryStore.create(file, items);
+        var first = items.get(0);
+        var second = items.get(1);
+
+        try (var store = MappedInventoryStore.open(file, logFile, WriteAheadLogSyncPolicy.everyRecord())) {
+            new InventoryRepository(store).updateQuantity(first.getInventoryItemId(), -3);
+        }
+
+        // simulate a crash: the store is never closed, so only the log holds the change
+        var crashed = MappedInventoryStore.open(file, logFile, WriteAheadLogSyncPolicy.everyRecord());
+        new InventoryRepository(crashed).updateQuantity(second.getInventoryItemId(), -2);
+        assertTrue(Files.size(logFile) > 0);
+
+        try (var recovered = MappedInventoryStore.open(file, logFile, WriteAheadLogSyncPolicy.everyRecord())) {
+            var repository = new InventoryRepository(recovered);
+            assertEquals(first.getQuantity() - 3, repository.get(first.getInventoryItemId()).getQuantity());
+            assertEquals(second.getQuantity() - 2, repository.get(second.getInventoryItemId()).getQuantity());
+            assertEquals(0, Files.size(logFile));
+        }
+    }
+
+    @Test
+    public void tornBatchIsRecoveredAllOrNothing() throws Exception {
+        var items = new InventoryRepository().get();
+        var file = directory.resolve("inventory.db");
+        var logFile = directory.resolve("inventory.wal");
+        MappedInventoryStore.create(file, items);
+        var first = items.get(0);
+        var second = items.get(1);
+        var third = items.get(2);
+
+        var crashed = MappedInventoryStore.open(file, logFile, WriteAheadLogSyncPolicy.everyRecord());
+        var repository = new InventoryRepository(crashed);
+        repository.updateQuantities(Map.of(first.getInventoryItemId(), -1, second.getInventoryItemId(), -1));
+        repository.updateQuantities(Map.of(first.getInventoryItemId(), -1, third.getInventoryItemId(), -1));
+
+        // simulate a crash mid-write: the second batch's last record is torn
+        try (var channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(logFile) - 3);
+        }
+
+        try (var recovered = MappedInventoryStore.open(file, logFile, WriteAheadLogSyncPolicy.everyRecord())) {
+            var recoveredRepository = new InventoryRepository(recovered);
+            assertEquals(first.getQuantity() - 1, recoveredRepository.get(first.getInventoryItemId()).getQuantity());
+            assertEquals(second.getQuantity() - 1, recoveredRepository.get(second.getInventoryItemId()).getQuantity());
+            assertEquals(third.getQuantity(), recoveredRepository.get(third.getInventoryItemId()).getQuantity());
+        }
+    }
+}
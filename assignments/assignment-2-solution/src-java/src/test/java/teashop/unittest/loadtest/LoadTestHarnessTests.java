@@ -0,0 +1,27 @@
+package teashop.unittest.loadtest;
+
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.loadtest.LoadTestHarness;
+import assignment2solution.userinterface.ApplicationPhase;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadTestHarnessTests {
+    @Test
+    public void concurrentSessionsSellOutWithoutViolations() throws Exception {
+        var repository = new InventoryRepository();
+
+        var report = new LoadTestHarness(400, 16, 0.9, 7).run(repository);
+
+        assertEquals(400, report.getSessions());
+        assertEquals(0, report.getFailedSessions());
+        assertTrue(report.getViolations().isEmpty(), report.format());
+        assertTrue(report.getPurchases() > 0);
+        assertEquals(report.getSearches(), report.getCount(ApplicationPhase.EXECUTE));
+        assertTrue(report.getPercentileNanos(ApplicationPhase.EXECUTE, 99)
+            >= report.getPercentileNanos(ApplicationPhase.EXECUTE, 50));
+        assertTrue(repository.get().stream().allMatch(item -> item.getQuantity() >= 0));
+    }
+}
@@ -1,15 +1,27 @@
 package teashop.unittest.userinterface;
 
+import assignment2solution.domain.inventory.InventoryItem;
 import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventory.StarRating;
+import assignment2solution.domain.inventoryquery.AllInventoryQuery;
+import assignment2solution.domain.inventoryquery.InventoryQueryExplainer;
+import assignment2solution.domain.inventoryquery.filters.AvailabilityFilterDecorator;
 import assignment2solution.userinterface.paymentbuilder.ApplePayPaymentBuilder;
 import assignment2solution.userinterface.paymentbuilder.CreditCardPaymentBuilder;
 import assignment2solution.userinterface.paymentbuilder.CryptoCurrencyPaymentBuilder;
+import assignment2solution.userinterface.querybuilder.InventoryExportFormat;
+import assignment2solution.userinterface.querybuilder.InventoryExportWriter;
 import assignment2solution.userinterface.querybuilder.InventoryQueryBuilder;
+import assignment2solution.userinterface.querybuilder.InventoryQueryOutput;
+import assignment2solution.userinterface.querybuilder.InventoryQueryOutputWriter;
 
 import org.junit.jupiter.api.Test;
 
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -79,4 +91,59 @@ public class UserInterfaceTests {
         assertNotNull(strategy);
         assertEquals("CryptoCurrency", method.getName());
     }
+
+    @Test
+    public void textExportMatchesTheConsoleOutput() {
+        var query = new AvailabilityFilterDecorator(new AllInventoryQuery(new InventoryRepository()), true);
+        var console = new StringWriter();
+        new InventoryQueryOutputWriter(console).write(InventoryQueryOutput.from(query));
+        var export = new StringWriter();
+
+        var rows = new InventoryExportWriter(export, InventoryExportFormat.TEXT, 100).write(query);
+
+        var consoleLines = console.toString().lines().toList();
+        var exportLines = export.toString().lines().toList();
+        assertEquals(query.execute().size(), rows);
+        assertEquals(consoleLines.subList(0, 4), exportLines.subList(0, 4));
+        assertEquals(consoleLines.subList(5, consoleLines.size()), exportLines.subList(4, exportLines.size() - 1));
+        assertEquals(rows + " items matched your query.", exportLines.get(exportLines.size() - 1));
+    }
+
+    @Test
+    public void explainedOutputPrintsAProfileLinePerLayer() {
+        var query = new AvailabilityFilterDecorator(new AllInventoryQuery(new InventoryRepository()), true);
+        var console = new StringWriter();
+
+        new InventoryQueryOutputWriter(console).write(InventoryQueryOutput.explain(query));
+
+        var lines = console.toString().lines().toList();
+        var execution = lines.indexOf(InventoryQueryExplainer.EXECUTION_TITLE + ":");
+        var layers = lines.indexOf(InventoryQueryExplainer.LAYERS_TITLE + ":");
+        assertTrue(lines.indexOf("Query Profile:") < execution);
+        assertTrue(lines.get(execution + 2).endsWith("In Stock (Quantity > 0) [index]"));
+        assertTrue(execution < layers);
+        assertTrue(lines.get(layers + 2).endsWith("Source: All items"));
+        assertTrue(lines.get(layers + 3).endsWith("In Stock (Quantity > 0) [index]"));
+        assertTrue(lines.get(layers + 4).endsWith("Total"));
+        assertTrue(lines.contains(query.execute().size() + " items matched your query:"));
+        assertTrue(InventoryQueryOutput.from(query).profiles().isEmpty());
+    }
+
+    @Test
+    public void csvAndJsonLinesExportsEscapeNamesAndKeepIds() {
+        var id = UUID.randomUUID();
+        var repository = new InventoryRepository(List.of(
+            new InventoryItem(id, "Chai, \"Masala\"", new BigDecimal("1234.50"), 0, new StarRating(3))));
+        var query = new AllInventoryQuery(repository);
+        var csv = new StringWriter();
+        var jsonLines = new StringWriter();
+
+        new InventoryExportWriter(csv, InventoryExportFormat.CSV, 1).write(query);
+        new InventoryExportWriter(jsonLines, InventoryExportFormat.JSON_LINES).write(query);
+
+        assertEquals("index,inventoryItemId,name,price,quantity,starRating\n"
+            + "1," + id + ",\"Chai, \"\"Masala\"\"\",1234.50,0,3\n", csv.toString());
+        assertEquals("{\"index\":1,\"inventoryItemId\":\"" + id + "\",\"name\":\"Chai, \\\"Masala\\\"\","
+            + "\"price\":1234.50,\"quantity\":0,\"starRating\":3}\n", jsonLines.toString());
+    }
 }
@@ -0,0 +1,120 @@
+package teashop.unittest.userinterface;
+
+import assignment2solution.domain.inventory.InventoryItem;
+import assignment2solution.domain.inventory.InventoryRepository;
+import assignment2solution.domain.inventory.StarRating;
+import assignment2solution.userinterface.webapi.TeaShopHttpServer;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebApiTests {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void searchReturnsTheConsoleQueryResultAsJson() throws Exception {
+        var repository = new InventoryRepository();
+        try (var server = startServer(repository)) {
+            var response = get(server, "/inventory?name=oolnog&fuzzy=true&minStars=1&available=any");
+
+            assertEquals(200, response.statusCode());
+            assertTrue(response.body().contains("\"Filter: Name resembles \\\"oolnog\\\"\""));
+            assertTrue(response.body().contains("\"name\":\"Oolong Tea\""));
+            assertTrue(response.body().contains("\"name\":\"Peach Oolong\""));
+            assertTrue(response.body().endsWith("\"nextCursor\":null}"));
+
+            var item = repository.get().get(0);
+            var itemResponse = get(server, "/inventory/" + item.getInventoryItemId());
+            assertEquals(200, itemResponse.statusCode());
+            assertTrue(itemResponse.body().contains("\"price\":" + item.getUnitPrice()));
+
+            assertEquals(404, get(server, "/inventory/" + UUID.randomUUID()).statusCode());
+            assertEquals(400, get(server, "/inventory?minPrice=20&maxPrice=10").statusCode());
+        }
+    }
+
+    @Test
+    public void concurrentPurchasesNeverOversell() throws Exception {
+        var id = UUID.randomUUID();
+        var repository = new InventoryRepository(List.of(
+            new InventoryItem(id, "Last Sencha", new BigDecimal("4.25"), 10, new StarRating(5))));
+        try (var server = startServer(repository)) {
+            var body = "{\"inventoryItemId\":\"" + id + "\",\"quantity\":1,\"paymentMethod\":\"Credit Card\","
+                + "\"paymentDetails\":{\"cardNumber\":\"4111\"}}";
+            var responses = new ArrayList<CompletableFuture<HttpResponse<String>>>();
+            for (int i = 0; i < 25; i++) {
+                responses.add(client.sendAsync(HttpRequest.newBuilder(uri(server, "/purchases"))
+                    .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString()));
+            }
+
+            var created = 0;
+            var conflicts = 0;
+            for (var response : responses) {
+                var status = response.get().statusCode();
+                created += status == 201 ? 1 : 0;
+                conflicts += status == 409 ? 1 : 0;
+            }
+            assertEquals(10, created);
+            assertEquals(15, conflicts);
+            assertEquals(0, repository.get(id).getQuantity());
+        }
+    }
+
+    @Test
+    public void invalidPurchaseIsRejectedWithoutTakingStock() throws Exception {
+        var repository = new InventoryRepository();
+        var item = repository.get().get(0);
+        try (var server = startServer(repository)) {
+            var body = "{\"inventoryItemId\":\"" + item.getInventoryItemId() + "\",\"quantity\":1,"
+                + "\"paymentMethod\":\"Credit Card\",\"paymentDetails\":{\"cardNumber\":\"not a number\"}}";
+            var response = client.send(HttpRequest.newBuilder(uri(server, "/purchases"))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(400, response.statusCode());
+            assertTrue(response.body().contains("\"error\":"));
+            assertEquals(item.getQuantity(), repository.get(item.getInventoryItemId()).getQuantity());
+        }
+    }
+
+    @Test
+    public void deeplyNestedBodyIsRejectedWithoutTakingStock() throws Exception {
+        var repository = new InventoryRepository();
+        var item = repository.get().get(0);
+        try (var server = startServer(repository)) {
+            var body = "{\"lines\":" + "[".repeat(30_000);
+            var request = HttpRequest.newBuilder(uri(server, "/purchases")).timeout(Duration.ofSeconds(5))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+            var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(400, response.statusCode());
+            assertTrue(response.body().contains("Nesting is too deep"));
+            assertEquals(item.getQuantity(), repository.get(item.getInventoryItemId()).getQuantity());
+        }
+    }
+
+    private static TeaShopHttpServer startServer(InventoryRepository repository) throws Exception {
+        return TeaShopHttpServer.start(repository, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    private HttpResponse<String> get(TeaShopHttpServer server, String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(server, path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(TeaShopHttpServer server, String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}